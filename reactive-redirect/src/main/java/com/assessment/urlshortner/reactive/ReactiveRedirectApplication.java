@@ -0,0 +1,15 @@
+package com.assessment.urlshortner.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableScheduling
+public class ReactiveRedirectApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveRedirectApplication.class, args);
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.assessment.urlshortner.reactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.assessment.urlshortner.utils.UrlCodeGenerator;
+
+/**
+ * Description: Beans shared with the main application that live
+ *              outside this module's component scan.
+ */
+@Configuration
+public class ReactiveRedirectConfig {
+
+    @Bean
+    public UrlCodeGenerator urlCodeGenerator(
+            @Value("${shortener.code-generator.mode:SECURE}") UrlCodeGenerator.Mode mode) {
+        return new UrlCodeGenerator(mode);
+    }
+}
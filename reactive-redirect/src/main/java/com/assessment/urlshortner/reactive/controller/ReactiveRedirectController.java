@@ -0,0 +1,83 @@
+package com.assessment.urlshortner.reactive.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assessment.urlshortner.reactive.model.UrlMappingRow;
+import com.assessment.urlshortner.reactive.service.ReactiveUrlMappingService;
+import com.assessment.urlshortner.utils.RedirectHeaders;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Description: Non-blocking short URL redirection, same contract as
+ *              UrlRedirectController in the main application.
+ */
+@RestController
+@RequestMapping("/r")
+public class ReactiveRedirectController {
+
+    private final ReactiveUrlMappingService urlService;
+
+    // Cache-Control max-age caps, as in the main application
+    private final long maxAgeSeconds;
+
+    private final long permanentMaxAgeSeconds;
+
+    public ReactiveRedirectController(
+            ReactiveUrlMappingService urlService,
+            @Value("${shortener.redirect.max-age-seconds:300}") long maxAgeSeconds,
+            @Value("${shortener.redirect.permanent-max-age-seconds:86400}") long permanentMaxAgeSeconds) {
+        this.urlService = urlService;
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.permanentMaxAgeSeconds = permanentMaxAgeSeconds;
+    }
+
+    /**
+     * Redirects a short URL code to its original long URL.
+     * Endpoint: GET /r/{code}
+     *
+     * @param code Short URL code
+     * @return HTTP 302 Found (or the mapping's permanent status) with
+     *         Location and Cache-Control headers set
+     */
+    @GetMapping("/{code}")
+    @Operation(summary = "Redirect to original URL", tags = {"Redirect"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "302", description = "Redirect to original URL"),
+            @ApiResponse(responseCode = "301", description = "Permanent redirect to original URL"),
+            @ApiResponse(responseCode = "308", description = "Permanent redirect to original URL"),
+            @ApiResponse(responseCode = "404", description = "Short URL not found"),
+            @ApiResponse(responseCode = "410", description = "Short URL has expired")
+    })
+    public Mono<ResponseEntity<Void>> redirect(
+            @Parameter(description = "Short URL code", example = "samju1234", required = true)
+            @PathVariable String code) {
+
+        return urlService.getRedirect(code).map(this::toRedirect);
+    }
+
+    private ResponseEntity<Void> toRedirect(UrlMappingRow mapping) {
+        int status = RedirectHeaders.statusOrDefault(mapping.getRedirectStatus());
+        long cap = RedirectHeaders.isPermanent(status) ? permanentMaxAgeSeconds : maxAgeSeconds;
+        long maxAge = RedirectHeaders.maxAgeSeconds(
+                mapping.getExpiresAt() == null ? null : mapping.getExpiresAt().toInstant(),
+                cap, System.currentTimeMillis());
+
+        return ResponseEntity
+                .status(status)
+                .header(HttpHeaders.LOCATION, mapping.getLongUrl())
+                .header(HttpHeaders.CACHE_CONTROL, RedirectHeaders.cacheControl(maxAge))
+                .build();
+    }
+}
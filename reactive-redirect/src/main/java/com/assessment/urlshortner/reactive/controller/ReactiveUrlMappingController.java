@@ -0,0 +1,55 @@
+package com.assessment.urlshortner.reactive.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assessment.urlshortner.dto.UrlMappingMetadataResponse;
+import com.assessment.urlshortner.reactive.service.ReactiveUrlMappingService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Description: Non-blocking metadata lookup, same contract as
+ *              GET /api/urls/{code} in the main application.
+ *              Creating URLs stays with the main application.
+ */
+@RestController
+@RequestMapping("/api/urls")
+@Tag(name = "URL Shortener", description = "URL Shortener API")
+public class ReactiveUrlMappingController {
+
+    private final ReactiveUrlMappingService urlService;
+
+    public ReactiveUrlMappingController(ReactiveUrlMappingService urlService) {
+        this.urlService = urlService;
+    }
+
+    @GetMapping("/{code}")
+    @Operation(summary = "Get URL metadata")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Metadata returned"),
+            @ApiResponse(responseCode = "304", description = "Not modified - If-None-Match matches the current ETag"),
+            @ApiResponse(responseCode = "404", description = "Short URL not found")
+    })
+    public Mono<ResponseEntity<UrlMappingMetadataResponse>> getUrlMetadata(
+            @Parameter(description = "Short URL code", example = "samju1234", required = true)
+            @PathVariable String code) {
+
+        // A matching If-None-Match yields 304
+        return urlService.getUrlMetadata(code)
+                .map(metadata -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.noCache())
+                        .eTag(metadata.toETag())
+                        .body(metadata));
+    }
+}
@@ -0,0 +1,55 @@
+package com.assessment.urlshortner.reactive.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.assessment.urlshortner.exception.ApiErrorResponse;
+import com.assessment.urlshortner.exception.ApiException;
+
+/**
+ * Description: Converts exceptions into the same ApiErrorResponse
+ *              bodies as GlobalExceptionHandler in the main
+ *              application (404 not found, 410 expired).
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    /**
+     * Handles API exceptions with their own status (not found, expired).
+     */
+    @ExceptionHandler(ApiException.class)
+    public ResponseEntity<ApiErrorResponse> handleApiException(ApiException ex, ServerWebExchange exchange) {
+        ApiErrorResponse error = new ApiErrorResponse(
+                "API Error",
+                ex.getStatus().value(),
+                ex.getMessage(),
+                exchange.getRequest().getPath().value()
+        );
+
+        return ResponseEntity.status(ex.getStatus()).body(error);
+    }
+
+    /**
+     * Handles all uncaught and unexpected exceptions.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiErrorResponse> handleGenericException(Exception ex, ServerWebExchange exchange) {
+        logger.error("Unexpected error on {}", exchange.getRequest().getPath().value(), ex);
+
+        ApiErrorResponse error = new ApiErrorResponse(
+                "Internal Server Error",
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "An unexpected error occurred",
+                exchange.getRequest().getPath().value()
+        );
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+    }
+}
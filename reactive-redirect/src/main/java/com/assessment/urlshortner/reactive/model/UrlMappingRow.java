@@ -0,0 +1,109 @@
+package com.assessment.urlshortner.reactive.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+/**
+ * Row of the url_mappings table, as created by the main application.
+ *
+ * Read-only view for the reactive redirect service: rows are created
+ * and deleted by the main application only. Timestamps are read as
+ * OffsetDateTime, which both H2 and PostgreSQL R2DBC drivers return
+ * for timestamp with time zone columns.
+ */
+@Table("url_mappings")
+public class UrlMappingRow {
+
+    @Id
+    private Long id;
+
+    @Column("code")
+    private String code;
+
+    @Column("long_url")
+    private String longUrl;
+
+    @Column("created_at")
+    private OffsetDateTime createdAt;
+
+    @Column("expires_at")
+    private OffsetDateTime expiresAt;
+
+    @Column("hit_count")
+    private long hitCount;
+
+    // 301 or 308 for permanent links, null for 302
+    @Column("redirect_status")
+    private Integer redirectStatus;
+
+    // --------------------
+    // Getters and Setters
+    // --------------------
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getLongUrl() {
+        return longUrl;
+    }
+
+    public void setLongUrl(String longUrl) {
+        this.longUrl = longUrl;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public OffsetDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(OffsetDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public Integer getRedirectStatus() {
+        return redirectStatus;
+    }
+
+    public void setRedirectStatus(Integer redirectStatus) {
+        this.redirectStatus = redirectStatus;
+    }
+
+    /**
+     * Checks whether the URL mapping has expired.
+     */
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.toInstant().isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,39 @@
+package com.assessment.urlshortner.reactive.repository;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+import com.assessment.urlshortner.reactive.model.UrlMappingRow;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive repository over the url_mappings table.
+ *
+ * Queries run on the R2DBC driver's event loop; no thread is
+ * held while waiting for the database.
+ */
+@Repository
+public interface ReactiveUrlMappingRepository extends ReactiveCrudRepository<UrlMappingRow, Long> {
+
+    /**
+     * Finds a URL mapping by its short code (unique index idx_code).
+     *
+     * @param code the generated short code
+     * @return the mapping, or empty if not found
+     */
+    Mono<UrlMappingRow> findByCode(String code);
+
+    /**
+     * Adds flushed redirect hits to a mapping's counter.
+     *
+     * @param code the short code
+     * @param delta hits to add
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE url_mappings SET hit_count = hit_count + :delta WHERE code = :code")
+    Mono<Integer> incrementHitCount(String code, long delta);
+}
@@ -0,0 +1,154 @@
+package com.assessment.urlshortner.reactive.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.assessment.urlshortner.reactive.repository.ReactiveUrlMappingRepository;
+
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Description: Accumulates redirect hit counts in memory and
+ *              periodically adds them to url_mappings.hit_count in
+ *              one transaction, as HitCountAggregator does in the
+ *              main application, so redirects never write.
+ */
+@Component
+public class ReactiveHitCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveHitCounter.class);
+
+    private final ReactiveUrlMappingRepository urlMappingRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final Duration flushTimeout;
+
+    // Unflushed hits per code; LongAdder keeps hot codes contention-free
+    private final Map<String, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // Total unflushed hits across all codes (exported as a gauge)
+    private final LongAdder pendingTotal = new LongAdder();
+
+    // Idle entries removed by the last flush; a record() that fetched one of these
+    // adders just before the removal may still add to it, so the next flush reads them again
+    private final List<Map.Entry<String, LongAdder>> retired = new ArrayList<>();
+
+    public ReactiveHitCounter(
+            ReactiveUrlMappingRepository urlMappingRepository,
+            TransactionalOperator transactionalOperator,
+            MeterRegistry meterRegistry,
+            @Value("${shortener.hits.flush-timeout-ms:30000}") long flushTimeoutMs) {
+
+        this.urlMappingRepository = urlMappingRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.flushTimeout = Duration.ofMillis(flushTimeoutMs);
+
+        Gauge.builder("shortener.hits.pending", pendingTotal, LongAdder::sum)
+                .description("Redirect hits recorded in memory but not yet flushed to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a single hit for a code. Lock-free, never blocks.
+     */
+    public void record(String code) {
+        LongAdder adder = pending.get(code);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(code, k -> new LongAdder());
+        }
+        adder.increment();
+        pendingTotal.increment();
+    }
+
+    /**
+     * Returns the number of hits recorded for a code that are not yet
+     * persisted, including those of a flush that has not committed yet.
+     */
+    public long getPending(String code) {
+        LongAdder adder = pending.get(code);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /**
+     * Flushes all pending hits in one transaction, codes in sorted
+     * order. Runs on the scheduler thread, which may block. The
+     * written counts stay in the adders, and so in getPending, until
+     * the transaction commits; on failure they are simply retried.
+     */
+    @Scheduled(fixedDelayString = "${shortener.hits.flush-interval-ms:5000}")
+    public synchronized void flush() {
+
+        // Hits that reached an adder after the previous flush removed it
+        for (Map.Entry<String, LongAdder> entry : retired) {
+            long late = entry.getValue().sumThenReset();
+            if (late > 0) {
+                pending.computeIfAbsent(entry.getKey(), k -> new LongAdder()).add(late);
+            }
+        }
+        retired.clear();
+
+        // Sorted snapshot of the deltas to write; only flush removes entries
+        Map<String, Long> drained = new TreeMap<>();
+
+        for (Map.Entry<String, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sum();
+
+            if (delta > 0) {
+                drained.put(entry.getKey(), delta);
+            } else if (pending.remove(entry.getKey(), entry.getValue())) {
+                // Idle since the last flush: drop the entry, keeping any hit that raced the removal
+                long late = entry.getValue().sumThenReset();
+                if (late > 0) {
+                    pending.computeIfAbsent(entry.getKey(), k -> new LongAdder()).add(late);
+                }
+                retired.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        long total = drained.values().stream().mapToLong(Long::longValue).sum();
+
+        try {
+            Flux.fromIterable(drained.entrySet())
+                    .concatMap(entry -> urlMappingRepository.incrementHitCount(entry.getKey(), entry.getValue()))
+                    .as(transactionalOperator::transactional)
+                    .then()
+                    .block(flushTimeout);
+
+            // Committed: take the written counts out, keeping hits recorded meanwhile
+            drained.forEach((code, delta) -> pending.get(code).add(-delta));
+            pendingTotal.add(-total);
+            logger.debug("Flushed {} hits for {} codes", total, drained.size());
+        } catch (RuntimeException e) {
+            // The counts are still pending and are retried on the next flush
+            logger.warn("Failed to flush {} pending hits, will retry: {}", total, e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes remaining hits on shutdown.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,120 @@
+package com.assessment.urlshortner.reactive.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.assessment.urlshortner.dto.UrlMappingMetadataResponse;
+import com.assessment.urlshortner.exception.UrlExpiredException;
+import com.assessment.urlshortner.exception.UrlNotFoundException;
+import com.assessment.urlshortner.reactive.model.UrlMappingRow;
+import com.assessment.urlshortner.reactive.repository.ReactiveUrlMappingRepository;
+import com.assessment.urlshortner.utils.RedirectHeaders;
+import com.assessment.urlshortner.utils.UrlCodeGenerator;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+/**
+ * Description: Non-blocking counterpart of UrlMappingService for
+ *              redirects and metadata. Every method returns a Mono
+ *              and holds no thread while the database query is in
+ *              flight.
+ */
+@Service
+public class ReactiveUrlMappingService {
+
+    private final ReactiveUrlMappingRepository urlMappingRepository;
+
+    // Shared with the main application: rejects malformed codes without a query
+    private final UrlCodeGenerator urlCodeGenerator;
+
+    private final ReactiveHitCounter hitCounter;
+
+    private final Counter redirectCounter;
+
+    // Base URL for generating short links
+    @Value("${shortener.base-url}")
+    private String baseUrl;
+
+    public ReactiveUrlMappingService(
+            ReactiveUrlMappingRepository urlMappingRepository,
+            UrlCodeGenerator urlCodeGenerator,
+            ReactiveHitCounter hitCounter,
+            MeterRegistry meterRegistry) {
+
+        this.urlMappingRepository = urlMappingRepository;
+        this.urlCodeGenerator = urlCodeGenerator;
+        this.hitCounter = hitCounter;
+        this.redirectCounter = Counter.builder("shortener.redirect.total")
+                .description("Total number of URL redirects")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resolves a short code to its original long URL and records a hit.
+     *
+     * @return the long URL, or an error of UrlNotFoundException /
+     *         UrlExpiredException
+     */
+    public Mono<String> getLongUrl(String code) {
+        return getRedirect(code).map(UrlMappingRow::getLongUrl);
+    }
+
+    /**
+     * Resolves a short code like {@link #getLongUrl(String)}, returning
+     * the whole row (long URL, redirect status, expiry).
+     */
+    public Mono<UrlMappingRow> getRedirect(String code) {
+        return findByCode(code)
+                .flatMap(mapping -> {
+                    if (mapping.isExpired()) {
+                        return Mono.error(new UrlExpiredException("Short URL has expired"));
+                    }
+
+                    hitCounter.record(code);
+                    redirectCounter.increment();
+                    return Mono.just(mapping);
+                });
+    }
+
+    /**
+     * Retrieves metadata information for a short URL.
+     */
+    public Mono<UrlMappingMetadataResponse> getUrlMetadata(String code) {
+        return findByCode(code).map(this::toMetadataResponse);
+    }
+
+    private Mono<UrlMappingRow> findByCode(String code) {
+        if (!urlCodeGenerator.isValidCode(code)) {
+            return Mono.error(new UrlNotFoundException("Short URL not found"));
+        }
+
+        return urlMappingRepository.findByCode(code)
+                .switchIfEmpty(Mono.error(() -> new UrlNotFoundException("Short URL not found")));
+    }
+
+    /**
+     * Converts a row to a metadata response DTO.
+     */
+    private UrlMappingMetadataResponse toMetadataResponse(UrlMappingRow mapping) {
+        UrlMappingMetadataResponse response = new UrlMappingMetadataResponse();
+        response.setCode(mapping.getCode());
+        response.setLongUrl(mapping.getLongUrl());
+        response.setShortUrl(baseUrl + "/r/" + mapping.getCode());
+        response.setCreatedAt(toInstant(mapping.getCreatedAt()));
+        response.setExpiresAt(toInstant(mapping.getExpiresAt()));
+        // Persisted hits plus hits not yet flushed
+        response.setHitCount(mapping.getHitCount() + hitCounter.getPending(mapping.getCode()));
+        response.setExpired(mapping.isExpired());
+        response.setRedirectStatus(RedirectHeaders.statusOrDefault(mapping.getRedirectStatus()));
+        return response;
+    }
+
+    private static Instant toInstant(OffsetDateTime time) {
+        return time == null ? null : time.toInstant();
+    }
+}
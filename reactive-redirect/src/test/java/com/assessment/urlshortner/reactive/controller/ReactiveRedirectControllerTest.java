@@ -0,0 +1,114 @@
+package com.assessment.urlshortner.reactive.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.assessment.urlshortner.reactive.service.ReactiveHitCounter;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveRedirectControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactiveHitCounter hitCounter;
+
+    @BeforeEach
+    void setUp() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+
+        // Write out hits left by earlier tests, so they go with the deleted rows
+        hitCounter.flush();
+        databaseClient.sql("DELETE FROM url_mappings").then().block();
+        insert("samju1", "https://example.com/page", now, now.plusDays(30));
+        insert("samju2", "https://example.com/old", now.minusDays(31), now.minusDays(1));
+    }
+
+    @Test
+    void testRedirect_Success() {
+        webTestClient.get().uri("/r/samju1")
+                .exchange()
+                .expectStatus().isFound()
+                .expectHeader().valueEquals(HttpHeaders.LOCATION, "https://example.com/page");
+    }
+
+    @Test
+    void testRedirect_NotFound() {
+        webTestClient.get().uri("/r/nosuch")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.status").isEqualTo(404);
+    }
+
+    @Test
+    void testRedirect_Expired() {
+        webTestClient.get().uri("/r/samju2")
+                .exchange()
+                .expectStatus().isEqualTo(410);
+    }
+
+    @Test
+    void testRedirect_PermanentStatusAndCacheControl() {
+        databaseClient.sql("UPDATE url_mappings SET redirect_status = 308 WHERE code = 'samju1'").then().block();
+
+        webTestClient.get().uri("/r/samju1")
+                .exchange()
+                .expectStatus().isEqualTo(308)
+                .expectHeader().valueEquals(HttpHeaders.LOCATION, "https://example.com/page")
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "public, max-age=86400");
+    }
+
+    @Test
+    void testGetUrlMetadata_NotModifiedForMatchingETag() {
+        String eTag = webTestClient.get().uri("/api/urls/samju1")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get().uri("/api/urls/samju1")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void testGetUrlMetadata_CountsFlushedAndPendingHits() {
+        webTestClient.get().uri("/r/samju1").exchange().expectStatus().isFound();
+        hitCounter.flush();
+        webTestClient.get().uri("/r/samju1").exchange().expectStatus().isFound();
+
+        webTestClient.get().uri("/api/urls/samju1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.longUrl").isEqualTo("https://example.com/page")
+                .jsonPath("$.shortUrl").isEqualTo("http://localhost:8080/r/samju1")
+                .jsonPath("$.hitCount").isEqualTo(2)
+                .jsonPath("$.expired").isEqualTo(false);
+    }
+
+    private void insert(String code, String longUrl, OffsetDateTime createdAt, OffsetDateTime expiresAt) {
+        databaseClient.sql("INSERT INTO url_mappings (code, long_url, created_at, expires_at, hit_count) "
+                        + "VALUES (:code, :longUrl, :createdAt, :expiresAt, 0)")
+                .bind("code", code)
+                .bind("longUrl", longUrl)
+                .bind("createdAt", createdAt)
+                .bind("expiresAt", expiresAt)
+                .then()
+                .block();
+    }
+}
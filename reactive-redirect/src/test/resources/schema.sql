@@ -0,0 +1,11 @@
+-- url_mappings as generated by Hibernate in the main application
+CREATE TABLE IF NOT EXISTS url_mappings (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    code VARCHAR(16) NOT NULL UNIQUE,
+    long_url VARCHAR(2048) NOT NULL,
+    long_url_hash VARCHAR(32),
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE,
+    hit_count BIGINT NOT NULL,
+    redirect_status INTEGER
+);
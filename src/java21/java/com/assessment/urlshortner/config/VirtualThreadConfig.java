@@ -0,0 +1,36 @@
+package com.assessment.urlshortner.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Description: Serves HTTP requests on virtual threads instead of the
+ *              Tomcat platform-thread pool (Java 21 builds only, see
+ *              the java21 Maven profile).
+ *
+ *              Controllers, services and repository calls run on the
+ *              request thread, so blocking JDBC calls park a virtual
+ *              thread rather than occupy a pool thread. Concurrent
+ *              connection use is then capped by ConnectionLimitConfig,
+ *              which this mode switches on.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shortener.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        logger.info("Serving requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.assessment.urlshortner.benchmark;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.assessment.urlshortner.UrlshortnerApplication;
+import com.assessment.urlshortner.dto.UrlMappingRequest;
+import com.assessment.urlshortner.service.UrlMappingService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Description: Boots the application against a private in-memory H2
+ *              database for benchmarks, with SQL and request logging
+ *              turned down so they do not dominate measurements.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Starts a non-web application context. Extra arguments use the
+     * usual {@code --property=value} form and override the defaults.
+     */
+    static ConfigurableApplicationContext start(String... overrides) {
+        return run("none", overrides);
+    }
+
+    /**
+     * Starts the application with its embedded web server on a random
+     * port (see {@link #port}).
+     */
+    static ConfigurableApplicationContext startWeb(String... overrides) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0"));
+        args.addAll(Arrays.asList(overrides));
+        return run("servlet", args.toArray(new String[0]));
+    }
+
+    /**
+     * Port of the embedded web server started by {@link #startWeb}.
+     */
+    static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static ConfigurableApplicationContext run(String webApplicationType, String... overrides) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.main.web-application-type=" + webApplicationType,
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.file.name="));
+        args.addAll(Arrays.asList(overrides));
+
+        return SpringApplication.run(UrlshortnerApplication.class, args.toArray(new String[0]));
+    }
+
+    /**
+     * Creates {@code count} mappings and returns their codes.
+     */
+    static String[] seed(ConfigurableApplicationContext context, int count) {
+        UrlMappingService service = context.getBean(UrlMappingService.class);
+        String[] codes = new String[count];
+
+        for (int i = 0; i < count; i++) {
+            UrlMappingRequest request = new UrlMappingRequest();
+            request.setLongUrl("https://example.com/benchmark/seed/" + i);
+            codes[i] = service.createShortUrl(request).getCode();
+        }
+
+        return codes;
+    }
+}
@@ -0,0 +1,113 @@
+package com.assessment.urlshortner.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.assessment.urlshortner.utils.UrlCodeGenerator;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: Measures short code generation and validation for
+ *              each UrlCodeGenerator mode, single-threaded and under
+ *              contention, against the original implementation
+ *              (shared SecureRandom, StringBuilder, indexOf lookup).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodeGeneratorBenchmark {
+
+    @Param({ "SECURE", "FAST" })
+    public UrlCodeGenerator.Mode mode;
+
+    private static final String LEGACY_BASE62 =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+
+    private static final SecureRandom LEGACY_RANDOM = new SecureRandom();
+
+    private UrlCodeGenerator generator;
+
+    private String validCode;
+
+    private String invalidCode;
+
+    @Setup
+    public void setUp() {
+        generator = new UrlCodeGenerator(mode);
+        validCode = "samju1234";
+        invalidCode = "samju-123";
+    }
+
+    @Benchmark
+    public String generateCode() {
+        return generator.generateCode();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateCode_contended() {
+        return generator.generateCode();
+    }
+
+    @Benchmark
+    public boolean isValidCode_valid() {
+        return generator.isValidCode(validCode);
+    }
+
+    @Benchmark
+    public boolean isValidCode_invalid() {
+        return generator.isValidCode(invalidCode);
+    }
+
+    @Benchmark
+    public String legacy_generateCode() {
+        return legacyGenerateCode(6);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String legacy_generateCode_contended() {
+        return legacyGenerateCode(6);
+    }
+
+    @Benchmark
+    public boolean legacy_isValidCode_valid() {
+        return legacyIsValidCode(validCode);
+    }
+
+    // Original implementation, kept as a baseline
+    private static String legacyGenerateCode(int length) {
+        StringBuilder code = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            code.append(LEGACY_BASE62.charAt(LEGACY_RANDOM.nextInt(LEGACY_BASE62.length())));
+        }
+        return code.toString();
+    }
+
+    private static boolean legacyIsValidCode(String code) {
+        if (code == null || code.length() < 3 || code.length() > 10) {
+            return false;
+        }
+        for (char c : code.toCharArray()) {
+            if (LEGACY_BASE62.indexOf(c) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
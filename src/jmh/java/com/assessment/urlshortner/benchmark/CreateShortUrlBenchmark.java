@@ -0,0 +1,76 @@
+package com.assessment.urlshortner.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.assessment.urlshortner.dto.UrlMappingRequest;
+import com.assessment.urlshortner.dto.UrlMappingResponse;
+import com.assessment.urlshortner.service.UrlMappingService;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Description: Measures UrlMappingService.createShortUrl against H2
+ *              for a new long URL (code allocation + insert) and for
+ *              an already shortened one (idempotent findByLongUrl hit),
+ *              for each code allocation strategy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateShortUrlBenchmark {
+
+    @Param({ "random", "sequence" })
+    public String allocator;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+
+    private UrlMappingService service;
+
+    private UrlMappingRequest existingRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--shortener.code-allocator.strategy=" + allocator);
+        service = context.getBean(UrlMappingService.class);
+
+        existingRequest = new UrlMappingRequest();
+        existingRequest.setLongUrl("https://example.com/benchmark/existing");
+        service.createShortUrl(existingRequest);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UrlMappingResponse createNew() {
+        UrlMappingRequest request = new UrlMappingRequest();
+        request.setLongUrl("https://example.com/benchmark/new/" + sequence.incrementAndGet());
+        return service.createShortUrl(request);
+    }
+
+    @Benchmark
+    public UrlMappingResponse createExisting() {
+        return service.createShortUrl(existingRequest);
+    }
+}
@@ -0,0 +1,89 @@
+package com.assessment.urlshortner.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.assessment.urlshortner.config.RateLimitingFilter;
+import com.assessment.urlshortner.ratelimit.LocalRateLimiter;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: Measures the per-request cost of RateLimitingFilter
+ *              for allowed and rejected requests, spread over a
+ *              configurable number of client IPs, including the
+ *              decision timer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitingFilterBenchmark {
+
+    @Param({ "allowed", "rejected" })
+    public String outcome;
+
+    @Param({ "1", "10000" })
+    public int clients;
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private RateLimitingFilter filter;
+
+    private MockHttpServletRequest[] requests;
+
+    @Setup
+    public void setUp() throws Exception {
+        int tokens = "allowed".equals(outcome) ? Integer.MAX_VALUE : 1;
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitingFilter(new LocalRateLimiter(meterRegistry, tokens, 1, 262144),
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(filter, "httpMethod", "POST");
+        ReflectionTestUtils.setField(filter, "path", "/api/urls");
+
+        requests = new MockHttpServletRequest[clients];
+        for (int i = 0; i < clients; i++) {
+            requests[i] = new MockHttpServletRequest("POST", "/api/urls");
+            requests[i].setRemoteAddr("10." + (i >> 16 & 0xFF) + "." + (i >> 8 & 0xFF) + "." + (i & 0xFF));
+
+            // Drain the single token so every measured request is rejected
+            filter.doFilter(requests[i], new MockHttpServletResponse(), NO_OP_CHAIN);
+        }
+    }
+
+    /**
+     * Per-thread response and position in the client list.
+     */
+    @State(Scope.Thread)
+    public static class Client {
+        private final MockHttpServletResponse response = new MockHttpServletResponse();
+        private int next;
+    }
+
+    @Benchmark
+    public int doFilter(Client client) throws Exception {
+        MockHttpServletRequest request = requests[client.next++ % requests.length];
+        client.response.reset();
+        filter.doFilter(request, client.response, NO_OP_CHAIN);
+        return client.response.getStatus();
+    }
+}
@@ -0,0 +1,102 @@
+package com.assessment.urlshortner.benchmark;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import com.assessment.urlshortner.config.RedirectFastPathFilter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: Per-request cost of a cached GET /r/{code} redirect
+ *              through the DispatcherServlet (UrlRedirectController)
+ *              vs RedirectFastPathFilter, without the network and
+ *              servlet container in the way, with and without
+ *              prepared redirect responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedirectDispatchBenchmark {
+
+    @Param({ "dispatcher", "fast-path" })
+    public String route;
+
+    @Param({ "true", "false" })
+    public boolean prepared;
+
+    @Param({ "1000" })
+    public int mappings;
+
+    private ConfigurableApplicationContext context;
+
+    private DispatcherServlet dispatcherServlet;
+
+    private RedirectFastPathFilter fastPathFilter;
+
+    private FilterChain toDispatcher;
+
+    private String[] codes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startWeb(
+                "--spring.mvc.servlet.load-on-startup=1",
+                "--rate.limit.redirect.enabled=false",
+                "--shortener.redirect.prepared.enabled=" + prepared,
+                "--shortener.redirect.prepared.max-size=" + mappings);
+        dispatcherServlet = context.getBean(DispatcherServlet.class);
+        fastPathFilter = context.getBean(RedirectFastPathFilter.class);
+        toDispatcher = dispatcherServlet::service;
+        codes = BenchmarkContext.seed(context, mappings);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Per-thread position in the seeded codes.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        String next(String[] codes) {
+            return codes[next++ % codes.length];
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletResponse redirect(Cursor cursor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/r/" + cursor.next(codes));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        if ("fast-path".equals(route)) {
+            fastPathFilter.doFilter(request, response, toDispatcher);
+        } else {
+            dispatcherServlet.service(request, response);
+        }
+        return response;
+    }
+}
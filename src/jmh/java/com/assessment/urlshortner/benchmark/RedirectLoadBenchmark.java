@@ -0,0 +1,106 @@
+package com.assessment.urlshortner.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: Load test of GET /r/{code} over HTTP with more concurrent
+ *              clients than Tomcat has platform threads, comparing the
+ *              default thread pool with virtual threads.
+ *
+ *              The redirect cache is off so every request blocks on a
+ *              JDBC query. The virtual-thread mode needs a Java 21 build:
+ *              ./mvnw -Pbenchmark,java21 test-compile exec:exec
+ *              -Djmh.include=RedirectLoadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400)
+@Fork(1)
+public class RedirectLoadBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean virtualThreads;
+
+    @Param({ "1000" })
+    public int mappings;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private URI[] uris;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startWeb(
+                "--shortener.threads.virtual=" + virtualThreads,
+                "--shortener.cache.enabled=false",
+                "--rate.limit.redirect.enabled=false",
+                "--server.tomcat.threads.max=200");
+
+        String[] codes = BenchmarkContext.seed(context, mappings);
+        int port = BenchmarkContext.port(context);
+
+        uris = new URI[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            uris[i] = URI.create("http://localhost:" + port + "/r/" + codes[i]);
+        }
+
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Per-thread position in the seeded codes.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        URI next(URI[] uris) {
+            return uris[next++ % uris.length];
+        }
+    }
+
+    @Benchmark
+    public int redirect(Cursor cursor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(cursor.next(uris)).GET().build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 302) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,97 @@
+package com.assessment.urlshortner.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assessment.urlshortner.model.RedirectTarget;
+import com.assessment.urlshortner.model.UrlMapping;
+import com.assessment.urlshortner.repository.UrlMappingRepository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: Compares the two ways of loading a mapping on a
+ *              redirect cache miss:
+ *
+ *              - entity: read-write transaction + findByCode, i.e. a
+ *                managed UrlMapping with flush and dirty checking
+ *              - projection: read-only transaction +
+ *                findRedirectTargetByCode, no managed entity
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedirectQueryBenchmark {
+
+    @Param({ "1000" })
+    public int mappings;
+
+    private ConfigurableApplicationContext context;
+
+    private UrlMappingRepository repository;
+
+    private TransactionTemplate readWriteTx;
+
+    private TransactionTemplate readOnlyTx;
+
+    private String[] codes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        repository = context.getBean(UrlMappingRepository.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWriteTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+
+        codes = BenchmarkContext.seed(context, mappings);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Per-thread position in the seeded codes.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        String next(String[] codes) {
+            return codes[next++ % codes.length];
+        }
+    }
+
+    @Benchmark
+    public UrlMapping entity(Cursor cursor) {
+        String code = cursor.next(codes);
+        return readWriteTx.execute(status -> repository.findByCode(code).orElseThrow());
+    }
+
+    @Benchmark
+    public RedirectTarget projection(Cursor cursor) {
+        String code = cursor.next(codes);
+        return readOnlyTx.execute(status -> repository.findRedirectTargetByCode(code).orElseThrow());
+    }
+}
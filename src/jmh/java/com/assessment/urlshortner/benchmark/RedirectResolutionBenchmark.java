@@ -0,0 +1,74 @@
+package com.assessment.urlshortner.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.assessment.urlshortner.service.UrlMappingService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: Measures UrlMappingService.getLongUrl end to end
+ *              against H2, with and without the redirect cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedirectResolutionBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean cacheEnabled;
+
+    @Param({ "1000" })
+    public int mappings;
+
+    private ConfigurableApplicationContext context;
+
+    private UrlMappingService service;
+
+    private String[] codes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--shortener.cache.enabled=" + cacheEnabled);
+        service = context.getBean(UrlMappingService.class);
+        codes = BenchmarkContext.seed(context, mappings);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Per-thread position in the seeded codes.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        String next(String[] codes) {
+            return codes[next++ % codes.length];
+        }
+    }
+
+    @Benchmark
+    public String getLongUrl(Cursor cursor) {
+        return service.getLongUrl(cursor.next(codes));
+    }
+}
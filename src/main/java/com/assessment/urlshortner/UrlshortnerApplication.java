@@ -1,12 +1,20 @@
 package com.assessment.urlshortner;
 
+import com.assessment.urlshortner.accesslog.AccessLogAnalyzer;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Arrays;
 
 @SpringBootApplication
+@EnableScheduling
 public class UrlshortnerApplication {
 
 	public static void main(String[] args) {
+		if (args.length > 0 && AccessLogAnalyzer.COMMAND.equals(args[0])) {
+			System.exit(AccessLogAnalyzer.run(Arrays.copyOfRange(args, 1, args.length), System.out, System.err));
+		}
 		SpringApplication.run(UrlshortnerApplication.class, args);
 	}
 
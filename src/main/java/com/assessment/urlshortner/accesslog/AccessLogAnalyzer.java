@@ -0,0 +1,489 @@
+package com.assessment.urlshortner.accesslog;
+
+import com.assessment.urlshortner.utils.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Description: Offline analyzer for access logs in the
+ *              sample-data/sample-access-logs.csv format
+ *              (timestamp,ip,method,endpoint,status,response_time_ms),
+ *              as exported by ops and written by AccessLogWriter.
+ *
+ *              Run as a command-line mode of the application, without
+ *              starting Spring:
+ *
+ *                java -jar urlshortner.jar analyze-access-log FILE
+ *                     [--threads N] [--top N] [--segment-mb N]
+ *
+ *              The file is split into segments that worker threads
+ *              memory-map and parse in parallel, each into its own
+ *              AccessLogStats; a segment owns the lines that start in
+ *              it. Lines are parsed in place from the mapped bytes:
+ *              status and latency are read as digits, method and path
+ *              are copied into a reusable key buffer, and strings are
+ *              only created for endpoints and codes seen for the first
+ *              time. Prints latency percentiles per endpoint, counts
+ *              per status and the most requested codes.
+ */
+public final class AccessLogAnalyzer {
+
+    public static final String COMMAND = "analyze-access-log";
+
+    private static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+
+    // A segment and its overhang must fit in one mapping
+    private static final long MAX_SEGMENT_BYTES = 1024L * 1024 * 1024;
+
+    // Longest line parsed; a line may run this far past its segment
+    static final int MAX_LINE_BYTES = 64 * 1024;
+
+    // Endpoint keys (method and path) are truncated to this length
+    private static final int MAX_KEY_BYTES = 1024;
+
+    private static final byte[] HEADER_PREFIX = "timestamp,".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] REDIRECT_PREFIX = "/r/".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] API_PREFIX = "/api/urls/".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] CODE = "{code}".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] GET = "GET".getBytes(StandardCharsets.US_ASCII);
+
+    // Literal paths under /api/urls/ that are not codes
+    private static final byte[][] API_LITERALS = {
+            "batch".getBytes(StandardCharsets.US_ASCII),
+            "bulk".getBytes(StandardCharsets.US_ASCII)
+    };
+
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+    private AccessLogAnalyzer() {
+    }
+
+    /**
+     * Runs the command with the arguments following its name.
+     *
+     * @return process exit code
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        Path file = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int top = 20;
+        long segmentBytes = DEFAULT_SEGMENT_BYTES;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--top":
+                        top = Integer.parseInt(args[++i]);
+                        break;
+                    case "--segment-mb":
+                        segmentBytes = Long.parseLong(args[++i]) * 1024 * 1024;
+                        break;
+                    default:
+                        if (file != null || args[i].startsWith("--")) {
+                            return usage(err);
+                        }
+                        file = Paths.get(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            return usage(err);
+        }
+        if (file == null || threads < 1 || top < 0
+                || segmentBytes < 1 || segmentBytes > MAX_SEGMENT_BYTES) {
+            return usage(err);
+        }
+
+        try {
+            long started = System.nanoTime();
+            AccessLogStats stats = analyze(file, threads, segmentBytes);
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            out.printf("%s: %d requests, %d malformed lines, %d bytes in %.2f s (%d threads)%n",
+                    file, stats.getLines(), stats.getMalformed(), Files.size(file), seconds, threads);
+            print(stats, top, out);
+            return 0;
+        } catch (IOException e) {
+            err.println("Cannot read " + file + ": " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+    }
+
+    /**
+     * Parses a log file with {@code threads} workers, each taking
+     * the next unparsed segment of {@code segmentBytes}.
+     */
+    public static AccessLogStats analyze(Path file, int threads, long segmentBytes)
+            throws IOException, InterruptedException {
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long segments = (size + segmentBytes - 1) / segmentBytes;
+            int workers = (int) Math.max(1, Math.min(threads, segments));
+
+            AtomicInteger threadNumber = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "access-log-analyzer-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            try {
+                AtomicLong nextSegment = new AtomicLong();
+                List<Future<AccessLogStats>> results = new ArrayList<>(workers);
+                for (int i = 0; i < workers; i++) {
+                    results.add(pool.submit(() -> {
+                        SegmentParser parser = new SegmentParser(new AccessLogStats());
+                        long segment;
+                        while ((segment = nextSegment.getAndIncrement()) < segments) {
+                            long start = segment * segmentBytes;
+                            parser.parse(channel, start, Math.min(size, start + segmentBytes), size);
+                        }
+                        return parser.stats;
+                    }));
+                }
+
+                AccessLogStats total = new AccessLogStats();
+                for (Future<AccessLogStats> result : results) {
+                    total.merge(result.get());
+                }
+                return total;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IllegalStateException("Access log analysis failed", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private static void print(AccessLogStats stats, int top, PrintStream out) {
+        Map<String, LatencyHistogram> endpoints = stats.getEndpoints();
+        int width = "Latency (ms)".length();
+        for (String endpoint : endpoints.keySet()) {
+            width = Math.max(width, endpoint.length());
+        }
+
+        String row = "%-" + width + "s %10s %8s %8s %8s %8s %8s %8s%n";
+        out.println();
+        out.printf(row, "Latency (ms)", "count", "mean", "p50", "p90", "p99", "p99.9", "max");
+        endpoints.forEach((endpoint, histogram) -> printLatency(out, row, endpoint, histogram));
+        printLatency(out, row, "all", stats.getOverall());
+
+        out.println();
+        out.printf("%-6s %10s%n", "Status", "count");
+        stats.getStatuses().forEach((status, count) -> out.printf("%-6d %10d%n", status, count));
+
+        if (top > 0) {
+            List<Map.Entry<String, Long>> codes = stats.getTopCodes(top);
+            int codeWidth = "Top codes (GET /r/{code})".length();
+            for (Map.Entry<String, Long> code : codes) {
+                codeWidth = Math.max(codeWidth, code.getKey().length());
+            }
+
+            out.println();
+            out.printf("%-" + codeWidth + "s %10s%n", "Top codes (GET /r/{code})", "count");
+            for (Map.Entry<String, Long> code : codes) {
+                out.printf("%-" + codeWidth + "s %10d%n", code.getKey(), code.getValue());
+            }
+        }
+    }
+
+    private static void printLatency(PrintStream out, String row, String name, LatencyHistogram histogram) {
+        Object[] columns = new Object[3 + PERCENTILES.length + 1];
+        columns[0] = name;
+        columns[1] = histogram.getCount();
+        columns[2] = String.format("%.1f", histogram.getMean());
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            columns[3 + i] = histogram.percentile(PERCENTILES[i]);
+        }
+        columns[columns.length - 1] = histogram.getMax();
+        out.printf(row, columns);
+    }
+
+    private static int usage(PrintStream err) {
+        err.println("Usage: " + COMMAND + " FILE [--threads N] [--top N] [--segment-mb N]");
+        return 2;
+    }
+
+    /**
+     * Parses segments into one AccessLogStats; one per worker thread.
+     */
+    private static final class SegmentParser {
+
+        final AccessLogStats stats;
+
+        // Unquoted endpoint, without query string
+        private final byte[] path = new byte[MAX_KEY_BYTES];
+
+        // Method, space and normalized path
+        private final byte[] key = new byte[MAX_KEY_BYTES];
+
+        private MappedByteBuffer buffer;
+
+        SegmentParser(AccessLogStats stats) {
+            this.stats = stats;
+        }
+
+        /**
+         * Parses the lines starting in [start, end).
+         */
+        void parse(FileChannel channel, long start, long end, long size) throws IOException {
+            // One byte before the segment tells whether it starts a line
+            long mapStart = Math.max(0L, start - 1);
+            long mapEnd = Math.min(size, end + MAX_LINE_BYTES);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+
+            int limit = (int) (end - mapStart);
+            int mapped = (int) (mapEnd - mapStart);
+            int pos = (int) (start - mapStart);
+
+            if (pos > 0 && buffer.get(0) != '\n') {
+                // Finish the line owned by the previous segment
+                int newline = indexOf((byte) '\n', pos, mapped);
+                pos = newline < 0 ? mapped : newline + 1;
+            }
+
+            while (pos < limit) {
+                int newline = indexOf((byte) '\n', pos, mapped);
+                int lineEnd = newline;
+                if (newline < 0) {
+                    if (mapEnd < size) {
+                        // Longer than MAX_LINE_BYTES
+                        stats.recordMalformed();
+                        break;
+                    }
+                    lineEnd = mapped;
+                }
+                if (lineEnd > pos && buffer.get(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+
+                if (lineEnd > pos) {
+                    parseLine(pos, lineEnd);
+                }
+                pos = newline < 0 ? mapped : newline + 1;
+            }
+            buffer = null;
+        }
+
+        private void parseLine(int from, int to) {
+            // timestamp,ip,method: the first three fields never contain commas
+            int afterTimestamp = indexOf((byte) ',', from, to);
+            int afterIp = afterTimestamp < 0 ? -1 : indexOf((byte) ',', afterTimestamp + 1, to);
+            int afterMethod = afterIp < 0 ? -1 : indexOf((byte) ',', afterIp + 1, to);
+
+            // status,response_time_ms: counted from the end, so the endpoint may contain commas
+            int beforeTime = lastIndexOf((byte) ',', from, to);
+            int beforeStatus = beforeTime < 0 ? -1 : lastIndexOf((byte) ',', from, beforeTime);
+
+            if (afterMethod < 0 || beforeStatus < afterMethod) {
+                stats.recordMalformed();
+                return;
+            }
+
+            long status = parseNumber(beforeStatus + 1, beforeTime);
+            long responseTime = parseNumber(beforeTime + 1, to);
+            if (status < 0 || responseTime < 0 || !AccessLogStats.isValidStatus((int) status)) {
+                if (!startsWith(from, to, HEADER_PREFIX)) {
+                    stats.recordMalformed();
+                }
+                return;
+            }
+
+            int keyLength = copy(afterIp + 1, afterMethod, key, 0);
+            boolean get = keyLength == GET.length && hasPrefix(key, keyLength, GET);
+            key[keyLength++] = ' ';
+
+            int pathLength = unquote(afterMethod + 1, beforeStatus);
+            keyLength = normalize(pathLength, keyLength, get);
+
+            stats.record(key, keyLength, (int) status, responseTime);
+        }
+
+        /**
+         * Appends the path to the key with short codes replaced by
+         * {code}, counting redirected codes.
+         */
+        private int normalize(int pathLength, int keyLength, boolean get) {
+            if (hasPrefix(path, pathLength, REDIRECT_PREFIX)
+                    && pathLength > REDIRECT_PREFIX.length
+                    && find(path, (byte) '/', REDIRECT_PREFIX.length, pathLength) < 0) {
+
+                if (get) {
+                    stats.recordCode(path, REDIRECT_PREFIX.length, pathLength - REDIRECT_PREFIX.length);
+                }
+                keyLength = append(key, keyLength, REDIRECT_PREFIX, 0, REDIRECT_PREFIX.length);
+                return append(key, keyLength, CODE, 0, CODE.length);
+            }
+
+            if (hasPrefix(path, pathLength, API_PREFIX) && pathLength > API_PREFIX.length) {
+                int segmentEnd = find(path, (byte) '/', API_PREFIX.length, pathLength);
+                if (segmentEnd < 0) {
+                    segmentEnd = pathLength;
+                }
+
+                if (!isApiLiteral(API_PREFIX.length, segmentEnd)) {
+                    keyLength = append(key, keyLength, API_PREFIX, 0, API_PREFIX.length);
+                    keyLength = append(key, keyLength, CODE, 0, CODE.length);
+                    return append(key, keyLength, path, segmentEnd, pathLength);
+                }
+            }
+
+            return append(key, keyLength, path, 0, pathLength);
+        }
+
+        private boolean isApiLiteral(int from, int to) {
+            for (byte[] literal : API_LITERALS) {
+                if (Arrays.equals(path, from, to, literal, 0, literal.length)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Copies the endpoint field into {@code path}, removing CSV
+         * quoting and the query string.
+         *
+         * @return path length
+         */
+        private int unquote(int from, int to) {
+            int length = 0;
+            boolean quoted = to - from >= 2 && buffer.get(from) == '"' && buffer.get(to - 1) == '"';
+            if (quoted) {
+                from++;
+                to--;
+            }
+
+            for (int i = from; i < to && length < path.length; i++) {
+                byte b = buffer.get(i);
+                if (b == '?') {
+                    break;
+                }
+                if (quoted && b == '"' && i + 1 < to && buffer.get(i + 1) == '"') {
+                    i++;
+                }
+                path[length++] = b;
+            }
+            return length;
+        }
+
+        // Digits, optionally with a fraction that is dropped; -1 if not a number
+        private long parseNumber(int from, int to) {
+            if (from >= to || to - from > 18) {
+                return -1;
+            }
+
+            long value = 0;
+            for (int i = from; i < to; i++) {
+                byte b = buffer.get(i);
+                if (b == '.' && i > from) {
+                    return isDigits(i + 1, to) ? value : -1;
+                }
+                if (b < '0' || b > '9') {
+                    return -1;
+                }
+                value = value * 10 + (b - '0');
+            }
+            return value;
+        }
+
+        private boolean isDigits(int from, int to) {
+            for (int i = from; i < to; i++) {
+                byte b = buffer.get(i);
+                if (b < '0' || b > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int copy(int from, int to, byte[] target, int offset) {
+            int length = Math.min(to - from, target.length - offset - 1);
+            for (int i = 0; i < length; i++) {
+                target[offset + i] = buffer.get(from + i);
+            }
+            return offset + length;
+        }
+
+        private boolean startsWith(int from, int to, byte[] prefix) {
+            if (to - from < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if (buffer.get(from + i) != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int indexOf(byte value, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (buffer.get(i) == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int lastIndexOf(byte value, int from, int to) {
+            for (int i = to - 1; i >= from; i--) {
+                if (buffer.get(i) == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static boolean hasPrefix(byte[] bytes, int length, byte[] prefix) {
+        return length >= prefix.length && Arrays.equals(bytes, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static int find(byte[] bytes, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Appends bytes[from, to), truncated to the key buffer
+    private static int append(byte[] key, int keyLength, byte[] bytes, int from, int to) {
+        int length = Math.min(to - from, key.length - keyLength);
+        System.arraycopy(bytes, from, key, keyLength, length);
+        return keyLength + length;
+    }
+}
@@ -0,0 +1,40 @@
+package com.assessment.urlshortner.accesslog;
+
+/**
+ * Description: One access log line, in the shape of
+ *              sample-data/sample-access-logs.csv. Instances are
+ *              pre-allocated in the access log ring buffer and
+ *              refilled for every request.
+ */
+public final class AccessLogRecord {
+
+    // Request start, epoch millis
+    long timestampMillis;
+
+    String ip;
+
+    String method;
+
+    String endpoint;
+
+    int status;
+
+    long responseTimeMillis;
+
+    void set(long timestampMillis, String ip, String method, String endpoint,
+             int status, long responseTimeMillis) {
+        this.timestampMillis = timestampMillis;
+        this.ip = ip;
+        this.method = method;
+        this.endpoint = endpoint;
+        this.status = status;
+        this.responseTimeMillis = responseTimeMillis;
+    }
+
+    // Drops references to request strings once written
+    void clear() {
+        ip = null;
+        method = null;
+        endpoint = null;
+    }
+}
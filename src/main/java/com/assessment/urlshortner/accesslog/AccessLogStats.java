@@ -0,0 +1,141 @@
+package com.assessment.urlshortner.accesslog;
+
+import com.assessment.urlshortner.utils.LatencyHistogram;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Description: Aggregates of an access log: latency histograms per
+ *              endpoint (method and path, with short codes replaced
+ *              by {code}) and overall, request counts per status and
+ *              per redirected code. Each parser thread fills its own
+ *              instance; they are merged at the end.
+ */
+public final class AccessLogStats {
+
+    // Statuses 0..999 counted; anything else is malformed
+    private static final int MAX_STATUS = 999;
+
+    private final LatencyHistogram overall = new LatencyHistogram();
+
+    private final ByteKeyMap<LatencyHistogram> endpoints = new ByteKeyMap<>();
+
+    // Requests per code of GET /r/{code}
+    private final ByteKeyMap<long[]> codes = new ByteKeyMap<>(1024);
+
+    private final long[] statuses = new long[MAX_STATUS + 1];
+
+    private long lines;
+
+    private long malformed;
+
+    void record(byte[] endpoint, int endpointLength, int status, long responseTimeMillis) {
+        lines++;
+        statuses[status]++;
+        overall.record(responseTimeMillis);
+        endpoints.computeIfAbsent(endpoint, 0, endpointLength, LatencyHistogram::new).record(responseTimeMillis);
+    }
+
+    void recordCode(byte[] code, int offset, int length) {
+        codes.computeIfAbsent(code, offset, length, () -> new long[1])[0]++;
+    }
+
+    void recordMalformed() {
+        malformed++;
+    }
+
+    static boolean isValidStatus(int status) {
+        return status >= 0 && status <= MAX_STATUS;
+    }
+
+    /**
+     * Adds another instance's counts to this one.
+     */
+    void merge(AccessLogStats other) {
+        overall.merge(other.overall);
+        other.endpoints.forEachRaw((key, histogram) ->
+                endpoints.computeIfAbsent(key, 0, key.length, LatencyHistogram::new).merge(histogram));
+        other.codes.forEachRaw((key, count) ->
+                codes.computeIfAbsent(key, 0, key.length, () -> new long[1])[0] += count[0]);
+        for (int i = 0; i < statuses.length; i++) {
+            statuses[i] += other.statuses[i];
+        }
+        lines += other.lines;
+        malformed += other.malformed;
+    }
+
+    /**
+     * Requests parsed.
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * Lines that could not be parsed (the header line excluded).
+     */
+    public long getMalformed() {
+        return malformed;
+    }
+
+    public LatencyHistogram getOverall() {
+        return overall;
+    }
+
+    /**
+     * Latencies per endpoint, sorted by endpoint.
+     */
+    public Map<String, LatencyHistogram> getEndpoints() {
+        Map<String, LatencyHistogram> sorted = new TreeMap<>();
+        endpoints.forEach(sorted::put);
+        return sorted;
+    }
+
+    /**
+     * Requests per status, sorted by status.
+     */
+    public Map<Integer, Long> getStatuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        for (int i = 0; i < statuses.length; i++) {
+            if (statuses[i] > 0) {
+                counts.put(i, statuses[i]);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * The most requested codes of GET /r/{code}, most requested first.
+     */
+    public List<Map.Entry<String, Long>> getTopCodes(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        // Smallest of the current top first; only the winners are decoded
+        PriorityQueue<Map.Entry<byte[], Long>> heap = new PriorityQueue<>(limit + 1,
+                Map.Entry.<byte[], Long>comparingByValue()
+                        .thenComparing(Map.Entry::getKey, (a, b) -> Arrays.compareUnsigned(b, a)));
+        codes.forEachRaw((code, count) -> {
+            heap.add(Map.entry(code, count[0]));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        });
+
+        List<Map.Entry<String, Long>> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Map.Entry<byte[], Long> entry = heap.poll();
+            top.add(Map.entry(new String(entry.getKey(), StandardCharsets.UTF_8), entry.getValue()));
+        }
+        Collections.reverse(top);
+        return top;
+    }
+}
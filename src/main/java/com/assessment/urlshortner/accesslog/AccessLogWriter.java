@@ -0,0 +1,289 @@
+package com.assessment.urlshortner.accesslog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.assessment.urlshortner.utils.MpscRingBuffer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Description: Asynchronous access log, written as CSV
+ *              (timestamp,ip,method,endpoint,status,response_time_ms).
+ *
+ *              Request threads copy their line into a pre-allocated
+ *              record of a lock-free ring buffer and return; when the
+ *              buffer is full the line is dropped and counted, the
+ *              request never waits. A single background thread drains
+ *              the buffer in batches, writes each batch with one
+ *              write and flush, and rolls the file once it exceeds
+ *              shortener.access-log.max-file-size-mb (file.1 is the
+ *              most recent rolled file, up to max-history files).
+ */
+@Component
+public class AccessLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogWriter.class);
+
+    static final String HEADER = "timestamp,ip,method,endpoint,status,response_time_ms";
+
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    private final boolean enabled;
+
+    private final Path file;
+
+    private final MpscRingBuffer<AccessLogRecord> buffer;
+
+    // Lines written per write call
+    private final int batchSize;
+
+    // Idle wait between drains when the buffer is empty
+    private final long flushIntervalNanos;
+
+    private final long maxFileBytes;
+
+    // Rolled files kept
+    private final int maxHistory;
+
+    private final Counter bufferFullDrops;
+
+    private final Counter writeErrorDrops;
+
+    private final Counter written;
+
+    // Reused for every batch; writer thread only
+    private final StringBuilder batch = new StringBuilder();
+
+    private Writer out;
+
+    private long fileBytes;
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    public AccessLogWriter(
+            MeterRegistry meterRegistry,
+            @Value("${shortener.access-log.enabled:true}") boolean enabled,
+            @Value("${shortener.access-log.file:logs/access.csv}") String file,
+            @Value("${shortener.access-log.buffer-size:65536}") int bufferSize,
+            @Value("${shortener.access-log.batch-size:1024}") int batchSize,
+            @Value("${shortener.access-log.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${shortener.access-log.max-file-size-mb:100}") long maxFileSizeMb,
+            @Value("${shortener.access-log.max-history:10}") int maxHistory) {
+
+        this.enabled = enabled;
+        this.file = Paths.get(file);
+        this.buffer = new MpscRingBuffer<>(enabled ? bufferSize : 2, AccessLogRecord::new);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, flushIntervalMs));
+        this.maxFileBytes = maxFileSizeMb * 1024 * 1024;
+        this.maxHistory = maxHistory;
+
+        this.bufferFullDrops = Counter.builder("shortener.access-log.dropped")
+                .tag("cause", "buffer-full")
+                .description("Access log lines dropped instead of blocking requests")
+                .register(meterRegistry);
+
+        this.writeErrorDrops = Counter.builder("shortener.access-log.dropped")
+                .tag("cause", "write-error")
+                .description("Access log lines dropped instead of blocking requests")
+                .register(meterRegistry);
+
+        this.written = Counter.builder("shortener.access-log.written")
+                .description("Access log lines written")
+                .register(meterRegistry);
+
+        Gauge.builder("shortener.access-log.pending", buffer, MpscRingBuffer::size)
+                .description("Access log lines waiting for the writer thread")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues one access log line. Never blocks: the line is dropped
+     * when the buffer is full.
+     */
+    public void log(long timestampMillis, String ip, String method, String endpoint,
+                    int status, long responseTimeMillis) {
+        if (!enabled) {
+            return;
+        }
+
+        long position = buffer.claim();
+        if (position < 0) {
+            bufferFullDrops.increment();
+            return;
+        }
+
+        buffer.get(position).set(timestampMillis, ip, method, endpoint, status, responseTimeMillis);
+        buffer.publish(position);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        thread = new Thread(this::run, "access-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Writes what is still buffered and closes the file.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (thread == null) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                if (drainOnce() == 0) {
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+            }
+            while (drainOnce() > 0) {
+                // Final drain on shutdown
+            }
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Drains and writes one batch; returns the number of lines.
+     */
+    private int drainOnce() {
+        batch.setLength(0);
+        int count = buffer.drain(this::append, batchSize);
+        if (count == 0) {
+            return 0;
+        }
+
+        try {
+            if (out == null || fileBytes >= maxFileBytes) {
+                roll();
+            }
+            out.write(batch.toString());
+            out.flush();
+            fileBytes += batch.length();
+            written.increment(count);
+        } catch (IOException | RuntimeException e) {
+            // Reopened with the next batch
+            writeErrorDrops.increment(count);
+            logger.warn("Failed to write {} access log lines: {}", count, e.getMessage());
+            close();
+        }
+        return count;
+    }
+
+    private void append(AccessLogRecord record) {
+        TIMESTAMP.formatTo(Instant.ofEpochMilli(record.timestampMillis), batch);
+        batch.append(',').append(record.ip)
+                .append(',').append(record.method)
+                .append(',');
+        appendCsvField(record.endpoint);
+        batch.append(',').append(record.status)
+                .append(',').append(record.responseTimeMillis)
+                .append('\n');
+        record.clear();
+    }
+
+    // Quotes a field containing separators, quotes or line breaks
+    private void appendCsvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            batch.append(value);
+            return;
+        }
+        batch.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * Opens the log file, first rolling it if it is too large.
+     */
+    private void roll() throws IOException {
+        close();
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        if (Files.exists(file) && Files.size(file) >= maxFileBytes) {
+            Files.deleteIfExists(rolled(maxHistory));
+            for (int i = maxHistory - 1; i >= 1; i--) {
+                if (Files.exists(rolled(i))) {
+                    Files.move(rolled(i), rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (maxHistory > 0) {
+                Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.delete(file);
+            }
+        }
+
+        boolean empty = !Files.exists(file) || Files.size(file) == 0;
+        out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileBytes = Files.size(file);
+
+        if (empty) {
+            out.write(HEADER);
+            out.write('\n');
+            fileBytes += HEADER.length() + 1;
+        }
+    }
+
+    private Path rolled(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close access log: {}", e.getMessage());
+        }
+        out = null;
+    }
+}
@@ -0,0 +1,128 @@
+package com.assessment.urlshortner.accesslog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Description: Open-addressing hash map keyed by byte sequences,
+ *              looked up straight from a slice of a byte array. A key
+ *              is copied only the first time it is seen, so counting
+ *              millions of lines allocates per distinct key, not per
+ *              line. Not thread-safe.
+ */
+final class ByteKeyMap<V> {
+
+    private byte[][] keys;
+
+    private Object[] values;
+
+    private int[] hashes;
+
+    private int size;
+
+    ByteKeyMap() {
+        this(64);
+    }
+
+    ByteKeyMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+        this.keys = new byte[capacity][];
+        this.values = new Object[capacity];
+        this.hashes = new int[capacity];
+    }
+
+    /**
+     * The value of the key {@code bytes[offset, offset + length)},
+     * created with {@code factory} if absent.
+     */
+    @SuppressWarnings("unchecked")
+    V computeIfAbsent(byte[] bytes, int offset, int length, Supplier<V> factory) {
+        int hash = hash(bytes, offset, length);
+        int mask = keys.length - 1;
+        int slot = hash & mask;
+
+        while (keys[slot] != null) {
+            if (hashes[slot] == hash
+                    && Arrays.equals(keys[slot], 0, keys[slot].length, bytes, offset, offset + length)) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        V value = factory.get();
+        keys[slot] = Arrays.copyOfRange(bytes, offset, offset + length);
+        values[slot] = value;
+        hashes[slot] = hash;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Visits every entry, the key decoded as UTF-8.
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<String, V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(new String(keys[i], StandardCharsets.UTF_8), (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Visits every entry with its raw key; the array must not be modified.
+     */
+    @SuppressWarnings("unchecked")
+    void forEachRaw(BiConsumer<byte[], V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    private void grow() {
+        byte[][] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+
+        keys = new byte[oldKeys.length * 2][];
+        values = new Object[oldKeys.length * 2];
+        hashes = new int[oldKeys.length * 2];
+        int mask = keys.length - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = oldHashes[i] & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    // FNV-1a, finished with a murmur3 fmix so the low bits used for the slot are well mixed
+    private static int hash(byte[] bytes, int offset, int length) {
+        int h = 0x811C9DC5;
+        for (int i = offset; i < offset + length; i++) {
+            h ^= bytes[i];
+            h *= 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,402 @@
+package com.assessment.urlshortner.analytics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assessment.urlshortner.utils.MpscRingBuffer;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Description: Aggregates redirects into per-code minute, hour and
+ *              day click buckets and writes them to click_stats.
+ *
+ *              The redirect path only copies the code and time into a
+ *              pre-allocated slot of a lock-free ring buffer; when the
+ *              buffer is full the click is dropped and counted, the
+ *              redirect never waits. A single background thread drains
+ *              the buffer into in-memory minute buckets and, every
+ *              shortener.analytics.flush-interval-ms, hands them to a
+ *              writer thread, which rolls them up into hour and day
+ *              buckets and adds all of them to the table in one
+ *              transaction of batched upserts. A slow database
+ *              therefore never stops the draining: while a write is
+ *              running, clicks keep aggregating into the next batch.
+ *
+ *              A failed write is merged back and retried with the next
+ *              flush. At most shortener.analytics.max-pending-buckets
+ *              (code, minute) buckets are kept waiting; clicks that
+ *              would need a new bucket beyond that are discarded and
+ *              counted, so memory stays bounded during an outage.
+ *
+ *              The same thread feeds the HotCodeTracker (top codes and
+ *              distinct client IPs per window).
+ */
+@Component
+public class ClickAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClickAggregator.class);
+
+    // Standard MERGE (H2 and others); arguments: code, granularity, bucket start, clicks
+    static final String MERGE_SQL =
+            "MERGE INTO click_stats t USING (SELECT CAST(? AS VARCHAR(16)) AS code, CAST(? AS VARCHAR(8)) AS granularity, "
+            + "CAST(? AS TIMESTAMP WITH TIME ZONE) AS bucket_start, CAST(? AS BIGINT) AS clicks) s "
+            + "ON t.code = s.code AND t.granularity = s.granularity AND t.bucket_start = s.bucket_start "
+            + "WHEN MATCHED THEN UPDATE SET clicks = t.clicks + s.clicks "
+            + "WHEN NOT MATCHED THEN INSERT (code, granularity, bucket_start, clicks) "
+            + "VALUES (s.code, s.granularity, s.bucket_start, s.clicks)";
+
+    // PostgreSQL, where a concurrent insert of the same bucket can fail a MERGE but not this
+    static final String POSTGRES_UPSERT_SQL =
+            "INSERT INTO click_stats (code, granularity, bucket_start, clicks) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT (code, granularity, bucket_start) DO UPDATE SET clicks = click_stats.clicks + EXCLUDED.clicks";
+
+    // Clicks aggregated per drain call
+    private static final int DRAIN_LIMIT = 4096;
+
+    // Wait between drains while no clicks arrive
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final HotCodeTracker hotCodes;
+
+    private final boolean enabled;
+
+    private final MpscRingBuffer<ClickEvent> buffer;
+
+    private final long flushIntervalMillis;
+
+    private final Counter dropped;
+
+    private final Counter discarded;
+
+    private final Counter bucketsWritten;
+
+    private final int maxPendingBuckets;
+
+    private final ExecutorService writer;
+
+    // Minute bucket start -> code -> clicks since the last flush; aggregator thread only
+    private Map<Long, Map<String, long[]>> minutes = new HashMap<>();
+
+    // (code, minute) buckets in minutes
+    private int pendingBuckets;
+
+    // Write of the previous batch; yields the batch back when it failed
+    private Future<Map<Long, Map<String, long[]>>> inFlight;
+
+    // Chosen from the database product on the first write; writer thread only
+    private String upsertSql;
+
+    // Bucket of the previous click, as most clicks fall into the current minute
+    private long currentMinute = Long.MIN_VALUE;
+
+    private Map<String, long[]> currentCounts;
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    public ClickAggregator(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            HotCodeTracker hotCodes,
+            MeterRegistry meterRegistry,
+            @Value("${shortener.analytics.enabled:true}") boolean enabled,
+            @Value("${shortener.analytics.buffer-size:65536}") int bufferSize,
+            @Value("${shortener.analytics.flush-interval-ms:10000}") long flushIntervalMillis,
+            @Value("${shortener.analytics.max-pending-buckets:100000}") int maxPendingBuckets) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hotCodes = hotCodes;
+        this.enabled = enabled;
+        this.buffer = new MpscRingBuffer<>(enabled ? bufferSize : 2, ClickEvent::new);
+        this.flushIntervalMillis = Math.max(1L, flushIntervalMillis);
+        this.maxPendingBuckets = Math.max(1, maxPendingBuckets);
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "click-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.dropped = Counter.builder("shortener.analytics.clicks.dropped")
+                .description("Clicks dropped from the statistics instead of delaying redirects")
+                .register(meterRegistry);
+
+        this.discarded = Counter.builder("shortener.analytics.clicks.discarded")
+                .description("Clicks discarded because too many buckets were waiting to be written")
+                .register(meterRegistry);
+
+        this.bucketsWritten = Counter.builder("shortener.analytics.buckets.written")
+                .description("Click buckets added to click_stats")
+                .register(meterRegistry);
+
+        Gauge.builder("shortener.analytics.clicks.pending", buffer, MpscRingBuffer::size)
+                .description("Clicks waiting for the aggregator thread")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues one click. Never blocks: the click is dropped when the
+     * buffer is full.
+     *
+     * @param clientIp client address, or null when unknown
+     */
+    public void record(String code, String clientIp, long timestampMillis) {
+        if (!enabled) {
+            return;
+        }
+
+        long position = buffer.claim();
+        if (position < 0) {
+            dropped.increment();
+            return;
+        }
+
+        buffer.get(position).set(code, clientIp, timestampMillis);
+        buffer.publish(position);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        thread = new Thread(this::run, "click-aggregator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Aggregates and writes what is still buffered.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (thread == null) {
+            writer.shutdownNow();
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+        writer.shutdownNow();
+    }
+
+    private void run() {
+        long nextFlush = System.currentTimeMillis() + flushIntervalMillis;
+
+        while (running) {
+            int drained = buffer.drain(this::aggregate, DRAIN_LIMIT);
+
+            long now = System.currentTimeMillis();
+            hotCodes.advance(now);
+            if (now >= nextFlush) {
+                flush();
+                nextFlush = now + flushIntervalMillis;
+            } else if (drained == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+
+        while (buffer.drain(this::aggregate, DRAIN_LIMIT) > 0) {
+            // Final drain on shutdown
+        }
+        hotCodes.advance(System.currentTimeMillis());
+        awaitWrite();
+        flush();
+        awaitWrite();
+    }
+
+    private void aggregate(ClickEvent event) {
+        long minute = ClickGranularity.MINUTE.bucketStart(event.timestampMillis);
+        if (minute != currentMinute || currentCounts == null) {
+            currentCounts = minutes.computeIfAbsent(minute, k -> new HashMap<>());
+            currentMinute = minute;
+        }
+
+        long[] clicks = currentCounts.get(event.code);
+        if (clicks == null && pendingBuckets < maxPendingBuckets) {
+            clicks = new long[1];
+            currentCounts.put(event.code, clicks);
+            pendingBuckets++;
+        }
+        if (clicks != null) {
+            clicks[0]++;
+        } else {
+            discarded.increment();
+        }
+
+        hotCodes.offer(event.code, event.clientIp, event.timestampMillis);
+        event.clear();
+    }
+
+    /**
+     * Hands the aggregated buckets to the writer thread, unless the
+     * previous batch is still being written; then they keep
+     * aggregating and go with the next flush.
+     */
+    private void flush() {
+        if (inFlight != null) {
+            if (!inFlight.isDone()) {
+                return;
+            }
+            awaitWrite();
+        }
+
+        if (minutes.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Map<String, long[]>> batch = minutes;
+        minutes = new HashMap<>();
+        currentCounts = null;
+        pendingBuckets = 0;
+        inFlight = writer.submit(() -> write(batch));
+    }
+
+    /**
+     * Waits for the write in progress, if any, and merges its buckets
+     * back when it failed.
+     */
+    private void awaitWrite() {
+        if (inFlight == null) {
+            return;
+        }
+
+        Map<Long, Map<String, long[]>> failed;
+        try {
+            failed = inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            logger.error("Click bucket write failed unexpectedly, buckets dropped", e.getCause());
+            failed = null;
+        }
+        inFlight = null;
+
+        if (failed != null) {
+            retain(failed);
+        }
+    }
+
+    // Merges a failed batch into the current one, discarding buckets beyond the limit
+    private void retain(Map<Long, Map<String, long[]>> failed) {
+        currentCounts = null;
+        failed.forEach((minute, codes) -> {
+            Map<String, long[]> counts = minutes.computeIfAbsent(minute, k -> new HashMap<>());
+            codes.forEach((code, clicks) -> {
+                long[] existing = counts.get(code);
+                if (existing != null) {
+                    existing[0] += clicks[0];
+                } else if (pendingBuckets < maxPendingBuckets) {
+                    counts.put(code, clicks);
+                    pendingBuckets++;
+                } else {
+                    discarded.increment(clicks[0]);
+                }
+            });
+            if (counts.isEmpty()) {
+                minutes.remove(minute);
+            }
+        });
+    }
+
+    /**
+     * Adds a batch to click_stats on the writer thread. Buckets are
+     * upserted sorted (granularity, code, start) so concurrent
+     * flushes from several nodes lock rows in the same order, and a
+     * bucket inserted meanwhile by another node is incremented
+     * rather than failing the batch.
+     *
+     * @return null when written, else the batch, to be retried
+     */
+    private Map<Long, Map<String, long[]>> write(Map<Long, Map<String, long[]>> batch) {
+        List<Object[]> rows = rollUp(batch);
+
+        try {
+            String sql = upsertSql();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+
+            bucketsWritten.increment(rows.size());
+            logger.debug("Flushed {} click buckets", rows.size());
+            return null;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to flush {} click buckets, will retry: {}", rows.size(), e.getMessage());
+            return batch;
+        }
+    }
+
+    /**
+     * Builds one upsert argument row (code, granularity, bucket
+     * start, clicks) per minute, hour and day bucket.
+     */
+    private static List<Object[]> rollUp(Map<Long, Map<String, long[]>> batch) {
+        Map<ClickGranularity, TreeMap<String, TreeMap<Long, long[]>>> buckets = new EnumMap<>(ClickGranularity.class);
+
+        for (Map.Entry<Long, Map<String, long[]>> minute : batch.entrySet()) {
+            for (Map.Entry<String, long[]> code : minute.getValue().entrySet()) {
+                for (ClickGranularity granularity : ClickGranularity.values()) {
+                    buckets.computeIfAbsent(granularity, k -> new TreeMap<>())
+                            .computeIfAbsent(code.getKey(), k -> new TreeMap<>())
+                            .computeIfAbsent(granularity.bucketStart(minute.getKey()), k -> new long[1])[0]
+                            += code.getValue()[0];
+                }
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        buckets.forEach((granularity, codes) -> codes.forEach((code, starts) -> starts.forEach((start, clicks) ->
+                rows.add(new Object[] { code, granularity.name(), toTimestamp(start), clicks[0] }))));
+        return rows;
+    }
+
+    private String upsertSql() {
+        if (upsertSql == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            upsertSql = "PostgreSQL".equals(product) ? POSTGRES_UPSERT_SQL : MERGE_SQL;
+        }
+        return upsertSql;
+    }
+
+    private static OffsetDateTime toTimestamp(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,28 @@
+package com.assessment.urlshortner.analytics;
+
+/**
+ * Description: One successful redirect. Instances are pre-allocated
+ *              in the click ring buffer and refilled for every click.
+ */
+final class ClickEvent {
+
+    String code;
+
+    // Client address, null when unknown
+    String clientIp;
+
+    // Epoch millis
+    long timestampMillis;
+
+    void set(String code, String clientIp, long timestampMillis) {
+        this.code = code;
+        this.clientIp = clientIp;
+        this.timestampMillis = timestampMillis;
+    }
+
+    // Drops request references once aggregated
+    void clear() {
+        code = null;
+        clientIp = null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.assessment.urlshortner.analytics;
+
+import java.util.Locale;
+
+/**
+ * Description: Bucket sizes of the click statistics. Buckets are
+ *              aligned to UTC (a day bucket starts at 00:00Z).
+ */
+public enum ClickGranularity {
+
+    MINUTE(60_000L),
+
+    HOUR(3_600_000L),
+
+    DAY(86_400_000L);
+
+    private final long bucketMillis;
+
+    ClickGranularity(long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * Start of the bucket containing the given time, epoch millis.
+     */
+    public long bucketStart(long epochMillis) {
+        return epochMillis - Math.floorMod(epochMillis, bucketMillis);
+    }
+
+    /**
+     * Parses a granularity name, case-insensitively.
+     *
+     * @return the granularity, or null if the name is unknown
+     */
+    public static ClickGranularity parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.assessment.urlshortner.analytics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.assessment.urlshortner.dto.HotCodesResponse;
+import com.assessment.urlshortner.utils.HyperLogLog;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: Approximate top-K most redirected codes per time
+ *              window, with a distinct client IP estimate per code,
+ *              in memory bounded by the table size however many
+ *              codes are redirected.
+ *
+ *              Uses the Space-Saving algorithm: a table of
+ *              shortener.analytics.hot-codes.capacity counters kept in
+ *              a min-heap. A code without a counter takes over the
+ *              smallest one and inherits its count as possible
+ *              overcount, so every code redirected more than
+ *              clicks / capacity times in a window is in the table,
+ *              and counts are never too low. Each counter has a
+ *              HyperLogLog of client IPs, reset when the counter
+ *              changes code.
+ *
+ *              Fed by the ClickAggregator thread only. Snapshots of
+ *              the window in progress are published every second and
+ *              the last complete window is also exported as the
+ *              shortener.hot-codes.* gauges, tagged by code.
+ */
+@Component
+public class HotCodeTracker {
+
+    private static final long PUBLISH_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(1);
+
+    private static final Comparator<Counter> MOST_CLICKS =
+            Comparator.comparingLong((Counter counter) -> counter.count).reversed();
+
+    private final int capacity;
+
+    // Codes reported per window
+    private final int top;
+
+    private final int precision;
+
+    private final long windowMillis;
+
+    // Writer thread state: code -> counter, and the counters as a min-heap by count
+    private final Map<String, Counter> counters;
+
+    private final Counter[] heap;
+
+    private int size;
+
+    private long windowStart = Long.MIN_VALUE;
+
+    private long windowClicks;
+
+    private long nextPublish;
+
+    private volatile HotCodesResponse.Window current;
+
+    private volatile HotCodesResponse.Window previous;
+
+    private final MultiGauge clicksGauge;
+
+    private final MultiGauge distinctIpsGauge;
+
+    public HotCodeTracker(
+            MeterRegistry meterRegistry,
+            @Value("${shortener.analytics.hot-codes.capacity:1024}") int capacity,
+            @Value("${shortener.analytics.hot-codes.top:10}") int top,
+            @Value("${shortener.analytics.hot-codes.window-seconds:60}") long windowSeconds,
+            @Value("${shortener.analytics.hot-codes.hll-precision:10}") int precision) {
+
+        this.capacity = Math.max(1, capacity);
+        this.top = Math.max(1, Math.min(top, this.capacity));
+        this.precision = precision;
+        this.windowMillis = TimeUnit.SECONDS.toMillis(Math.max(1L, windowSeconds));
+        this.counters = new HashMap<>(2 * this.capacity);
+        this.heap = new Counter[this.capacity];
+
+        // Fails fast on an invalid precision
+        new HyperLogLog(precision);
+
+        this.clicksGauge = MultiGauge.builder("shortener.hot-codes.clicks")
+                .description("Redirects of the most redirected codes in the last complete window (upper bound)")
+                .register(meterRegistry);
+
+        this.distinctIpsGauge = MultiGauge.builder("shortener.hot-codes.distinct-ips")
+                .description("Estimated distinct client IPs of the most redirected codes in the last complete window")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The hottest codes of the window in progress (as of the last
+     * publish) and of the last complete window.
+     */
+    public HotCodesResponse snapshot() {
+        return new HotCodesResponse(TimeUnit.MILLISECONDS.toSeconds(windowMillis), current, previous);
+    }
+
+    /**
+     * Counts one redirect. Aggregator thread only.
+     *
+     * @param clientIp client address, or null when unknown
+     */
+    public void offer(String code, String clientIp, long timestampMillis) {
+        if (windowStart == Long.MIN_VALUE || timestampMillis - windowStart >= windowMillis) {
+            rotate(timestampMillis);
+        }
+        windowClicks++;
+
+        Counter counter = counters.get(code);
+        if (counter != null) {
+            counter.count++;
+            siftDown(counter.index);
+        } else if (size < capacity) {
+            counter = heap[size] != null ? heap[size] : new Counter(precision);
+            counter.reset(code, 1, 0);
+            heap[size] = counter;
+            counter.index = size;
+            size++;
+            siftUp(counter.index);
+            counters.put(code, counter);
+        } else {
+            // Take over the smallest counter; its count bounds the overcount
+            counter = heap[0];
+            counters.remove(counter.code);
+            counter.reset(code, counter.count + 1, counter.count);
+            counters.put(code, counter);
+            siftDown(0);
+        }
+
+        if (clientIp != null) {
+            counter.ips.offer(clientIp);
+        }
+    }
+
+    /**
+     * Completes the window once it has ended and publishes a snapshot
+     * of the current one when due. Aggregator thread only.
+     */
+    public void advance(long nowMillis) {
+        if (windowStart != Long.MIN_VALUE && nowMillis - windowStart >= windowMillis) {
+            rotate(nowMillis);
+        }
+        if (nowMillis >= nextPublish) {
+            current = windowStart == Long.MIN_VALUE ? null : summarize(nowMillis);
+            nextPublish = nowMillis + PUBLISH_INTERVAL_MILLIS;
+        }
+    }
+
+    private void rotate(long nowMillis) {
+        if (windowStart != Long.MIN_VALUE) {
+            HotCodesResponse.Window completed = summarize(windowStart + windowMillis);
+            previous = completed;
+            exportGauges(completed);
+        }
+
+        counters.clear();
+        size = 0;
+        windowClicks = 0;
+        windowStart = nowMillis - Math.floorMod(nowMillis, windowMillis);
+        current = summarize(nowMillis);
+    }
+
+    private HotCodesResponse.Window summarize(long endMillis) {
+        Counter[] ranked = Arrays.copyOf(heap, size);
+        Arrays.sort(ranked, MOST_CLICKS);
+
+        List<HotCodesResponse.HotCode> codes = new ArrayList<>(Math.min(top, size));
+        for (int i = 0; i < Math.min(top, size); i++) {
+            Counter counter = ranked[i];
+            codes.add(new HotCodesResponse.HotCode(counter.code, counter.count, counter.error,
+                    counter.ips.estimate()));
+        }
+
+        return new HotCodesResponse.Window(Instant.ofEpochMilli(windowStart), Instant.ofEpochMilli(endMillis),
+                windowClicks, codes);
+    }
+
+    private void exportGauges(HotCodesResponse.Window window) {
+        List<MultiGauge.Row<?>> clicks = new ArrayList<>();
+        List<MultiGauge.Row<?>> distinctIps = new ArrayList<>();
+        for (HotCodesResponse.HotCode code : window.getCodes()) {
+            clicks.add(MultiGauge.Row.of(Tags.of("code", code.getCode()), code.getClicks()));
+            distinctIps.add(MultiGauge.Row.of(Tags.of("code", code.getCode()), code.getDistinctIps()));
+        }
+        // Codes no longer in the top are removed
+        clicksGauge.register(clicks, true);
+        distinctIpsGauge.register(distinctIps, true);
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (heap[child].count >= counter.count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter counter, int index) {
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    /**
+     * One Space-Saving counter; reused across codes and windows.
+     */
+    private static final class Counter {
+
+        String code;
+
+        long count;
+
+        // Count inherited from the code this counter replaced
+        long error;
+
+        // Position in the heap
+        int index;
+
+        final HyperLogLog ips;
+
+        Counter(int precision) {
+            this.ips = new HyperLogLog(precision);
+        }
+
+        void reset(String code, long count, long error) {
+            this.code = code;
+            this.count = count;
+            this.error = error;
+            ips.clear();
+        }
+    }
+}
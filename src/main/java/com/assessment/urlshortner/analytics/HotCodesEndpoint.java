@@ -0,0 +1,27 @@
+package com.assessment.urlshortner.analytics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.assessment.urlshortner.dto.HotCodesResponse;
+
+/**
+ * Description: Admin view of the most redirected codes and their
+ *              distinct client IPs, at GET /actuator/hotcodes.
+ */
+@Component
+@Endpoint(id = "hotcodes")
+public class HotCodesEndpoint {
+
+    private final HotCodeTracker hotCodeTracker;
+
+    public HotCodesEndpoint(HotCodeTracker hotCodeTracker) {
+        this.hotCodeTracker = hotCodeTracker;
+    }
+
+    @ReadOperation
+    public HotCodesResponse hotCodes() {
+        return hotCodeTracker.snapshot();
+    }
+}
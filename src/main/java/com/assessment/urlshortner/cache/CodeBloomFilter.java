@@ -0,0 +1,243 @@
+package com.assessment.urlshortner.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assessment.urlshortner.repository.UrlMappingRepository;
+import com.assessment.urlshortner.utils.BloomFilter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Description: In-memory Bloom filter of all short codes.
+ *
+ *              Lets code allocation skip the existence query in the
+ *              common case (a code taken meanwhile by another node
+ *              fails the insert, which callers retry), and lets the
+ *              redirect path reject definitely-unknown codes when the
+ *              filter is authoritative. Built at startup with a streaming scan
+ *              of url_mappings; until then every code "might exist"
+ *              and callers fall through to the database.
+ *
+ *              Codes created on this node are added on commit. Codes
+ *              created by other nodes are picked up by a periodic
+ *              incremental scan by ID, so they become visible here
+ *              within shortener.bloom.refresh-interval-ms, or later
+ *              when committed more than refresh-overlap IDs out of
+ *              order. A miss is therefore only final when this node is
+ *              the only writer (shortener.bloom.authoritative=true);
+ *              otherwise redirects still query the database. Deleted
+ *              codes cannot be removed; the filter is rebuilt after
+ *              cleanup to shed them.
+ */
+@Component
+public class CodeBloomFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CodeBloomFilter.class);
+
+    private final UrlMappingRepository urlMappingRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final boolean enabled;
+
+    // Whether all codes are created on this node, so a miss is final
+    private final boolean authoritative;
+
+    private final long expectedInsertions;
+
+    private final double fpp;
+
+    // IDs re-scanned below the last synced ID, to catch rows committed out of ID order
+    private final long refreshOverlap;
+
+    // Filter used for lookups; null until the first build completes
+    private volatile BloomFilter filter;
+
+    // Filter being rebuilt; receives new codes too so none are missed
+    private volatile BloomFilter building;
+
+    // Highest url_mappings ID reflected in the filter
+    private volatile long syncedToId;
+
+    // Serialises scans (initial build, rebuilds and refreshes)
+    private final ReentrantLock scanLock = new ReentrantLock();
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private final Counter rejections;
+
+    public CodeBloomFilter(
+            UrlMappingRepository urlMappingRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${shortener.bloom.enabled:true}") boolean enabled,
+            @Value("${shortener.bloom.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${shortener.bloom.fpp:0.01}") double fpp,
+            @Value("${shortener.bloom.refresh-overlap:1000}") long refreshOverlap,
+            @Value("${shortener.bloom.authoritative:false}") boolean authoritative) {
+
+        this.urlMappingRepository = urlMappingRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.refreshOverlap = refreshOverlap;
+        this.authoritative = enabled && authoritative;
+
+        this.rejections = Counter.builder("shortener.bloom.rejections")
+                .description("Lookups answered as definitely absent without a database query")
+                .register(meterRegistry);
+
+        Gauge.builder("shortener.bloom.fpp", this, bloom -> {
+                    BloomFilter current = bloom.filter;
+                    return current == null ? 1.0 : current.expectedFpp();
+                })
+                .description("Estimated false positive probability of the code Bloom filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns false only when the code definitely does not exist.
+     */
+    public boolean mightExist(String code) {
+        BloomFilter current = filter;
+
+        if (current == null || current.mightContain(code)) {
+            return true;
+        }
+
+        rejections.increment();
+        return false;
+    }
+
+    /**
+     * Returns true only when the code definitely does not exist and
+     * the filter knows every code, so a lookup may be answered
+     * without a query. Always false unless authoritative: codes
+     * created by other nodes may not have been pulled in yet.
+     */
+    public boolean isDefinitelyAbsent(String code) {
+        return authoritative && !mightExist(code);
+    }
+
+    /**
+     * Records a newly created code. Call after the creating transaction commits.
+     */
+    public void add(String code) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(code);
+        }
+
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(code);
+        }
+    }
+
+    /**
+     * Builds the filter in the background once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        requestRebuild();
+    }
+
+    /**
+     * Schedules an asynchronous rebuild, e.g. after expired codes were deleted.
+     */
+    public void requestRebuild() {
+        if (!enabled || !rebuildScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        Thread thread = new Thread(this::rebuild, "code-bloom-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Adds codes inserted since the last scan, including those created by other nodes.
+     */
+    @Scheduled(fixedDelayString = "${shortener.bloom.refresh-interval-ms:1000}")
+    public void refresh() {
+        BloomFilter current = filter;
+
+        if (current == null || !scanLock.tryLock()) {
+            return;
+        }
+
+        try {
+            Long maxId = readOnlyTransaction.execute(status -> urlMappingRepository.findMaxId());
+            if (maxId == null) {
+                return;
+            }
+
+            long fromId = Math.max(0L, syncedToId - refreshOverlap);
+            scan(current, fromId, maxId);
+            syncedToId = Math.max(syncedToId, maxId);
+
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh code Bloom filter: {}", e.getMessage());
+        } finally {
+            scanLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        scanLock.lock();
+        try {
+            rebuildScheduled.set(false);
+
+            long existing = readOnlyTransaction.execute(status -> urlMappingRepository.count());
+            BloomFilter next = BloomFilter.create(Math.max(expectedInsertions, existing * 2), fpp);
+            building = next;
+
+            Long maxId = readOnlyTransaction.execute(status -> urlMappingRepository.findMaxId());
+            long toId = maxId == null ? 0L : maxId;
+            long loaded = scan(next, 0L, toId);
+
+            filter = next;
+            syncedToId = toId;
+
+            logger.info("Built code Bloom filter with {} codes ({} bits)", loaded, next.bitSize());
+
+        } catch (RuntimeException e) {
+            logger.warn("Failed to build code Bloom filter: {}", e.getMessage());
+        } finally {
+            building = null;
+            scanLock.unlock();
+        }
+    }
+
+    /**
+     * Streams codes with IDs in (fromId, toId] into the filter.
+     */
+    private long scan(BloomFilter target, long fromId, long toId) {
+        Long loaded = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<String> codes = urlMappingRepository.streamCodesInIdRange(fromId, toId)) {
+                for (String code : (Iterable<String>) codes::iterator) {
+                    target.put(code);
+                    count++;
+                }
+            }
+            return count;
+        });
+        return loaded == null ? 0L : loaded;
+    }
+}
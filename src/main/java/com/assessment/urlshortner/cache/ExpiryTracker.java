@@ -0,0 +1,174 @@
+package com.assessment.urlshortner.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.assessment.urlshortner.event.ExpiredUrlsReapedEvent;
+import com.assessment.urlshortner.utils.HierarchicalTimingWheel;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Description: Tracks expiry of recently created and recently
+ *              resolved mappings on a hierarchical timing wheel.
+ *
+ *              When a tracked mapping expires (within one tick of its
+ *              expiresAt), its redirect cache entry is replaced by an
+ *              expired marker, so lookups reject it without a database
+ *              query or clock read, and its code is queued as an exact
+ *              candidate for the expiry reaper.
+ */
+@Component
+public class ExpiryTracker {
+
+    private final RedirectCache redirectCache;
+
+    private final boolean enabled;
+
+    // Upper bound on tracked codes; beyond it mappings are left to the reaper's scan
+    private final int maxTracked;
+
+    // Upper bound on queued reaper candidates
+    private final int maxCandidates;
+
+    private final HierarchicalTimingWheel<String> wheel;
+
+    // Tracked code -> expiresAt millis; guards against stale and duplicate wheel entries
+    private final Map<String, Long> tracked = new ConcurrentHashMap<>();
+
+    // Expired codes not yet handed to the reaper
+    private final Queue<String> candidates = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger candidateCount = new AtomicInteger();
+
+    private final Counter expiredCounter;
+
+    public ExpiryTracker(
+            RedirectCache redirectCache,
+            MeterRegistry meterRegistry,
+            @Value("${shortener.expiry.enabled:true}") boolean enabled,
+            @Value("${shortener.expiry.tick-ms:1000}") long tickMillis,
+            @Value("${shortener.expiry.wheel-levels:4}") int wheelLevels,
+            @Value("${shortener.expiry.max-tracked:1000000}") int maxTracked,
+            @Value("${shortener.expiry.max-candidates:100000}") int maxCandidates) {
+
+        this.redirectCache = redirectCache;
+        this.enabled = enabled;
+        this.maxTracked = maxTracked;
+        this.maxCandidates = maxCandidates;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, wheelLevels, System.currentTimeMillis());
+
+        this.expiredCounter = Counter.builder("shortener.expiry.fired")
+                .description("Tracked mappings that expired in memory")
+                .register(meterRegistry);
+
+        Gauge.builder("shortener.expiry.tracked", tracked, Map::size)
+                .description("Mappings whose expiry is tracked in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts tracking a mapping's expiry. Mappings without expiry,
+     * or already tracked with the same expiry, are ignored.
+     */
+    public void track(String code, Instant expiresAt) {
+        if (!enabled || expiresAt == null) {
+            return;
+        }
+
+        long deadline = expiresAt.toEpochMilli();
+        Long previous = tracked.get(code);
+        if ((previous != null && previous == deadline) || (previous == null && tracked.size() >= maxTracked)) {
+            return;
+        }
+        tracked.put(code, deadline);
+
+        boolean scheduled;
+        synchronized (wheel) {
+            scheduled = wheel.schedule(code, deadline);
+        }
+        if (!scheduled) {
+            expire(code, deadline);
+        }
+    }
+
+    /**
+     * Fires every tracked expiry that is now due.
+     */
+    @Scheduled(fixedDelayString = "${shortener.expiry.tick-ms:1000}")
+    public void advance() {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> dueCodes = new ArrayList<>();
+        List<Long> dueDeadlines = new ArrayList<>();
+
+        synchronized (wheel) {
+            wheel.advance(System.currentTimeMillis(), (code, deadline) -> {
+                dueCodes.add(code);
+                dueDeadlines.add(deadline);
+            });
+        }
+
+        for (int i = 0; i < dueCodes.size(); i++) {
+            expire(dueCodes.get(i), dueDeadlines.get(i));
+        }
+    }
+
+    /**
+     * Removes and returns up to {@code max} expired codes for deletion.
+     */
+    public List<String> drainCandidates(int max) {
+        List<String> codes = new ArrayList<>(Math.min(max, candidateCount.get()));
+        String code;
+        while (codes.size() < max && (code = candidates.poll()) != null) {
+            candidateCount.decrementAndGet();
+            codes.add(code);
+        }
+        return codes;
+    }
+
+    /**
+     * Whether a code is currently tracked.
+     */
+    public boolean isTracked(String code) {
+        return tracked.containsKey(code);
+    }
+
+    /**
+     * Stops tracking codes deleted by the expiry reaper.
+     */
+    @EventListener
+    public void onExpiredUrlsReaped(ExpiredUrlsReapedEvent event) {
+        tracked.keySet().removeAll(event.getCodes());
+    }
+
+    private void expire(String code, long deadline) {
+        // Ignore wheel entries superseded by a later track() of the same code
+        if (!tracked.remove(code, deadline)) {
+            return;
+        }
+
+        expiredCounter.increment();
+        redirectCache.putExpired(code);
+
+        if (candidateCount.incrementAndGet() <= maxCandidates) {
+            candidates.add(code);
+        } else {
+            candidateCount.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.assessment.urlshortner.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import com.assessment.urlshortner.event.ExpiredUrlsReapedEvent;
+import com.assessment.urlshortner.model.RedirectTarget;
+import com.assessment.urlshortner.utils.RedirectHeaders;
+import com.assessment.urlshortner.utils.SlidingWindowSketch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: Writes redirect responses: status, Location and
+ *              Cache-Control, from a small table of ready-to-write
+ *              responses for the most frequently redirected codes.
+ *
+ *              A prepared response holds the status, the final,
+ *              ASCII-safe Location header value and the Cache-Control
+ *              value, so writing it sets three fields on the servlet
+ *              response and allocates nothing. Cache-Control max-age
+ *              is capped by shortener.redirect.max-age-seconds
+ *              (permanent-max-age-seconds for 301 / 308) and by the
+ *              mapping's expiry; a prepared value is recomputed once
+ *              the remaining lifetime drops below it.
+ *              Codes are admitted once they have been redirected
+ *              shortener.redirect.prepared.min-hits times within the
+ *              sliding window (counted in a SlidingWindowSketch), and
+ *              evicted with the CLOCK algorithm: a lookup marks its
+ *              entry, and admission replaces the first unmarked entry
+ *              after the hand, unmarking the ones it passes.
+ *
+ *              The table only memoizes rendering. Callers resolve the
+ *              code first (expiry, not found, hit counting stay in
+ *              UrlMappingService) and an entry is used only while it
+ *              matches the resolved target.
+ */
+@Component
+public class PreparedRedirects {
+
+    // Rows of the admission sketch
+    private static final int SKETCH_DEPTH = 4;
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final boolean enabled;
+
+    private final long minHits;
+
+    // Cache-Control max-age caps for temporary (302) and permanent (301, 308) redirects
+    private final long maxAgeSeconds;
+
+    private final long permanentMaxAgeSeconds;
+
+    private final SlidingWindowSketch frequencies;
+
+    // code -> prepared response; the slots below own the entries
+    private final Map<String, PreparedRedirect> index;
+
+    // CLOCK ring, guarded by this
+    private final PreparedRedirect[] slots;
+
+    private int hand;
+
+    private final Counter admissions;
+
+    public PreparedRedirects(
+            MeterRegistry meterRegistry,
+            @Value("${shortener.redirect.prepared.enabled:true}") boolean enabled,
+            @Value("${shortener.redirect.prepared.max-size:1024}") int maxSize,
+            @Value("${shortener.redirect.prepared.min-hits:8}") long minHits,
+            @Value("${shortener.redirect.prepared.window-seconds:60}") long windowSeconds,
+            @Value("${shortener.redirect.max-age-seconds:300}") long maxAgeSeconds,
+            @Value("${shortener.redirect.permanent-max-age-seconds:86400}") long permanentMaxAgeSeconds) {
+
+        this.enabled = enabled && maxSize > 0;
+        this.minHits = minHits;
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.permanentMaxAgeSeconds = permanentMaxAgeSeconds;
+        this.slots = new PreparedRedirect[Math.max(1, maxSize)];
+        this.index = new ConcurrentHashMap<>(2 * slots.length);
+        // A few counters per slot keeps overcounting of cold codes low
+        this.frequencies = new SlidingWindowSketch(
+                TimeUnit.SECONDS.toMillis(windowSeconds), 16 * slots.length, SKETCH_DEPTH);
+
+        this.admissions = Counter.builder("shortener.redirect.prepared.admissions")
+                .description("Codes added to the prepared redirect table")
+                .register(meterRegistry);
+
+        Gauge.builder("shortener.redirect.prepared.size", index, Map::size)
+                .description("Codes with a prepared redirect response")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Writes the redirect for the target a code resolved to,
+     * from the prepared response when the code is hot.
+     */
+    public void write(String code, RedirectTarget target, HttpServletResponse response) {
+        PreparedRedirect prepared = enabled ? lookup(code, target) : null;
+
+        if (prepared != null) {
+            prepared.writeTo(response);
+        } else {
+            response.setStatus(target.getRedirectStatus());
+            response.setHeader(HttpHeaders.LOCATION, toLocation(target.getLongUrl()));
+            response.setHeader(HttpHeaders.CACHE_CONTROL,
+                    cacheControl(target, System.currentTimeMillis()).value);
+        }
+    }
+
+    /**
+     * Whether a code currently has a prepared response.
+     */
+    public boolean contains(String code) {
+        return index.containsKey(code);
+    }
+
+    /**
+     * Number of prepared responses currently held.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Drops the codes of mappings deleted by the expiry reaper.
+     */
+    @EventListener
+    public void onExpiredUrlsReaped(ExpiredUrlsReapedEvent event) {
+        for (String code : event.getCodes()) {
+            PreparedRedirect prepared = index.get(code);
+            if (prepared != null) {
+                synchronized (this) {
+                    remove(prepared);
+                }
+            }
+        }
+    }
+
+    private PreparedRedirect lookup(String code, RedirectTarget target) {
+        PreparedRedirect prepared = index.get(code);
+
+        if (prepared != null && prepared.matches(target)) {
+            // Avoid a write to a shared line when already marked
+            if (!prepared.referenced) {
+                prepared.referenced = true;
+            }
+            return prepared;
+        }
+
+        if (frequencies.incrementAndEstimate(code, System.currentTimeMillis()) < minHits) {
+            return null;
+        }
+        return admit(code, target);
+    }
+
+    private synchronized PreparedRedirect admit(String code, RedirectTarget target) {
+        PreparedRedirect current = index.get(code);
+        if (current != null) {
+            if (current.matches(target)) {
+                return current;
+            }
+            // Code now points elsewhere: drop the stale response
+            remove(current);
+        }
+
+        // Two passes at most: the first may only clear marks
+        for (int i = 0; i < 2 * slots.length; i++) {
+            PreparedRedirect victim = slots[hand];
+
+            if (victim == null || !victim.referenced) {
+                if (victim != null) {
+                    index.remove(victim.code, victim);
+                }
+
+                PreparedRedirect prepared = new PreparedRedirect(code, target, hand,
+                        cacheControl(target, System.currentTimeMillis()));
+                slots[hand] = prepared;
+                index.put(code, prepared);
+                admissions.increment();
+
+                hand = (hand + 1) % slots.length;
+                return prepared;
+            }
+
+            victim.referenced = false;
+            hand = (hand + 1) % slots.length;
+        }
+        return null;
+    }
+
+    // Caller holds the lock
+    private void remove(PreparedRedirect prepared) {
+        if (slots[prepared.slot] == prepared) {
+            slots[prepared.slot] = null;
+        }
+        index.remove(prepared.code, prepared);
+    }
+
+    private CacheControl cacheControl(RedirectTarget target, long nowMillis) {
+        long cap = RedirectHeaders.isPermanent(target.getRedirectStatus()) ? permanentMaxAgeSeconds : maxAgeSeconds;
+        long maxAge = RedirectHeaders.maxAgeSeconds(target.getExpiresAt(), cap, nowMillis);
+
+        return new CacheControl(RedirectHeaders.cacheControl(maxAge),
+                RedirectHeaders.maxAgeValidUntil(target.getExpiresAt(), maxAge));
+    }
+
+    /**
+     * Location header value for a long URL: the URL itself when it is
+     * printable ASCII, otherwise with other characters percent-encoded
+     * as UTF-8 (header values are sent as ISO-8859-1).
+     */
+    static String toLocation(String longUrl) {
+        int first = 0;
+        while (first < longUrl.length() && isPrintableAscii(longUrl.charAt(first))) {
+            first++;
+        }
+        if (first == longUrl.length()) {
+            return longUrl;
+        }
+
+        StringBuilder location = new StringBuilder(longUrl.length() + 16).append(longUrl, 0, first);
+        int i = first;
+        while (i < longUrl.length()) {
+            char c = longUrl.charAt(i);
+            if (isPrintableAscii(c)) {
+                location.append(c);
+                i++;
+                continue;
+            }
+
+            int end = i + (Character.isHighSurrogate(c) && i + 1 < longUrl.length() ? 2 : 1);
+            for (byte b : longUrl.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+                location.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+            }
+            i = end;
+        }
+        return location.toString();
+    }
+
+    private static boolean isPrintableAscii(char c) {
+        return c > 0x20 && c < 0x7F;
+    }
+
+    /**
+     * A Cache-Control value and the last time it may be sent.
+     */
+    private static final class CacheControl {
+
+        final String value;
+
+        final long validUntilMillis;
+
+        CacheControl(String value, long validUntilMillis) {
+            this.value = value;
+            this.validUntilMillis = validUntilMillis;
+        }
+    }
+
+    /**
+     * A redirect response ready to be written.
+     */
+    private final class PreparedRedirect {
+
+        final String code;
+
+        final RedirectTarget target;
+
+        final String location;
+
+        // Position in the CLOCK ring
+        final int slot;
+
+        // Replaced when max-age must shrink towards the mapping's expiry
+        volatile CacheControl cacheControl;
+
+        // CLOCK reference bit
+        volatile boolean referenced;
+
+        PreparedRedirect(String code, RedirectTarget target, int slot, CacheControl cacheControl) {
+            this.code = code;
+            this.target = target;
+            this.location = toLocation(target.getLongUrl());
+            this.slot = slot;
+            this.cacheControl = cacheControl;
+        }
+
+        // Same instance while cached; equal fields when the cache is off
+        boolean matches(RedirectTarget other) {
+            return target == other
+                    || (target.getRedirectStatus() == other.getRedirectStatus()
+                        && target.getLongUrl().equals(other.getLongUrl())
+                        && Objects.equals(target.getExpiresAt(), other.getExpiresAt()));
+        }
+
+        void writeTo(HttpServletResponse response) {
+            CacheControl current = cacheControl;
+            if (current.validUntilMillis != Long.MAX_VALUE) {
+                long now = System.currentTimeMillis();
+                if (now > current.validUntilMillis) {
+                    current = cacheControl(target, now);
+                    cacheControl = current;
+                }
+            }
+
+            response.setStatus(target.getRedirectStatus());
+            response.setHeader(HttpHeaders.LOCATION, location);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, current.value);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.assessment.urlshortner.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.assessment.urlshortner.event.ExpiredUrlsReapedEvent;
+import com.assessment.urlshortner.model.RedirectTarget;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: Bounded in-process read-through cache of
+ *              code -> redirect target used on the redirect path.
+ *
+ *              Entries are evicted by size and by TTL; an entry never
+ *              outlives the expiry of the mapping it describes.
+ *              Unknown codes are cached as negative entries with a
+ *              shorter TTL so repeated lookups of bogus codes do not
+ *              reach the database. Codes whose mapping expired are
+ *              cached as expired entries (see ExpiryTracker), so a
+ *              cached live entry never needs a clock read on lookup.
+ */
+@Component
+public class RedirectCache {
+
+    // Sentinel stored for codes that do not exist (negative caching)
+    private static final RedirectTarget NOT_FOUND = new RedirectTarget(null, null, null);
+
+    // Sentinel stored for codes whose mapping has expired
+    private static final RedirectTarget EXPIRED = new RedirectTarget(null, null, null);
+
+    // Name used for the exported cache metrics
+    private static final String CACHE_NAME = "redirect";
+
+    private final boolean enabled;
+
+    private final Cache<String, RedirectTarget> cache;
+
+    public RedirectCache(
+            @Value("${shortener.cache.enabled:true}") boolean enabled,
+            @Value("${shortener.cache.max-size:100000}") long maxSize,
+            @Value("${shortener.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${shortener.cache.negative-ttl-seconds:30}") long negativeTtlSeconds,
+            MeterRegistry meterRegistry) {
+
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TargetExpiry(
+                        TimeUnit.SECONDS.toNanos(ttlSeconds),
+                        TimeUnit.SECONDS.toNanos(negativeTtlSeconds)))
+                .recordStats()
+                .build();
+
+        // Exports cache.gets{result=hit|miss}, cache.evictions, cache.size, ...
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached target for a code, {@code null} when the
+     * code is not cached. Use {@link #isNotFound(RedirectTarget)} to
+     * detect a cached negative entry.
+     */
+    public RedirectTarget getIfPresent(String code) {
+        if (!enabled) {
+            return null;
+        }
+        return cache.getIfPresent(code);
+    }
+
+    /**
+     * Caches a resolved redirect target.
+     */
+    public void put(String code, RedirectTarget target) {
+        if (enabled) {
+            cache.put(code, target);
+        }
+    }
+
+    /**
+     * Caches the fact that a code does not exist.
+     */
+    public void putNotFound(String code) {
+        if (enabled) {
+            cache.put(code, NOT_FOUND);
+        }
+    }
+
+    /**
+     * Caches the fact that a code's mapping has expired.
+     */
+    public void putExpired(String code) {
+        if (enabled) {
+            cache.put(code, EXPIRED);
+        }
+    }
+
+    /**
+     * Whether the given cached value is a negative entry.
+     */
+    public static boolean isNotFound(RedirectTarget target) {
+        return target == NOT_FOUND;
+    }
+
+    /**
+     * Whether the given cached value marks an expired mapping.
+     */
+    public static boolean isExpired(RedirectTarget target) {
+        return target == EXPIRED;
+    }
+
+    /**
+     * Removes a single code, e.g. after it was created or deleted.
+     */
+    public void invalidate(String code) {
+        cache.invalidate(code);
+    }
+
+    /**
+     * Removes the codes of mappings deleted by the expiry reaper.
+     */
+    @EventListener
+    public void onExpiredUrlsReaped(ExpiredUrlsReapedEvent event) {
+        cache.invalidateAll(event.getCodes());
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Variable expiry: negative entries use the negative TTL, expired
+     * entries the configured TTL, and positive entries the configured
+     * TTL capped at the mapping's own expiry.
+     */
+    private static final class TargetExpiry implements Expiry<String, RedirectTarget> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        TargetExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String code, RedirectTarget target, long currentTime) {
+            if (target == NOT_FOUND) {
+                return negativeTtlNanos;
+            }
+            if (target == EXPIRED || target.getExpiresAt() == null) {
+                return ttlNanos;
+            }
+            long remainingMillis = target.getExpiresAt().toEpochMilli() - System.currentTimeMillis();
+            return Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMillis)));
+        }
+
+        @Override
+        public long expireAfterUpdate(String code, RedirectTarget target,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(code, target, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String code, RedirectTarget target,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.assessment.urlshortner.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AccessLogConfig {
+
+    // Runs before the rate limits (order 1) so rejected requests are logged
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilterRegistration(
+            AccessLogFilter filter) {
+
+        FilterRegistrationBean<AccessLogFilter> registration =
+                new FilterRegistrationBean<>();
+
+        registration.setFilter(filter);
+        registration.addUrlPatterns("/r/*", "/api/*");
+        registration.setOrder(0);
+
+        return registration;
+    }
+}
@@ -0,0 +1,56 @@
+package com.assessment.urlshortner.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.assessment.urlshortner.accesslog.AccessLogWriter;
+
+import java.io.IOException;
+
+/**
+ * Description: Hands one access log line per request (client IP,
+ *              method, path, status, response time) to the
+ *              asynchronous AccessLogWriter. Runs outside the rate
+ *              limiting filters, so rejected requests are logged too.
+ */
+@Component
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLogWriter accessLogWriter;
+
+    public AccessLogFilter(AccessLogWriter accessLogWriter) {
+        this.accessLogWriter = accessLogWriter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!accessLogWriter.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        boolean failed = true;
+
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            // An exception escaping the chain becomes a 500 further out
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+
+            accessLogWriter.log(startMillis, request.getRemoteAddr(), request.getMethod(),
+                    request.getRequestURI(), status, (System.nanoTime() - startNanos) / 1_000_000);
+        }
+    }
+}
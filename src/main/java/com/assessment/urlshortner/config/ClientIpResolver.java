@@ -0,0 +1,43 @@
+package com.assessment.urlshortner.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Description: Resolves the client address of a request on the
+ *              redirect path, for the redirect rate limits and the
+ *              distinct client IPs of the hot codes.
+ *
+ *              When rate.limit.redirect.client-ip-header names a header
+ *              set by a trusted load balancer, its last entry is used:
+ *              that is the one the balancer appended, earlier entries
+ *              come from the client. Otherwise, or when the header is
+ *              absent, the connection's remote address is used.
+ */
+@Component
+public class ClientIpResolver {
+
+    // Empty to use the connection's address
+    private final String header;
+
+    public ClientIpResolver(@Value("${rate.limit.redirect.client-ip-header:}") String header) {
+        this.header = header == null ? "" : header.trim();
+    }
+
+    /**
+     * Returns the client address of a request.
+     */
+    public String resolve(HttpServletRequest request) {
+        if (header.isEmpty()) {
+            return request.getRemoteAddr();
+        }
+
+        String forwarded = request.getHeader(header);
+        if (forwarded == null || forwarded.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        return forwarded.substring(forwarded.lastIndexOf(',') + 1).trim();
+    }
+}
@@ -0,0 +1,65 @@
+package com.assessment.urlshortner.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Description: Wraps the DataSource in a ConnectionLimitingDataSource
+ *              sized to the connection pool.
+ *
+ *              Always on with virtual threads (shortener.threads.virtual),
+ *              where request concurrency is no longer bounded by the
+ *              Tomcat thread pool; otherwise opt in with
+ *              shortener.jdbc.connection-limit.enabled.
+ */
+@Configuration
+@ConditionalOnExpression("${shortener.jdbc.connection-limit.enabled:false} or ${shortener.threads.virtual:false}")
+public class ConnectionLimitConfig {
+
+    // Static: post-processors are created before regular beans
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            Environment environment) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+
+                // Defaults to the pool size, so waiting happens here rather than inside the pool
+                int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                int maxConcurrent = environment.getProperty(
+                        "shortener.jdbc.connection-limit.max-concurrent", Integer.class, poolSize);
+                long acquireTimeoutMs = environment.getProperty(
+                        "shortener.jdbc.connection-limit.acquire-timeout-ms", Long.class, 30_000L);
+
+                return new ConnectionLimitingDataSource(dataSource, maxConcurrent, acquireTimeoutMs);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionLimitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionLimitingDataSource limited) {
+                Gauge.builder("shortener.jdbc.connections.active", limited,
+                                ConnectionLimitingDataSource::getActiveConnections)
+                        .description("Connections held through the connection limit")
+                        .register(registry);
+                Gauge.builder("shortener.jdbc.connections.waiting", limited,
+                                ConnectionLimitingDataSource::getWaitingThreads)
+                        .description("Threads waiting for a connection at the connection limit")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -20,4 +20,18 @@ public class RateLimitConfig {
 
         return registration;
     }
+
+    @Bean
+    public FilterRegistrationBean<RedirectRateLimitingFilter> redirectRateLimitingFilterRegistration(
+            RedirectRateLimitingFilter filter) {
+
+        FilterRegistrationBean<RedirectRateLimitingFilter> registration =
+                new FilterRegistrationBean<>();
+
+        registration.setFilter(filter);
+        registration.addUrlPatterns("/r/*");
+        registration.setOrder(1);
+
+        return registration;
+    }
 }
@@ -1,8 +1,7 @@
 package com.assessment.urlshortner.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,22 +11,22 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.assessment.urlshortner.ratelimit.RateLimiter;
+import com.assessment.urlshortner.utils.ShortenerMetrics;
+
 import java.io.IOException;
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class RateLimitingFilter extends OncePerRequestFilter {
 
-    // One bucket per IP (in-memory)
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    // One bucket per IP
+    private final RateLimiter rateLimiter;
 
-    @Value("${rate.limit.tokens}")
-    private int maxTokens;
+    // Time taken by allowed and rejected rate-limit decisions
+    private final Timer allowedTimer;
 
-    @Value("${rate.limit.refill-minutes}")
-    private int refillMinutes;
+    private final Timer rejectedTimer;
 
     @Value("${rate.limit.http-method}")
     private String httpMethod;
@@ -35,10 +34,17 @@ public class RateLimitingFilter extends OncePerRequestFilter {
     @Value("${rate.limit.path}")
     private String path;
 
-    private Bucket newBucket() {
-        Refill refill = Refill.greedy(maxTokens, Duration.ofMinutes(refillMinutes));
-        Bandwidth limit = Bandwidth.classic(maxTokens, refill);
-        return Bucket.builder().addLimit(limit).build();
+    public RateLimitingFilter(RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.allowedTimer = decisionTimer(meterRegistry, "allowed");
+        this.rejectedTimer = decisionTimer(meterRegistry, "rejected");
+    }
+
+    private static Timer decisionTimer(MeterRegistry meterRegistry, String result) {
+        return ShortenerMetrics.latencyTimer("shortener.ratelimit.decision", "Time to decide whether a request is rate limited")
+                .tag("limiter", "api")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
     @Override
@@ -54,10 +60,11 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             return;
         }
 
-        String ip = request.getRemoteAddr();
-        Bucket bucket = buckets.computeIfAbsent(ip, k -> newBucket());
+        long start = System.nanoTime();
+        boolean allowed = rateLimiter.tryAcquire(request.getRemoteAddr());
+        (allowed ? allowedTimer : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
-        if (bucket.tryConsume(1)) {
+        if (allowed) {
             filterChain.doFilter(request, response);
         } else {
             response.setStatus(429);
@@ -0,0 +1,27 @@
+package com.assessment.urlshortner.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RedirectFastPathConfig {
+
+    // Runs after the redirect rate limit (order 1)
+    @Bean
+    public FilterRegistrationBean<RedirectFastPathFilter> redirectFastPathFilterRegistration(
+            RedirectFastPathFilter filter,
+            @Value("${shortener.redirect.fast-path.enabled:true}") boolean enabled) {
+
+        FilterRegistrationBean<RedirectFastPathFilter> registration =
+                new FilterRegistrationBean<>();
+
+        registration.setFilter(filter);
+        registration.addUrlPatterns("/r/*");
+        registration.setOrder(2);
+        registration.setEnabled(enabled);
+
+        return registration;
+    }
+}
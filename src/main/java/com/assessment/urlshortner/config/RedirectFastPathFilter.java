@@ -0,0 +1,103 @@
+package com.assessment.urlshortner.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.assessment.urlshortner.cache.PreparedRedirects;
+import com.assessment.urlshortner.exception.ApiException;
+import com.assessment.urlshortner.model.RedirectTarget;
+import com.assessment.urlshortner.service.UrlMappingService;
+import com.assessment.urlshortner.utils.UrlCodeGenerator;
+
+import java.io.IOException;
+
+/**
+ * Description: Serves successful GET /r/{code} redirects directly from
+ *              the filter chain, without going through the
+ *              DispatcherServlet (handler mapping, argument resolution,
+ *              ResponseEntity conversion).
+ *
+ *              Anything it cannot answer with a redirect (other methods,
+ *              malformed codes, unknown or expired codes) continues
+ *              down the chain to UrlRedirectController, which produces
+ *              the usual responses. For unknown and expired codes the
+ *              failed lookup is passed along in LOOKUP_FAILURE_ATTRIBUTE,
+ *              so the code is resolved (and counted) only once.
+ */
+@Component
+public class RedirectFastPathFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedirectFastPathFilter.class);
+
+    // Must match UrlRedirectController's mapping
+    static final String REDIRECT_PREFIX = "/r/";
+
+    // Request attribute holding the ApiException of a lookup that already failed
+    public static final String LOOKUP_FAILURE_ATTRIBUTE = RedirectFastPathFilter.class.getName() + ".lookupFailure";
+
+    private final UrlMappingService urlService;
+
+    private final UrlCodeGenerator urlCodeGenerator;
+
+    private final PreparedRedirects preparedRedirects;
+
+    private final ClientIpResolver clientIpResolver;
+
+    public RedirectFastPathFilter(UrlMappingService urlService, UrlCodeGenerator urlCodeGenerator,
+                                  PreparedRedirects preparedRedirects, ClientIpResolver clientIpResolver) {
+        this.urlService = urlService;
+        this.urlCodeGenerator = urlCodeGenerator;
+        this.preparedRedirects = preparedRedirects;
+        this.clientIpResolver = clientIpResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String code = redirectCode(request);
+        if (code == null || !urlCodeGenerator.isValidCode(code)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RedirectTarget target;
+        try {
+            // Counted and timed by the service
+            target = urlService.getRedirectTarget(code, clientIpResolver.resolve(request));
+        } catch (ApiException e) {
+            // Not found / expired: let the controller and exception handler respond
+            request.setAttribute(LOOKUP_FAILURE_ATTRIBUTE, e);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        logger.debug("Redirected short URL {} to long URL {}", code, target.getLongUrl());
+
+        preparedRedirects.write(code, target, response);
+    }
+
+    // The code of a GET /r/{code} request, or null for anything else
+    private static String redirectCode(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return null;
+        }
+
+        String uri = request.getRequestURI();
+        int prefixStart = request.getContextPath().length();
+        int start = prefixStart + REDIRECT_PREFIX.length();
+        if (!uri.startsWith(REDIRECT_PREFIX, prefixStart) || uri.indexOf('/', start) >= 0) {
+            return null;
+        }
+        return uri.substring(start);
+    }
+}
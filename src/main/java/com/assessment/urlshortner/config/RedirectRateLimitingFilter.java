@@ -0,0 +1,79 @@
+package com.assessment.urlshortner.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.assessment.urlshortner.ratelimit.RedirectRateLimiter;
+import com.assessment.urlshortner.utils.ShortenerMetrics;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RedirectRateLimitingFilter extends OncePerRequestFilter {
+
+    // Per-IP and per-code sliding-window limits
+    private final RedirectRateLimiter rateLimiter;
+
+    // Time taken by allowed and rejected rate-limit decisions
+    private final Timer allowedTimer;
+
+    private final Timer rejectedTimer;
+
+    @Value("${rate.limit.redirect.path:/r/}")
+    private String path;
+
+    private final ClientIpResolver clientIpResolver;
+
+    public RedirectRateLimitingFilter(RedirectRateLimiter rateLimiter, ClientIpResolver clientIpResolver,
+                                      MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.clientIpResolver = clientIpResolver;
+        this.allowedTimer = decisionTimer(meterRegistry, "allowed");
+        this.rejectedTimer = decisionTimer(meterRegistry, "rejected");
+    }
+
+    private static Timer decisionTimer(MeterRegistry meterRegistry, String result) {
+        return ShortenerMetrics.latencyTimer("shortener.ratelimit.decision", "Time to decide whether a request is rate limited")
+                .tag("limiter", "redirect")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // Apply only to redirect requests
+        String uri = request.getRequestURI();
+        if (!uri.startsWith(path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // The short code is the next path segment
+        int end = uri.indexOf('/', path.length());
+        String code = end < 0 ? uri.substring(path.length()) : uri.substring(path.length(), end);
+
+        long start = System.nanoTime();
+        boolean allowed = rateLimiter.tryAcquire(clientIpResolver.resolve(request), code);
+        (allowed ? allowedTimer : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (allowed) {
+            filterChain.doFilter(request, response);
+        } else {
+            response.setStatus(429);
+            response.getWriter().write("Too many requests. Please try again later.");
+        }
+    }
+}
@@ -7,18 +7,30 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.assessment.urlshortner.analytics.ClickGranularity;
+import com.assessment.urlshortner.dto.BatchUrlMappingRequest;
+import com.assessment.urlshortner.dto.BatchUrlMappingResponse;
+import com.assessment.urlshortner.dto.ClickStatsResponse;
 import com.assessment.urlshortner.dto.UrlMappingMetadataResponse;
 import com.assessment.urlshortner.dto.UrlMappingRequest;
 import com.assessment.urlshortner.dto.UrlMappingResponse;
+import com.assessment.urlshortner.service.BatchUrlMappingService;
+import com.assessment.urlshortner.service.ClickStatsService;
 import com.assessment.urlshortner.service.UrlMappingService;
+import com.assessment.urlshortner.utils.RedirectHeaders;
 
 import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,8 +50,25 @@ public class UrlMappingController {
 
     private final UrlMappingService urlMappingService;
 
-    public UrlMappingController(UrlMappingService urlMappingService) {
+    private final BatchUrlMappingService batchUrlMappingService;
+
+    private final ClickStatsService clickStatsService;
+
+    // Maximum number of URLs accepted by the batch endpoint
+    @Value("${shortener.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    // Maximum number of buckets a stats request may span
+    @Value("${shortener.analytics.max-buckets:10000}")
+    private long maxStatsBuckets;
+
+    public UrlMappingController(
+            UrlMappingService urlMappingService,
+            BatchUrlMappingService batchUrlMappingService,
+            ClickStatsService clickStatsService) {
         this.urlMappingService = urlMappingService;
+        this.batchUrlMappingService = batchUrlMappingService;
+        this.clickStatsService = clickStatsService;
     }
 
     @PostMapping
@@ -63,7 +92,7 @@ public class UrlMappingController {
             )
     })
     public ResponseEntity<UrlMappingResponse> createShortUrl(
-            @Valid @RequestBody UrlMappingRequest request, HttpServletRequest http) {
+            @Valid @RequestBody UrlMappingRequest request) {
 
         // Validate empty or null URL
         if (request.getLongUrl() == null || request.getLongUrl().isBlank()) {
@@ -75,12 +104,65 @@ public class UrlMappingController {
             return ResponseEntity.badRequest().build();
         }
 
+        // Validate redirect status (302 when absent)
+        if (!isValidRedirectStatus(request.getRedirectStatus())) {
+            return ResponseEntity.badRequest().build();
+        }
+
         // Delegate to service layer
         UrlMappingResponse response = urlMappingService.createShortUrl(request);
 
-        // Log the creation
-        logger.info("Created short URL for long URL {} from IP {}",
-        request.getLongUrl(), http.getRemoteAddr());
+        // Client, status and latency go to the access log (AccessLogFilter)
+        logger.debug("Created short URL {} for long URL {}", response.getCode(), request.getLongUrl());
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(response);
+    }
+
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Create short URLs in bulk",
+            description = "Creates shortened versions of many long URLs in one request. "
+                    + "Duplicate URLs share one code; results are returned in request order"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Short URLs created successfully",
+                    content = @Content(schema = @Schema(implementation = BatchUrlMappingResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input - empty or oversized batch, or an incorrect URL format"
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many requests - rate limit exceeded"
+            )
+    })
+    public ResponseEntity<BatchUrlMappingResponse> createShortUrls(
+            @RequestBody BatchUrlMappingRequest request) {
+
+        List<UrlMappingRequest> urls = request.getUrls();
+
+        // Validate batch size
+        if (urls == null || urls.isEmpty() || urls.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Validate every URL before creating any
+        for (UrlMappingRequest url : urls) {
+            if (url == null || url.getLongUrl() == null || url.getLongUrl().length() > 2048
+                    || !isValidUrl(url.getLongUrl()) || !isValidRedirectStatus(url.getRedirectStatus())) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        // Delegate to service layer
+        BatchUrlMappingResponse response = batchUrlMappingService.createShortUrls(urls);
+
+        logger.debug("Created {} short URLs in batch of {}", response.getCreated(), urls.size());
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
@@ -90,7 +172,8 @@ public class UrlMappingController {
     @GetMapping("/{code}")
     @Operation(
             summary = "Get URL metadata",
-            description = "Retrieves metadata for a given short URL code"
+            description = "Retrieves metadata for a given short URL code. Responses carry an ETag; "
+                    + "send it back in If-None-Match to get 304 while nothing has changed"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -98,6 +181,10 @@ public class UrlMappingController {
                     description = "URL metadata retrieved successfully",
                     content = @Content(schema = @Schema(implementation = UrlMappingMetadataResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified - If-None-Match matches the current ETag"
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Short URL not found - invalid or expired code"
@@ -113,7 +200,91 @@ public class UrlMappingController {
         UrlMappingMetadataResponse metadata =
                 urlMappingService.getUrlMetadata(code);
 
-        return ResponseEntity.ok(metadata);
+        // Cacheable, but revalidated every time; a matching If-None-Match yields 304
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(metadata.toETag())
+                .body(metadata);
+    }
+
+    @GetMapping("/{code}/stats")
+    @Operation(
+            summary = "Get click statistics",
+            description = "Returns the clicks of a short URL per minute, hour or day bucket (UTC) "
+                    + "between from (inclusive, rounded down to a bucket start) and to (exclusive). "
+                    + "Counts are served from pre-aggregated buckets and lag by up to the analytics flush interval"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Click statistics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ClickStatsResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input - unknown granularity, malformed or empty range, or too many buckets"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Short URL not found"
+            )
+    })
+    public ResponseEntity<ClickStatsResponse> getClickStats(
+            @Parameter(description = "Short URL code", example = "samju1234")
+            @PathVariable String code,
+            @Parameter(description = "Range start, ISO-8601 instant (default: one range back from to)",
+                    example = "2026-01-28T00:00:00Z")
+            @RequestParam(required = false) String from,
+            @Parameter(description = "Range end, exclusive, ISO-8601 instant (default: now)",
+                    example = "2026-01-29T00:00:00Z")
+            @RequestParam(required = false) String to,
+            @Parameter(description = "Bucket size: minute, hour or day", example = "hour")
+            @RequestParam(defaultValue = "hour") String granularity) {
+
+        ClickGranularity bucketSize = ClickGranularity.parse(granularity);
+        if (bucketSize == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Instant end;
+        Instant start;
+        try {
+            end = to == null ? Instant.now() : Instant.parse(to);
+            start = from == null ? end.minus(defaultStatsRange(bucketSize)) : Instant.parse(from);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Validate range: non-empty and a bounded number of buckets
+        long firstBucket = bucketSize.bucketStart(start.toEpochMilli());
+        if (!start.isBefore(end)
+                || (end.toEpochMilli() - firstBucket - 1) / bucketSize.getBucketMillis() + 1 > maxStatsBuckets) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(clickStatsService.getClickStats(code, bucketSize, start, end));
+    }
+
+    /**
+     * Range returned when no start is given: an hour of minutes,
+     * a day of hours or a month of days
+     */
+    private Duration defaultStatsRange(ClickGranularity granularity) {
+        switch (granularity) {
+            case MINUTE:
+                return Duration.ofHours(1);
+            case HOUR:
+                return Duration.ofDays(1);
+            default:
+                return Duration.ofDays(30);
+        }
+    }
+
+    /**
+     * Redirect status is optional; when given it must be 302, 301 or 308
+     */
+    private boolean isValidRedirectStatus(Integer redirectStatus) {
+        return redirectStatus == null || RedirectHeaders.isSupportedStatus(redirectStatus);
     }
 
     /**
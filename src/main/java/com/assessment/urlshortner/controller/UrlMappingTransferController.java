@@ -0,0 +1,96 @@
+package com.assessment.urlshortner.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assessment.urlshortner.dto.UrlMappingImportResponse;
+import com.assessment.urlshortner.service.UrlMappingTransferService;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Description: REST controller for streaming bulk export and
+ *              import of URL mappings between environments.
+ */
+@RestController
+@RequestMapping("/api/urls/bulk")
+@Tag(name = "URL Bulk Transfer", description = "Streaming export and import of URL mappings")
+public class UrlMappingTransferController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UrlMappingTransferController.class);
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final UrlMappingTransferService transferService;
+
+    public UrlMappingTransferController(UrlMappingTransferService transferService) {
+        this.transferService = transferService;
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    @Operation(
+            summary = "Export all URL mappings",
+            description = "Streams every URL mapping as newline-delimited JSON, in creation order"
+    )
+    @ApiResponse(responseCode = "200", description = "NDJSON stream of URL mappings")
+    public void exportMappings(HttpServletResponse response) throws IOException {
+        // Written synchronously so a long export is not cut off by the async request timeout
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"url-mappings.ndjson\"");
+
+        transferService.exportTo(response.getOutputStream());
+    }
+
+    @PostMapping(value = "/import", consumes = { NDJSON, "text/csv" })
+    @Operation(
+            summary = "Import URL mappings",
+            description = "Reads newline-delimited JSON (as produced by the export) or CSV with a header "
+                    + "row (code,longUrl,createdAt,expiresAt,hitCount,redirectStatus). Existing codes are skipped"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import completed",
+                    content = @Content(schema = @Schema(implementation = UrlMappingImportResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input - CSV header missing required columns"
+            )
+    })
+    public ResponseEntity<UrlMappingImportResponse> importMappings(HttpServletRequest request) throws IOException {
+
+        UrlMappingTransferService.Format format = request.getContentType().startsWith("text/csv")
+                ? UrlMappingTransferService.Format.CSV
+                : UrlMappingTransferService.Format.NDJSON;
+
+        try (Reader reader = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            UrlMappingImportResponse response = transferService.importFrom(reader, format);
+
+            logger.info("Imported {} URL mappings from IP {}", response.getImported(), request.getRemoteAddr());
+
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.assessment.urlshortner.controller;
 
-import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.headers.Header;
@@ -10,11 +8,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -23,6 +19,11 @@ import org.springframework.web.bind.annotation.RestController;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.assessment.urlshortner.cache.PreparedRedirects;
+import com.assessment.urlshortner.config.ClientIpResolver;
+import com.assessment.urlshortner.config.RedirectFastPathFilter;
+import com.assessment.urlshortner.exception.ApiException;
+import com.assessment.urlshortner.model.RedirectTarget;
 import com.assessment.urlshortner.service.UrlMappingService;
 
 /**
@@ -39,27 +40,34 @@ public class UrlRedirectController {
 
     // Service layer dependency
     private final UrlMappingService urlService;
-    private final Counter redirectCounter;
+    private final PreparedRedirects preparedRedirects;
+    private final ClientIpResolver clientIpResolver;
     private static final Logger logger = LoggerFactory.getLogger(UrlRedirectController.class);
 
 
     // Constructor-based dependency injection
-    public UrlRedirectController(UrlMappingService urlService, MeterRegistry registry) {
+    public UrlRedirectController(UrlMappingService urlService, PreparedRedirects preparedRedirects,
+                                 ClientIpResolver clientIpResolver) {
         this.urlService = urlService;
-        this.redirectCounter = registry.counter("shortener_redirect_total");
+        this.preparedRedirects = preparedRedirects;
+        this.clientIpResolver = clientIpResolver;
     }
 
     /**
      * Redirects a short URL code to its original long URL.
      * Endpoint: GET /r/{code}
      *
+     * Writes the redirect (302 Found, or the mapping's permanent
+     * status) with Location and Cache-Control headers set, from a
+     * prepared response for frequently redirected codes.
+     *
      * @param code Short URL code
-     * @return HTTP 302 Found with Location header set
      */
     @GetMapping("/{code}")
     @Operation(
             summary = "Redirect to original URL",
-            description = "Returns HTTP 302 redirect to the original URL. " +
+            description = "Returns an HTTP 302 redirect (or 301 / 308 for permanent links) " +
+                          "to the original URL, cacheable until the link expires. " +
                           "This endpoint is intended for browsers or HTTP clients " +
                           "that automatically follow redirects.",
             tags = {"Redirect"}
@@ -68,11 +76,26 @@ public class UrlRedirectController {
             @ApiResponse(
                     responseCode = "302",
                     description = "Redirect to original URL",
-                    headers = @Header(
-                            name = "Location",
-                            description = "The original long URL",
-                            schema = @Schema(type = "string")
-                    )
+                    headers = {
+                            @Header(
+                                    name = "Location",
+                                    description = "The original long URL",
+                                    schema = @Schema(type = "string")
+                            ),
+                            @Header(
+                                    name = "Cache-Control",
+                                    description = "How long the redirect may be cached, never past the URL's expiry",
+                                    schema = @Schema(type = "string")
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "301",
+                    description = "Permanent redirect to original URL (created with redirectStatus 301)"
+            ),
+            @ApiResponse(
+                    responseCode = "308",
+                    description = "Permanent redirect to original URL (created with redirectStatus 308)"
             ),
             @ApiResponse(
                     responseCode = "404",
@@ -95,28 +118,26 @@ public class UrlRedirectController {
                     )
             )
     })
-    public ResponseEntity<Void> redirect(
+    public void redirect(
             @Parameter(
                     description = "Short URL code",
                     example = "samju1234",
                     required = true
             )
-            @PathVariable String code, HttpServletRequest request) {
+            @PathVariable String code, HttpServletRequest request, HttpServletResponse response) {
 
-        // Resolve the short code to its original URL
-        String longUrl = urlService.getLongUrl(code);
+        // Already looked up and not found / expired in RedirectFastPathFilter
+        if (request.getAttribute(RedirectFastPathFilter.LOOKUP_FAILURE_ATTRIBUTE) instanceof ApiException e) {
+            throw e;
+        }
 
-        // Increment the custom counter every time a redirect occurs
-        redirectCounter.increment();
+        // Resolve the short code to its original URL (counted and timed by the service)
+        RedirectTarget target = urlService.getRedirectTarget(code, clientIpResolver.resolve(request));
 
-        // Log the redirect
-        logger.info("Redirected short URL {} to long URL {} from IP {}",
-                code, longUrl, request.getRemoteAddr());
+        // Client, status and latency go to the access log (AccessLogFilter)
+        logger.debug("Redirected short URL {} to long URL {}", code, target.getLongUrl());
 
-        // Return HTTP 302 Found with Location header
-        return ResponseEntity
-                .status(HttpStatus.FOUND)
-                .header(HttpHeaders.LOCATION, longUrl)
-                .build();
+        // Write the redirect status with Location and Cache-Control headers
+        preparedRedirects.write(code, target, response);
     }
 }
@@ -0,0 +1,22 @@
+package com.assessment.urlshortner.dto;
+
+import java.util.List;
+
+/**
+ * Description: Request DTO used for shortening many URLs at once.
+ *              Accepted by POST /api/urls/batch
+ */
+public class BatchUrlMappingRequest {
+
+    // URLs to be shortened; duplicates share one short code
+    private List<UrlMappingRequest> urls;
+
+    // Getters and Setters
+    public List<UrlMappingRequest> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<UrlMappingRequest> urls) {
+        this.urls = urls;
+    }
+}
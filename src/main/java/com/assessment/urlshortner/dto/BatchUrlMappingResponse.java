@@ -0,0 +1,51 @@
+package com.assessment.urlshortner.dto;
+
+import java.util.List;
+
+/**
+ * Description: Response DTO returned after shortening a batch of URLs.
+ *              Results are in request order.
+ */
+public class BatchUrlMappingResponse {
+
+    // One result per requested URL, in request order
+    private List<UrlMappingResponse> results;
+
+    // Number of new mappings created
+    private int created;
+
+    // Number of distinct URLs that already had a mapping
+    private int existing;
+
+    // Constructor
+    public BatchUrlMappingResponse(List<UrlMappingResponse> results, int created, int existing) {
+        this.results = results;
+        this.created = created;
+        this.existing = existing;
+    }
+
+    // Getters and Setters
+    public List<UrlMappingResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<UrlMappingResponse> results) {
+        this.results = results;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getExisting() {
+        return existing;
+    }
+
+    public void setExisting(int existing) {
+        this.existing = existing;
+    }
+}
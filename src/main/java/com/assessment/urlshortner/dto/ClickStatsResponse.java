@@ -0,0 +1,121 @@
+package com.assessment.urlshortner.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Description: Response DTO with the click counts of a short URL
+ *              per time bucket. Returned by GET /api/urls/{code}/stats
+ */
+public class ClickStatsResponse {
+
+    // Shortened URL code
+    private String code;
+
+    // Bucket size: minute, hour or day
+    private String granularity;
+
+    // Start of the first bucket, inclusive
+    private Instant from;
+
+    // End of the range, exclusive
+    private Instant to;
+
+    // Clicks within the range
+    private long total;
+
+    // Buckets with at least one click, oldest first
+    private List<Bucket> buckets;
+
+    // Constructor
+    public ClickStatsResponse(String code, String granularity, Instant from, Instant to,
+                              long total, List<Bucket> buckets) {
+        this.code = code;
+        this.granularity = granularity;
+        this.from = from;
+        this.to = to;
+        this.total = total;
+        this.buckets = buckets;
+    }
+
+    // Getters and Setters
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(String granularity) {
+        this.granularity = granularity;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public List<Bucket> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(List<Bucket> buckets) {
+        this.buckets = buckets;
+    }
+
+    /**
+     * Clicks within one bucket.
+     */
+    public static class Bucket {
+
+        // Start of the bucket
+        private Instant start;
+
+        private long clicks;
+
+        public Bucket(Instant start, long clicks) {
+            this.start = start;
+            this.clicks = clicks;
+        }
+
+        public Instant getStart() {
+            return start;
+        }
+
+        public void setStart(Instant start) {
+            this.start = start;
+        }
+
+        public long getClicks() {
+            return clicks;
+        }
+
+        public void setClicks(long clicks) {
+            this.clicks = clicks;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.assessment.urlshortner.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Description: Most redirected short codes of the current and the
+ *              previous time window, with the approximate number of
+ *              distinct client IPs per code.
+ *              Returned by GET /actuator/hotcodes
+ */
+public class HotCodesResponse {
+
+    // Window length
+    private final long windowSeconds;
+
+    // Window in progress
+    private final Window current;
+
+    // Last complete window; null until one has completed
+    private final Window previous;
+
+    // Constructor
+    public HotCodesResponse(long windowSeconds, Window current, Window previous) {
+        this.windowSeconds = windowSeconds;
+        this.current = current;
+        this.previous = previous;
+    }
+
+    // Getters
+    public long getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public Window getCurrent() {
+        return current;
+    }
+
+    public Window getPrevious() {
+        return previous;
+    }
+
+    /**
+     * The hottest codes of one window, most redirected first.
+     */
+    public static class Window {
+
+        private final Instant start;
+
+        // Time of the snapshot, or the window end once complete
+        private final Instant end;
+
+        // Redirects within the window, all codes
+        private final long clicks;
+
+        private final List<HotCode> codes;
+
+        public Window(Instant start, Instant end, long clicks, List<HotCode> codes) {
+            this.start = start;
+            this.end = end;
+            this.clicks = clicks;
+            this.codes = codes;
+        }
+
+        public Instant getStart() {
+            return start;
+        }
+
+        public Instant getEnd() {
+            return end;
+        }
+
+        public long getClicks() {
+            return clicks;
+        }
+
+        public List<HotCode> getCodes() {
+            return codes;
+        }
+    }
+
+    /**
+     * Approximate counts of one code.
+     */
+    public static class HotCode {
+
+        private final String code;
+
+        // Upper bound of the code's redirects in the window
+        private final long clicks;
+
+        // How much clicks may overcount; clicks - maxOvercount is a lower bound
+        private final long maxOvercount;
+
+        // Estimated distinct client IPs since the code entered the table
+        private final long distinctIps;
+
+        public HotCode(String code, long clicks, long maxOvercount, long distinctIps) {
+            this.code = code;
+            this.clicks = clicks;
+            this.maxOvercount = maxOvercount;
+            this.distinctIps = distinctIps;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public long getClicks() {
+            return clicks;
+        }
+
+        public long getMaxOvercount() {
+            return maxOvercount;
+        }
+
+        public long getDistinctIps() {
+            return distinctIps;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.assessment.urlshortner.dto;
+
+import java.util.List;
+
+/**
+ * Description: Response DTO returned after a bulk import.
+ *              Returned by POST /api/urls/bulk/import
+ */
+public class UrlMappingImportResponse {
+
+    // Number of mappings inserted
+    private long imported;
+
+    // Number of records skipped because their code already exists
+    private long skipped;
+
+    // Number of records rejected as malformed
+    private long invalid;
+
+    // Details of the first rejected records ("line N: reason")
+    private List<String> errors;
+
+    // Constructor
+    public UrlMappingImportResponse(long imported, long skipped, long invalid, List<String> errors) {
+        this.imported = imported;
+        this.skipped = skipped;
+        this.invalid = invalid;
+        this.errors = errors;
+    }
+
+    // Getters and Setters
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    public void setInvalid(long invalid) {
+        this.invalid = invalid;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
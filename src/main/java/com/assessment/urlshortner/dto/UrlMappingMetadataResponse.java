@@ -1,6 +1,7 @@
 package com.assessment.urlshortner.dto;
 
 import java.time.Instant;
+import java.util.Objects;
 
 /**
  * Author: Julius Fasema
@@ -32,6 +33,9 @@ public class UrlMappingMetadataResponse {
     // Indicates whether the URL is expired
     private boolean expired;
 
+    // HTTP status used for the redirect (302, 301 or 308)
+    private int redirectStatus;
+
     // Getters and Setters
     public String getCode() { 
         return code; 
@@ -88,4 +92,29 @@ public class UrlMappingMetadataResponse {
     public void setExpired(boolean expired) { 
         this.expired = expired; 
     }
+
+    public int getRedirectStatus() {
+        return redirectStatus;
+    }
+
+    public void setRedirectStatus(int redirectStatus) {
+        this.redirectStatus = redirectStatus;
+    }
+
+    /**
+     * Entity tag of this response: changes whenever any field does,
+     * e.g. with every recorded hit.
+     */
+    public String toETag() {
+        long hash = 17;
+        for (Object field : new Object[] { code, longUrl, shortUrl, createdAt, expiresAt, hitCount }) {
+            hash = 31 * hash + Objects.hashCode(field);
+        }
+        hash = 31 * hash + (expired ? 1 : 0);
+        hash = 31 * hash + redirectStatus;
+        // Spread the bits so near-identical responses get unrelated tags
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return "\"" + Long.toHexString(hash ^ (hash >>> 33)) + "\"";
+    }
 }
@@ -0,0 +1,78 @@
+package com.assessment.urlshortner.dto;
+
+import java.time.Instant;
+
+/**
+ * Description: One URL mapping in bulk export and import files.
+ *              Written as one NDJSON line by GET /api/urls/bulk/export
+ *              and read by POST /api/urls/bulk/import.
+ */
+public class UrlMappingRecord {
+
+    // Short URL code
+    private String code;
+
+    // Original long URL
+    private String longUrl;
+
+    // Date the URL was created (defaults to import time)
+    private Instant createdAt;
+
+    // Date the URL expires (null for never)
+    private Instant expiresAt;
+
+    // Number of times the URL has been accessed
+    private long hitCount;
+
+    // Redirect status (301 or 308; null for the default 302)
+    private Integer redirectStatus;
+
+    // Getters and Setters
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getLongUrl() {
+        return longUrl;
+    }
+
+    public void setLongUrl(String longUrl) {
+        this.longUrl = longUrl;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public Integer getRedirectStatus() {
+        return redirectStatus;
+    }
+
+    public void setRedirectStatus(Integer redirectStatus) {
+        this.redirectStatus = redirectStatus;
+    }
+}
@@ -3,6 +3,7 @@ package com.assessment.urlshortner.dto;
 import org.hibernate.validator.constraints.URL;
 
 import io.swagger.v3.oas.annotations.Hidden;
+import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -29,6 +30,11 @@ public class UrlMappingRequest {
     @Hidden
     private Integer expiryDays;
 
+    // Redirect status: 302 (default), or 301 / 308 for permanent links
+    @Schema(description = "HTTP status of the redirect: 302 (default), or 301 / 308 for permanent links",
+            allowableValues = {"301", "302", "308"}, example = "302")
+    private Integer redirectStatus;
+
     // Getters and Setters
     public String getLongUrl() { 
         return longUrl; 
@@ -45,4 +51,12 @@ public class UrlMappingRequest {
     public void setExpiryDays(Integer expiryDays) { 
         this.expiryDays = expiryDays; 
     }
+
+    public Integer getRedirectStatus() {
+        return redirectStatus;
+    }
+
+    public void setRedirectStatus(Integer redirectStatus) {
+        this.redirectStatus = redirectStatus;
+    }
 }
@@ -0,0 +1,31 @@
+package com.assessment.urlshortner.event;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Description: Published in-process after a chunk of expired URL
+ *              mappings has been deleted, carrying their codes so
+ *              caches and other in-memory state can drop them.
+ */
+public final class ExpiredUrlsReapedEvent {
+
+    // Codes of the deleted mappings
+    private final List<String> codes;
+
+    // Cutoff used by the reaper: all mappings expired before it
+    private final Instant expiredBefore;
+
+    public ExpiredUrlsReapedEvent(List<String> codes, Instant expiredBefore) {
+        this.codes = List.copyOf(codes);
+        this.expiredBefore = expiredBefore;
+    }
+
+    public List<String> getCodes() {
+        return codes;
+    }
+
+    public Instant getExpiredBefore() {
+        return expiredBefore;
+    }
+}
@@ -2,6 +2,8 @@ package com.assessment.urlshortner.exception;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
@@ -54,6 +56,25 @@ public class GlobalExceptionHandler {
                 .body(error);
     }
 
+    /**
+     * Handles request bodies that cannot be read or fail validation.
+     */
+    @ExceptionHandler({ MethodArgumentNotValidException.class, HttpMessageNotReadableException.class })
+    public ResponseEntity<ApiErrorResponse> handleInvalidRequest(
+            Exception ex, WebRequest request) {
+
+        ApiErrorResponse error = new ApiErrorResponse(
+                "Bad Request",
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid request body",
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(error);
+    }
+
     /**
      * Handles all uncaught and unexpected exceptions.
      */
@@ -0,0 +1,119 @@
+package com.assessment.urlshortner.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import com.assessment.urlshortner.analytics.ClickGranularity;
+
+/**
+ * Entity representing the number of redirects of one short code
+ * within one time bucket.
+ *
+ * Each click is counted in its minute, hour and day bucket. Rows
+ * are written by the ClickAggregator, which adds pre-aggregated
+ * deltas to them; they are never read back into the redirect path.
+ */
+@Entity
+@Table(
+        name = "click_stats",
+        indexes = {
+                @Index(name = "idx_click_stats_bucket", columnList = "code, granularity, bucketStart", unique = true),
+                @Index(name = "idx_click_stats_retention", columnList = "granularity, bucketStart")
+        }
+)
+public class ClickStat {
+
+    /**
+     * Primary key.
+     * Auto-generated using identity strategy.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Short URL code.
+     */
+    @Column(nullable = false, length = 16)
+    private String code;
+
+    /**
+     * Bucket size.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private ClickGranularity granularity;
+
+    /**
+     * Start of the bucket (UTC aligned).
+     */
+    @Column(nullable = false)
+    private Instant bucketStart;
+
+    /**
+     * Redirects within the bucket.
+     */
+    @Column(nullable = false)
+    private long clicks;
+
+    // Constructors
+    public ClickStat() {
+        // Default constructor for JPA
+    }
+
+    public ClickStat(String code, ClickGranularity granularity, Instant bucketStart, long clicks) {
+        this.code = code;
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+        this.clicks = clicks;
+    }
+
+    // --------------------
+    // Getters and Setters
+    // --------------------
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public ClickGranularity getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(ClickGranularity granularity) {
+        this.granularity = granularity;
+    }
+
+    public Instant getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(Instant bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public long getClicks() {
+        return clicks;
+    }
+
+    public void setClicks(long clicks) {
+        this.clicks = clicks;
+    }
+}
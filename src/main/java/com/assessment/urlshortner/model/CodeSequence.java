@@ -0,0 +1,61 @@
+package com.assessment.urlshortner.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Entity representing a named, database-backed ID sequence.
+ *
+ * Nodes lease blocks of IDs by atomically advancing
+ * {@code nextValue}; the row lock taken by that update is what
+ * makes leases unique across the cluster.
+ */
+@Entity
+@Table(name = "code_sequences")
+public class CodeSequence {
+
+    /**
+     * Sequence name.
+     */
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    /**
+     * First ID that has not been leased yet.
+     */
+    @Column(nullable = false)
+    private long nextValue;
+
+    // Constructors
+    public CodeSequence() {
+        // Default constructor for JPA
+    }
+
+    public CodeSequence(String name, long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+
+    // --------------------
+    // Getters and Setters
+    // --------------------
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getNextValue() {
+        return nextValue;
+    }
+
+    public void setNextValue(long nextValue) {
+        this.nextValue = nextValue;
+    }
+}
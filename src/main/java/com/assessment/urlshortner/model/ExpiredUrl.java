@@ -0,0 +1,25 @@
+package com.assessment.urlshortner.model;
+
+/**
+ * Read-only reference to an expired URL mapping,
+ * selected by the expiry reaper ahead of deletion.
+ */
+public final class ExpiredUrl {
+
+    private final Long id;
+
+    private final String code;
+
+    public ExpiredUrl(Long id, String code) {
+        this.id = id;
+        this.code = code;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,84 @@
+package com.assessment.urlshortner.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Entity representing one client's rate limit bucket, shared by all
+ * nodes.
+ *
+ * The bucket is stored as a GCRA "theoretical arrival time": the
+ * client has a full bucket once {@code arrivalTime} is in the past,
+ * and each token taken moves it forward by one refill interval.
+ * Updates are conditional on {@code version}, so concurrent nodes
+ * never both spend the same tokens.
+ */
+@Entity
+@Table(
+        name = "rate_limit_buckets",
+        indexes = {
+                @Index(name = "idx_rate_limit_arrival_time", columnList = "arrivalTime")
+        }
+)
+public class RateLimitBucket {
+
+    /**
+     * Client key (e.g. IP address).
+     */
+    @Id
+    @Column(length = 64)
+    private String bucketKey;
+
+    /**
+     * Theoretical arrival time in epoch microseconds.
+     */
+    @Column(nullable = false)
+    private long arrivalTime;
+
+    /**
+     * Incremented on every update; compared on write.
+     */
+    @Column(nullable = false)
+    private long version;
+
+    // Constructors
+    public RateLimitBucket() {
+        // Default constructor for JPA
+    }
+
+    public RateLimitBucket(String bucketKey, long arrivalTime) {
+        this.bucketKey = bucketKey;
+        this.arrivalTime = arrivalTime;
+    }
+
+    // --------------------
+    // Getters and Setters
+    // --------------------
+
+    public String getBucketKey() {
+        return bucketKey;
+    }
+
+    public void setBucketKey(String bucketKey) {
+        this.bucketKey = bucketKey;
+    }
+
+    public long getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public void setArrivalTime(long arrivalTime) {
+        this.arrivalTime = arrivalTime;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
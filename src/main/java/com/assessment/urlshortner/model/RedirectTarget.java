@@ -0,0 +1,73 @@
+package com.assessment.urlshortner.model;
+
+import java.time.Instant;
+
+import com.assessment.urlshortner.utils.RedirectHeaders;
+
+/**
+ * Immutable, lightweight view of a URL mapping.
+ *
+ * Holds only the fields required to resolve a redirect so it can
+ * be cached and shared safely between request threads.
+ */
+public final class RedirectTarget {
+
+    /**
+     * Short URL code (Base62).
+     */
+    private final String code;
+
+    /**
+     * Original long URL the code redirects to.
+     */
+    private final String longUrl;
+
+    /**
+     * Optional expiration timestamp.
+     */
+    private final Instant expiresAt;
+
+    /**
+     * HTTP status of the redirect (302, 301 or 308).
+     */
+    private final int redirectStatus;
+
+    public RedirectTarget(String code, String longUrl, Instant expiresAt) {
+        this(code, longUrl, expiresAt, null);
+    }
+
+    public RedirectTarget(String code, String longUrl, Instant expiresAt, Integer redirectStatus) {
+        this.code = code;
+        this.longUrl = longUrl;
+        this.expiresAt = expiresAt;
+        this.redirectStatus = RedirectHeaders.statusOrDefault(redirectStatus);
+    }
+
+    /**
+     * Creates a redirect target from a persisted mapping.
+     */
+    public static RedirectTarget from(UrlMapping mapping) {
+        return new RedirectTarget(mapping.getCode(), mapping.getLongUrl(), mapping.getExpiresAt(),
+                mapping.getRedirectStatus());
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getLongUrl() {
+        return longUrl;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public int getRedirectStatus() {
+        return redirectStatus;
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && Instant.now().isAfter(expiresAt);
+    }
+}
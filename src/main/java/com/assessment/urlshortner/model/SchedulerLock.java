@@ -0,0 +1,78 @@
+package com.assessment.urlshortner.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Entity representing a cluster-wide lock for a scheduled job.
+ *
+ * A node holds the lock while {@code lockedUntil} is in the future;
+ * the lease is taken and renewed with a conditional update, so at
+ * most one node runs the job at a time.
+ */
+@Entity
+@Table(name = "scheduler_locks")
+public class SchedulerLock {
+
+    /**
+     * Lock (job) name.
+     */
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    /**
+     * Node currently or most recently holding the lock.
+     */
+    @Column(nullable = false, length = 255)
+    private String lockedBy;
+
+    /**
+     * End of the current lease.
+     */
+    @Column(nullable = false)
+    private Instant lockedUntil;
+
+    // Constructors
+    public SchedulerLock() {
+        // Default constructor for JPA
+    }
+
+    public SchedulerLock(String name, String lockedBy, Instant lockedUntil) {
+        this.name = name;
+        this.lockedBy = lockedBy;
+        this.lockedUntil = lockedUntil;
+    }
+
+    // --------------------
+    // Getters and Setters
+    // --------------------
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public void setLockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(Instant lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+}
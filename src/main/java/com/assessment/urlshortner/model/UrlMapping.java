@@ -10,6 +10,8 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
+import com.assessment.urlshortner.utils.UrlHasher;
+
 /**
  * Entity representing a shortened URL mapping.
  *
@@ -22,7 +24,7 @@ import jakarta.persistence.Table;
     name = "url_mappings",
     indexes = {
         @Index(name = "idx_code", columnList = "code", unique = true),
-        @Index(name = "idx_long_url", columnList = "longUrl"),
+        @Index(name = "idx_long_url_hash", columnList = "longUrlHash"),
         @Index(name = "idx_expires_at", columnList = "expiresAt")
     }
 )
@@ -50,6 +52,14 @@ public class UrlMapping {
     @Column(nullable = false, length = 2048)
     private String longUrl;
 
+    /**
+     * Fixed-width digest of the normalised long URL.
+     * Indexed instead of longUrl for idempotent lookups;
+     * null only for rows created before the column existed.
+     */
+    @Column(length = UrlHasher.HASH_LENGTH)
+    private String longUrlHash;
+
     /**
      * Timestamp when the short URL was created.
      */
@@ -68,6 +78,12 @@ public class UrlMapping {
     @Column(nullable = false)
     private long hitCount = 0L;
 
+    /**
+     * HTTP status used for redirects: 301 or 308 for permanent
+     * links, null for the default 302.
+     */
+    private Integer redirectStatus;
+
     // Constructors
     public UrlMapping() {
         // Default constructor for JPA
@@ -76,6 +92,7 @@ public class UrlMapping {
     public UrlMapping(String code, String longUrl, Instant expiresAt) {
         this.code = code;
         this.longUrl = longUrl;
+        this.longUrlHash = UrlHasher.hash(longUrl);
         this.expiresAt = expiresAt;
         this.createdAt = Instant.now(); 
         this.hitCount = 0;
@@ -107,6 +124,15 @@ public class UrlMapping {
 
     public void setLongUrl(String longUrl) {
         this.longUrl = longUrl;
+        this.longUrlHash = UrlHasher.hash(longUrl);
+    }
+
+    public String getLongUrlHash() {
+        return longUrlHash;
+    }
+
+    public void setLongUrlHash(String longUrlHash) {
+        this.longUrlHash = longUrlHash;
     }
 
     public Instant getCreatedAt() {
@@ -133,6 +159,14 @@ public class UrlMapping {
         this.hitCount = hitCount;
     }
 
+    public Integer getRedirectStatus() {
+        return redirectStatus;
+    }
+
+    public void setRedirectStatus(Integer redirectStatus) {
+        this.redirectStatus = redirectStatus;
+    }
+
     public void incrementHitCount() {
         this.hitCount++;
     }
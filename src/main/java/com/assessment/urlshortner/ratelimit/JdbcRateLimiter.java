@@ -0,0 +1,263 @@
+package com.assessment.urlshortner.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assessment.urlshortner.model.RateLimitBucket;
+import com.assessment.urlshortner.repository.RateLimitBucketRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Description: Cluster-wide rate limiter backed by the rate_limit_buckets
+ *              table, so a client gets rate.limit.tokens across all
+ *              nodes rather than per node.
+ *
+ *              Buckets are GCRA arrival times updated with
+ *              compare-and-set on a version column. To avoid a database
+ *              round trip per request, a node takes a batch of tokens
+ *              at once (at most rate.limit.jdbc.batch-size, and at most
+ *              half of what is left so other nodes still find tokens)
+ *              and hands them out locally for rate.limit.jdbc.lease-ms.
+ *              Tokens not used within the lease are lost, so the
+ *              effective limit can be slightly below the configured
+ *              one. A client found without tokens is rejected locally
+ *              until its next token is due.
+ *
+ *              If the database cannot be reached, requests are allowed.
+ */
+@Component
+@ConditionalOnProperty(name = "rate.limit.store", havingValue = "jdbc")
+public class JdbcRateLimiter implements RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcRateLimiter.class);
+
+    // Compare-and-set attempts per fetch before giving up
+    static final int MAX_ATTEMPTS = 5;
+
+    private final RateLimitBucketRepository bucketRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Time to earn one token, in microseconds (GCRA emission interval)
+    private final long emissionInterval;
+
+    // Burst allowance beyond one token, in microseconds (GCRA tolerance)
+    private final long tolerance;
+
+    private final int batchSize;
+
+    private final long leaseMillis;
+
+    // Tokens taken from the shared bucket and not yet used, per key
+    private final Cache<String, Lease> leases;
+
+    private final Counter rejections;
+
+    private final Counter fetches;
+
+    private final Counter idleEvictions;
+
+    private final Counter storeErrors;
+
+    public JdbcRateLimiter(
+            RateLimitBucketRepository bucketRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${rate.limit.tokens}") int maxTokens,
+            @Value("${rate.limit.refill-minutes}") int refillMinutes,
+            @Value("${rate.limit.max-keys:262144}") int maxKeys,
+            @Value("${rate.limit.jdbc.batch-size:10}") int batchSize,
+            @Value("${rate.limit.jdbc.lease-ms:1000}") long leaseMillis) {
+
+        this.bucketRepository = bucketRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long periodMicros = TimeUnit.MINUTES.toMicros(refillMinutes);
+        this.emissionInterval = Math.max(1L, periodMicros / maxTokens);
+        this.tolerance = emissionInterval * (maxTokens - 1L);
+        this.batchSize = Math.max(1, batchSize);
+        this.leaseMillis = leaseMillis;
+
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofMillis(leaseMillis))
+                .build();
+
+        Gauge.builder("rate.limit.keys", leases, Cache::estimatedSize)
+                .description("Client keys tracked by the rate limiter")
+                .register(meterRegistry);
+
+        this.rejections = Counter.builder("rate.limit.rejections")
+                .description("Requests rejected by the rate limiter")
+                .register(meterRegistry);
+
+        this.fetches = Counter.builder("rate.limit.store.fetches")
+                .description("Token batches requested from the shared bucket table")
+                .register(meterRegistry);
+
+        this.idleEvictions = Counter.builder("rate.limit.evictions")
+                .tag("cause", "idle")
+                .description("Rate limiter keys dropped from the table")
+                .register(meterRegistry);
+
+        this.storeErrors = Counter.builder("rate.limit.store.errors")
+                .description("Shared bucket table failures; requests were allowed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        long nowMillis = System.currentTimeMillis();
+
+        Lease lease = leases.getIfPresent(key);
+        if (lease != null) {
+            if (lease.tryTake(nowMillis)) {
+                return true;
+            }
+            if (nowMillis < lease.deniedUntilMillis) {
+                rejections.increment();
+                return false;
+            }
+        }
+
+        Lease fetched;
+        try {
+            fetched = fetch(key, nowMillis);
+        } catch (DataAccessException e) {
+            storeErrors.increment();
+            logger.warn("Rate limit store unavailable, allowing request: {}", e.getMessage());
+            return true;
+        }
+
+        leases.put(key, fetched);
+        if (fetched.deniedUntilMillis > nowMillis) {
+            rejections.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Deletes shared buckets that have refilled completely.
+     */
+    @Scheduled(fixedDelayString = "${rate.limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        try {
+            Integer deleted = transactionTemplate.execute(status ->
+                    bucketRepository.deleteIdle(TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis())));
+            idleEvictions.increment(deleted == null ? 0 : deleted);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to delete idle rate limit buckets: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Takes a batch of tokens from the shared bucket. The first token
+     * is used by the current request; the rest go into the lease.
+     */
+    private Lease fetch(String key, long nowMillis) {
+        fetches.increment();
+        long now = TimeUnit.MILLISECONDS.toMicros(nowMillis);
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            try {
+                Lease lease = transactionTemplate.execute(status -> takeTokens(key, now, nowMillis));
+                if (lease != null) {
+                    return lease;
+                }
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the bucket concurrently; read it again
+                logger.debug("Rate limit bucket {} created concurrently", key);
+            }
+        }
+
+        // Heavy contention on one key: treat it as exhausted for one lease
+        return Lease.denied(nowMillis + leaseMillis);
+    }
+
+    // Returns null when the bucket changed since it was read
+    private Lease takeTokens(String key, long now, long nowMillis) {
+        Optional<RateLimitBucket> bucket = bucketRepository.findById(key);
+
+        // A missing bucket is full
+        long base = bucket.map(b -> Math.max(b.getArrivalTime(), now)).orElse(now);
+        long available = (now + tolerance + emissionInterval - base) / emissionInterval;
+
+        if (available <= 0) {
+            // The next token is due once base - now <= tolerance
+            long dueMicros = base - tolerance;
+            return Lease.denied(nowMillis + Math.max(1L, TimeUnit.MICROSECONDS.toMillis(dueMicros - now)));
+        }
+
+        int granted = (int) Math.min(batchSize, Math.max(1L, available / 2));
+        long arrivalTime = base + granted * emissionInterval;
+
+        if (bucket.isPresent()) {
+            if (bucketRepository.compareAndSet(key, bucket.get().getVersion(), arrivalTime) == 0) {
+                return null;
+            }
+        } else {
+            bucketRepository.saveAndFlush(new RateLimitBucket(key, arrivalTime));
+        }
+
+        return Lease.granted(granted - 1, nowMillis + leaseMillis);
+    }
+
+    /**
+     * Tokens held locally for one key, or a local rejection until
+     * the key's next token is due.
+     */
+    private static final class Lease {
+
+        private final AtomicInteger tokens;
+
+        private final long expiresAtMillis;
+
+        private final long deniedUntilMillis;
+
+        private Lease(int tokens, long expiresAtMillis, long deniedUntilMillis) {
+            this.tokens = new AtomicInteger(tokens);
+            this.expiresAtMillis = expiresAtMillis;
+            this.deniedUntilMillis = deniedUntilMillis;
+        }
+
+        static Lease granted(int tokens, long expiresAtMillis) {
+            return new Lease(tokens, expiresAtMillis, 0L);
+        }
+
+        static Lease denied(long untilMillis) {
+            return new Lease(0, untilMillis, untilMillis);
+        }
+
+        boolean tryTake(long nowMillis) {
+            if (nowMillis >= expiresAtMillis) {
+                return false;
+            }
+            int left = tokens.get();
+            while (left > 0) {
+                if (tokens.compareAndSet(left, left - 1)) {
+                    return true;
+                }
+                left = tokens.get();
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.assessment.urlshortner.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Description: In-memory, lock-free rate limiter with a fixed memory
+ *              footprint.
+ *
+ *              Token state is kept as a GCRA "theoretical arrival
+ *              time" (equivalent to a token bucket), packed together
+ *              with a key fingerprint into one long per slot of an
+ *              open-addressing table: 8 bytes per key, updated with
+ *              compare-and-set. A key is looked up in a window of
+ *              PROBES adjacent slots (one cache line).
+ *
+ *              The table never grows: when a key's window is full,
+ *              the entry closest to a full bucket is replaced. Entries
+ *              whose bucket has fully refilled carry no information
+ *              and are dropped by a periodic sweep. Keys sharing a
+ *              window and a fingerprint (roughly 1 in 500,000) share a
+ *              bucket.
+ *
+ *              Limits are per node; see JdbcRateLimiter for limits
+ *              shared across the cluster.
+ */
+@Component
+@ConditionalOnProperty(name = "rate.limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimiter implements RateLimiter {
+
+    // Slots searched per key; 8 longs fill one 64-byte cache line
+    static final int PROBES = 8;
+
+    private static final int FINGERPRINT_BITS = 22;
+
+    private static final int TIME_BITS = 64 - FINGERPRINT_BITS;
+
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+    private static final long EMPTY = 0L;
+
+    private final AtomicLongArray slots;
+
+    private final int mask;
+
+    // Time to earn one token, in microseconds (GCRA emission interval)
+    private final long emissionInterval;
+
+    // Burst allowance beyond one token, in microseconds (GCRA tolerance)
+    private final long tolerance;
+
+    private final long baseNanos = System.nanoTime();
+
+    private final LongAdder trackedKeys = new LongAdder();
+
+    private final Counter rejections;
+
+    private final Counter idleEvictions;
+
+    private final Counter capacityEvictions;
+
+    public LocalRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${rate.limit.tokens}") int maxTokens,
+            @Value("${rate.limit.refill-minutes}") int refillMinutes,
+            @Value("${rate.limit.max-keys:262144}") int maxKeys) {
+
+        long periodMicros = TimeUnit.MINUTES.toMicros(refillMinutes);
+        this.emissionInterval = Math.max(1L, periodMicros / maxTokens);
+        this.tolerance = emissionInterval * (maxTokens - 1L);
+
+        int capacity = Integer.highestOneBit(Math.max(PROBES, maxKeys) - 1) << 1;
+        this.slots = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+
+        Gauge.builder("rate.limit.keys", trackedKeys, LongAdder::sum)
+                .description("Client keys tracked by the rate limiter")
+                .register(meterRegistry);
+
+        this.rejections = Counter.builder("rate.limit.rejections")
+                .description("Requests rejected by the rate limiter")
+                .register(meterRegistry);
+
+        this.idleEvictions = Counter.builder("rate.limit.evictions")
+                .tag("cause", "idle")
+                .description("Rate limiter keys dropped from the table")
+                .register(meterRegistry);
+
+        this.capacityEvictions = Counter.builder("rate.limit.evictions")
+                .tag("cause", "capacity")
+                .description("Rate limiter keys dropped from the table")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        long hash = hash(key);
+        long fingerprint = fingerprint(hash);
+        int start = (int) hash & mask & ~(PROBES - 1);
+
+        while (true) {
+            long now = now();
+            int match = -1;
+            int empty = -1;
+            int victim = -1;
+            long victimAhead = Long.MAX_VALUE;
+
+            for (int i = 0; i < PROBES; i++) {
+                long slot = slots.get(start + i);
+                if (slot == EMPTY) {
+                    if (empty < 0) {
+                        empty = start + i;
+                    }
+                } else if (slot >>> TIME_BITS == fingerprint) {
+                    match = start + i;
+                    break;
+                } else {
+                    // Prefer replacing the entry nearest to a full bucket
+                    long ahead = ahead(slot, now);
+                    if (ahead < victimAhead) {
+                        victimAhead = ahead;
+                        victim = start + i;
+                    }
+                }
+            }
+
+            if (match >= 0) {
+                long slot = slots.get(match);
+                if (slot >>> TIME_BITS != fingerprint) {
+                    continue; // evicted meanwhile, search again
+                }
+
+                long ahead = Math.max(0L, ahead(slot, now));
+                if (ahead > tolerance) {
+                    rejections.increment();
+                    return false;
+                }
+                if (slots.compareAndSet(match, slot, pack(fingerprint, now + ahead + emissionInterval))) {
+                    return true;
+                }
+                continue;
+            }
+
+            // New key: its bucket starts full, so this request is allowed
+            long fresh = pack(fingerprint, now + emissionInterval);
+
+            if (empty >= 0) {
+                if (slots.compareAndSet(empty, EMPTY, fresh)) {
+                    trackedKeys.increment();
+                    return true;
+                }
+                continue;
+            }
+
+            long replaced = slots.get(victim);
+            if (replaced != EMPTY && slots.compareAndSet(victim, replaced, fresh)) {
+                capacityEvictions.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Drops entries whose bucket has refilled completely; they are
+     * indistinguishable from keys that were never seen.
+     */
+    @Scheduled(fixedDelayString = "${rate.limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        for (int i = 0; i < slots.length(); i++) {
+            long slot = slots.get(i);
+            if (slot != EMPTY && ahead(slot, now()) <= 0 && slots.compareAndSet(i, slot, EMPTY)) {
+                trackedKeys.decrement();
+                idleEvictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Number of keys currently in the table.
+     */
+    public long trackedKeys() {
+        return trackedKeys.sum();
+    }
+
+    // Microseconds since this limiter was created
+    private long now() {
+        return (System.nanoTime() - baseNanos) / 1000L;
+    }
+
+    // How far the key's arrival time is ahead of now; <= 0 means a full bucket
+    private static long ahead(long slot, long now) {
+        long delta = ((slot & TIME_MASK) - now) & TIME_MASK;
+        // Sign-extend: times are stored modulo 2^TIME_BITS (about 50 days)
+        return (delta << FINGERPRINT_BITS) >> FINGERPRINT_BITS;
+    }
+
+    private static long pack(long fingerprint, long arrivalTime) {
+        return fingerprint << TIME_BITS | (arrivalTime & TIME_MASK);
+    }
+
+    // Never zero, so a used slot is never EMPTY
+    private static long fingerprint(long hash) {
+        long fingerprint = hash >>> TIME_BITS;
+        return fingerprint == 0 ? 1L : fingerprint;
+    }
+
+    // FNV-1a over UTF-16 code units, finished with a SplitMix64 mix
+    private static long hash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,17 @@
+package com.assessment.urlshortner.ratelimit;
+
+/**
+ * Description: Token-bucket rate limiter keyed by client (e.g. IP).
+ *              Each key may take a burst of up to the configured
+ *              number of tokens, refilled evenly over the configured
+ *              period.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes one token for the key.
+     *
+     * @return true if the request is within the limit
+     */
+    boolean tryAcquire(String key);
+}
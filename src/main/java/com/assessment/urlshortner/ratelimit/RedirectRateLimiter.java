@@ -0,0 +1,93 @@
+package com.assessment.urlshortner.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.assessment.urlshortner.utils.SlidingWindowSketch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: Rate limiter for the redirect path.
+ *
+ *              Limits requests per client IP and per short code over
+ *              a sliding window, using approximate counters of fixed
+ *              size (SlidingWindowSketch) rather than per-key state:
+ *              a check is a few atomic increments and no allocation.
+ *              Counts may be slightly high under heavy traffic, never
+ *              low. Rejected requests are counted too, so a client
+ *              only gets through again once it backs off.
+ */
+@Component
+public class RedirectRateLimiter {
+
+    // Rows per sketch
+    private static final int SKETCH_DEPTH = 4;
+
+    private final boolean enabled;
+
+    private final long perIpLimit;
+
+    private final long perCodeLimit;
+
+    private final SlidingWindowSketch ipCounts;
+
+    private final SlidingWindowSketch codeCounts;
+
+    private final Counter ipRejections;
+
+    private final Counter codeRejections;
+
+    public RedirectRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${rate.limit.redirect.enabled:false}") boolean enabled,
+            @Value("${rate.limit.redirect.window-seconds:60}") long windowSeconds,
+            @Value("${rate.limit.redirect.per-ip:600}") long perIpLimit,
+            @Value("${rate.limit.redirect.per-code:0}") long perCodeLimit,
+            @Value("${rate.limit.redirect.sketch-width:16384}") int sketchWidth) {
+
+        this.enabled = enabled;
+        this.perIpLimit = perIpLimit;
+        this.perCodeLimit = perCodeLimit;
+
+        long windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+        this.ipCounts = new SlidingWindowSketch(windowMillis, sketchWidth, SKETCH_DEPTH);
+        this.codeCounts = new SlidingWindowSketch(windowMillis, sketchWidth, SKETCH_DEPTH);
+
+        this.ipRejections = Counter.builder("rate.limit.redirect.rejections")
+                .tag("limit", "ip")
+                .description("Redirects rejected by the redirect rate limiter")
+                .register(meterRegistry);
+
+        this.codeRejections = Counter.builder("rate.limit.redirect.rejections")
+                .tag("limit", "code")
+                .description("Redirects rejected by the redirect rate limiter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts a redirect of the code for the client.
+     *
+     * @return true if both the client and the code are within their limits
+     */
+    public boolean tryAcquire(String ip, String code) {
+        if (!enabled) {
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+
+        // An IP over its limit does not use up the code's allowance
+        if (perIpLimit > 0 && ipCounts.incrementAndEstimate(ip, now) > perIpLimit) {
+            ipRejections.increment();
+            return false;
+        }
+        if (perCodeLimit > 0 && codeCounts.incrementAndEstimate(code, now) > perCodeLimit) {
+            codeRejections.increment();
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package com.assessment.urlshortner.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.assessment.urlshortner.analytics.ClickGranularity;
+import com.assessment.urlshortner.model.ClickStat;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for reading and pruning ClickStat buckets.
+ * Buckets are written with JDBC batches by the ClickAggregator.
+ */
+@Repository
+public interface ClickStatRepository extends JpaRepository<ClickStat, Long> {
+
+    /**
+     * Finds the non-empty buckets of a code within a time range,
+     * oldest first.
+     *
+     * @param from first bucket start, inclusive
+     * @param to last bucket start, exclusive
+     */
+    @Query("SELECT s FROM ClickStat s WHERE s.code = :code AND s.granularity = :granularity "
+            + "AND s.bucketStart >= :from AND s.bucketStart < :to ORDER BY s.bucketStart")
+    List<ClickStat> findBuckets(@Param("code") String code,
+                                @Param("granularity") ClickGranularity granularity,
+                                @Param("from") Instant from,
+                                @Param("to") Instant to);
+
+    /**
+     * Deletes buckets of one granularity that start before a cutoff.
+     *
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM ClickStat s WHERE s.granularity = :granularity AND s.bucketStart < :before")
+    int deleteOlderThan(@Param("granularity") ClickGranularity granularity, @Param("before") Instant before);
+}
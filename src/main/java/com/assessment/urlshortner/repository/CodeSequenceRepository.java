@@ -0,0 +1,41 @@
+package com.assessment.urlshortner.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.assessment.urlshortner.model.CodeSequence;
+
+/**
+ * Repository interface for managing CodeSequence entities.
+ */
+@Repository
+public interface CodeSequenceRepository extends JpaRepository<CodeSequence, String> {
+
+    /**
+     * Atomically advances a sequence by {@code size} IDs.
+     *
+     * The update locks the sequence row until the surrounding
+     * transaction commits, serialising concurrent leases.
+     *
+     * @param name the sequence name
+     * @param size number of IDs to lease
+     * @return number of updated rows (0 if the sequence does not exist)
+     */
+    @Modifying
+    @Query("UPDATE CodeSequence s SET s.nextValue = s.nextValue + :size WHERE s.name = :name")
+    int advance(@Param("name") String name, @Param("size") long size);
+
+    /**
+     * Reads the current value of a sequence.
+     *
+     * @param name the sequence name
+     * @return Optional containing the next unleased ID if the sequence exists
+     */
+    @Query("SELECT s.nextValue FROM CodeSequence s WHERE s.name = :name")
+    Optional<Long> findNextValue(@Param("name") String name);
+}
@@ -0,0 +1,42 @@
+package com.assessment.urlshortner.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.assessment.urlshortner.model.RateLimitBucket;
+
+/**
+ * Repository interface for managing RateLimitBucket entities.
+ */
+@Repository
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    /**
+     * Moves a bucket's arrival time, only if nobody else updated the
+     * bucket since it was read (compare-and-set on version).
+     *
+     * @param bucketKey the client key
+     * @param version version read together with the current arrival time
+     * @param arrivalTime new arrival time in epoch microseconds
+     * @return 1 if updated, 0 if the bucket changed or is gone
+     */
+    @Modifying
+    @Query("UPDATE RateLimitBucket b SET b.arrivalTime = :arrivalTime, b.version = b.version + 1 "
+            + "WHERE b.bucketKey = :bucketKey AND b.version = :version")
+    int compareAndSet(@Param("bucketKey") String bucketKey, @Param("version") long version,
+                      @Param("arrivalTime") long arrivalTime);
+
+    /**
+     * Deletes buckets that have refilled completely; a missing row
+     * is read as a full bucket.
+     *
+     * @param now current time in epoch microseconds
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM RateLimitBucket b WHERE b.arrivalTime < :now")
+    int deleteIdle(@Param("now") long now);
+}
@@ -0,0 +1,46 @@
+package com.assessment.urlshortner.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.assessment.urlshortner.model.SchedulerLock;
+
+/**
+ * Repository interface for managing SchedulerLock entities.
+ */
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    /**
+     * Takes or renews a lock if it is free (lease ended) or already
+     * held by {@code owner}.
+     *
+     * @param name the lock name
+     * @param owner the requesting node
+     * @param now current time
+     * @param until end of the new lease
+     * @return 1 if the lock is now held by owner, otherwise 0
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedBy = :owner, l.lockedUntil = :until "
+            + "WHERE l.name = :name AND (l.lockedUntil <= :now OR l.lockedBy = :owner)")
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") Instant now, @Param("until") Instant until);
+
+    /**
+     * Ends the lease early if it is held by {@code owner}.
+     *
+     * @param name the lock name
+     * @param owner the releasing node
+     * @param now current time
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
@@ -1,14 +1,27 @@
 package com.assessment.urlshortner.repository;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import com.assessment.urlshortner.model.ExpiredUrl;
+import com.assessment.urlshortner.model.RedirectTarget;
 import com.assessment.urlshortner.model.UrlMapping;
 
 /**
@@ -30,6 +43,20 @@ public interface UrlMappingRepository extends JpaRepository<UrlMapping, Long> {
      */
     Optional<UrlMapping> findByCode(String code);
 
+    /**
+     * Resolves a short code to a lightweight redirect projection.
+     *
+     * Selects only code, longUrl and expiresAt through a constructor
+     * expression, so no managed entity is materialised and nothing
+     * is registered for dirty checking. Used on the redirect path.
+     *
+     * @param code the generated short code
+     * @return Optional containing the redirect target if found, otherwise empty
+     */
+    @Query("SELECT new com.assessment.urlshortner.model.RedirectTarget(u.code, u.longUrl, u.expiresAt, u.redirectStatus) "
+            + "FROM UrlMapping u WHERE u.code = :code")
+    Optional<RedirectTarget> findRedirectTargetByCode(@Param("code") String code);
+
     /**
      * Finds a URL mapping by its original long URL.
      *
@@ -37,6 +64,9 @@ public interface UrlMappingRepository extends JpaRepository<UrlMapping, Long> {
      * is submitted multiple times, the existing mapping
      * can be returned instead of creating a new one.
      *
+     * longUrl is no longer indexed; only used while legacy
+     * rows are still missing their longUrlHash.
+     *
      * @param longUrl the original URL
      * @return Optional containing UrlMapping if found, otherwise empty
      */
@@ -53,13 +83,123 @@ public interface UrlMappingRepository extends JpaRepository<UrlMapping, Long> {
      */
     boolean existsByCode(String code);
 
+    /**
+     * Finds URL mappings by the digest of their long URL.
+     *
+     * Indexed, fixed-width replacement for findByLongUrl. Distinct
+     * URLs may share a digest, so callers must compare the full URL.
+     *
+     * @param longUrlHash digest from UrlHasher.hash
+     * @return mappings whose long URL has that digest
+     */
+    List<UrlMapping> findByLongUrlHash(String longUrlHash);
+
+    /**
+     * Finds URL mappings for several long URL digests at once.
+     *
+     * @param longUrlHashes digests from UrlHasher.hash
+     * @return mappings whose long URL has one of the digests
+     */
+    List<UrlMapping> findByLongUrlHashIn(Collection<String> longUrlHashes);
+
+    /**
+     * Finds URL mappings for several long URLs at once.
+     * Only used while legacy rows are still missing their longUrlHash.
+     */
+    List<UrlMapping> findByLongUrlIn(Collection<String> longUrls);
+
+    /**
+     * Returns which of the given codes are already in use.
+     *
+     * @param codes candidate codes
+     * @return the subset of codes that exist
+     */
+    @Query("SELECT u.code FROM UrlMapping u WHERE u.code IN :codes")
+    Set<String> findExistingCodes(@Param("codes") Collection<String> codes);
+
+    /**
+     * Loads the next page of mappings in ID order (keyset pagination).
+     *
+     * Used to scan the whole table with bounded memory; each page
+     * stays cheap regardless of how far the scan has progressed.
+     *
+     * @param afterId last ID of the previous page (0 to start)
+     * @param pageable page size
+     * @return mappings with an ID greater than afterId
+     */
+    @Query("SELECT u FROM UrlMapping u WHERE u.id > :afterId ORDER BY u.id")
+    List<UrlMapping> findPageAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Whether any mapping still lacks a long URL digest.
+     */
+    boolean existsByLongUrlHashIsNull();
+
     boolean existsByLongUrl(String longUrl);
-    
-    @Query("SELECT COUNT(u) FROM UrlMapping u WHERE u.expiresAt < :now")
-    long countExpiredUrls(@Param("now") Instant now);
-    
+
+    /**
+     * Selects a bounded chunk of mappings that expired before {@code now},
+     * oldest first, using idx_expires_at. Rows are locked until the
+     * transaction ends, so none can have its expiry extended before
+     * it is deleted.
+     *
+     * @param now expiry cutoff
+     * @param pageable chunk size
+     * @return IDs and codes of expired mappings
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.assessment.urlshortner.model.ExpiredUrl(u.id, u.code) "
+            + "FROM UrlMapping u WHERE u.expiresAt < :now ORDER BY u.expiresAt")
+    List<ExpiredUrl> findExpired(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Deletes the given mappings by primary key.
+     *
+     * @param ids mapping IDs
+     * @return number of deleted rows
+     */
     @Modifying
-    @Query("DELETE FROM UrlMapping u WHERE u.expiresAt < :now")
-    void deleteExpiredUrls(@Param("now") Instant now);
-}
+    @Query("DELETE FROM UrlMapping u WHERE u.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Selects the mappings of the given codes that are still expired
+     * before {@code now}, locking the rows until the transaction ends
+     * so exactly these can then be deleted.
+     *
+     * @param codes candidate codes
+     * @param now expiry cutoff
+     * @return IDs and codes of the locked, expired mappings
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.assessment.urlshortner.model.ExpiredUrl(u.id, u.code) "
+            + "FROM UrlMapping u WHERE u.code IN :codes AND u.expiresAt < :now")
+    List<ExpiredUrl> lockExpiredByCodes(@Param("codes") Collection<String> codes, @Param("now") Instant now);
+
+    /**
+     * Returns the earliest expiry among mappings expired before {@code now},
+     * or null if there are none. Measures how far cleanup is behind.
+     */
+    @Query("SELECT MIN(u.expiresAt) FROM UrlMapping u WHERE u.expiresAt < :now")
+    Instant findOldestExpiry(@Param("now") Instant now);
+
+    /**
+     * Returns the highest mapping ID, or null when the table is empty.
+     */
+    @Query("SELECT MAX(u.id) FROM UrlMapping u")
+    Long findMaxId();
 
+    /**
+     * Streams the codes of mappings with IDs in (fromId, toId].
+     *
+     * Rows are fetched from a cursor in batches rather than loaded
+     * into a list; must be consumed inside a transaction and closed.
+     *
+     * @param fromId exclusive lower ID bound
+     * @param toId inclusive upper ID bound
+     * @return stream of short codes
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.code FROM UrlMapping u WHERE u.id > :fromId AND u.id <= :toId")
+    Stream<String> streamCodesInIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+}
@@ -0,0 +1,252 @@
+package com.assessment.urlshortner.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assessment.urlshortner.cache.CodeBloomFilter;
+import com.assessment.urlshortner.cache.ExpiryTracker;
+import com.assessment.urlshortner.cache.RedirectCache;
+import com.assessment.urlshortner.dto.BatchUrlMappingResponse;
+import com.assessment.urlshortner.dto.UrlMappingRequest;
+import com.assessment.urlshortner.dto.UrlMappingResponse;
+import com.assessment.urlshortner.model.UrlMapping;
+import com.assessment.urlshortner.repository.UrlMappingRepository;
+import com.assessment.urlshortner.utils.UrlHasher;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Description: Shortens many URLs in one request.
+ *
+ *              The batch is deduplicated, then processed in chunks of
+ *              shortener.batch.chunk-size distinct URLs. Each chunk does
+ *              one set-based lookup for existing mappings, allocates the
+ *              missing codes in bulk and writes them with JDBC batch
+ *              inserts, all in its own transaction. Chunks commit
+ *              independently; since creation is idempotent, a failed
+ *              batch can simply be resubmitted.
+ */
+@Service
+public class BatchUrlMappingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchUrlMappingService.class);
+
+    // Attempts per chunk when a code is taken concurrently between allocation and insert
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    private final UrlMappingRepository urlMappingRepository;
+
+    private final CodeAllocator codeAllocator;
+
+    private final UrlMappingBatchInserter batchInserter;
+
+    private final RedirectCache redirectCache;
+
+    private final CodeBloomFilter codeBloomFilter;
+
+    private final LongUrlHashBackfill longUrlHashBackfill;
+
+    private final ExpiryTracker expiryTracker;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Distinct URLs looked up and inserted per transaction
+    private final int chunkSize;
+
+    // Base URL for generating short links
+    @Value("${shortener.base-url}")
+    private String baseUrl;
+
+    // Default expiry duration in days
+    @Value("${shortener.default-expiry-days:30}")
+    private int defaultExpiryDays;
+
+    public BatchUrlMappingService(
+            UrlMappingRepository urlMappingRepository,
+            CodeAllocator codeAllocator,
+            UrlMappingBatchInserter batchInserter,
+            RedirectCache redirectCache,
+            CodeBloomFilter codeBloomFilter,
+            LongUrlHashBackfill longUrlHashBackfill,
+            ExpiryTracker expiryTracker,
+            PlatformTransactionManager transactionManager,
+            @Value("${shortener.batch.chunk-size:1000}") int chunkSize) {
+
+        this.urlMappingRepository = urlMappingRepository;
+        this.codeAllocator = codeAllocator;
+        this.batchInserter = batchInserter;
+        this.redirectCache = redirectCache;
+        this.codeBloomFilter = codeBloomFilter;
+        this.longUrlHashBackfill = longUrlHashBackfill;
+        this.expiryTracker = expiryTracker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates short URLs for all requests, reusing unexpired existing
+     * mappings. Results are returned in request order; a URL repeated
+     * in the batch gets the same code each time.
+     */
+    public BatchUrlMappingResponse createShortUrls(List<UrlMappingRequest> requests) {
+
+        // Deduplicate within the batch (first occurrence wins)
+        Map<String, UrlMappingRequest> distinct = new LinkedHashMap<>();
+        for (UrlMappingRequest request : requests) {
+            distinct.putIfAbsent(request.getLongUrl(), request);
+        }
+
+        Map<String, String> codes = new HashMap<>(distinct.size() * 2);
+        int created = 0;
+
+        List<UrlMappingRequest> chunk = new ArrayList<>(chunkSize);
+        for (UrlMappingRequest request : distinct.values()) {
+            chunk.add(request);
+            if (chunk.size() == chunkSize) {
+                created += processChunk(chunk, codes);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += processChunk(chunk, codes);
+        }
+
+        List<UrlMappingResponse> results = new ArrayList<>(requests.size());
+        for (UrlMappingRequest request : requests) {
+            String code = codes.get(request.getLongUrl());
+            results.add(new UrlMappingResponse(code, baseUrl + "/r/" + code));
+        }
+
+        int existing = distinct.size() - created;
+        logger.info("Batch shortened {} URLs: {} created, {} existing", requests.size(), created, existing);
+
+        return new BatchUrlMappingResponse(results, created, existing);
+    }
+
+    /**
+     * Runs one chunk in its own transaction and records its codes.
+     * Returns the number of mappings created.
+     */
+    private int processChunk(List<UrlMappingRequest> chunk, Map<String, String> codes) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ChunkResult result = transactionTemplate.execute(status -> createChunk(chunk));
+
+                codes.putAll(result.codes());
+
+                // Committed: drop stale cache entries and publish new codes
+                result.deletedCodes().forEach(redirectCache::invalidate);
+                for (UrlMapping mapping : result.created()) {
+                    redirectCache.invalidate(mapping.getCode());
+                    codeBloomFilter.add(mapping.getCode());
+                    expiryTracker.track(mapping.getCode(), mapping.getExpiresAt());
+                }
+                return result.created().size();
+
+            } catch (DuplicateKeyException e) {
+                if (attempt >= MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                logger.warn("Code collision while inserting batch chunk, attempt: {}", attempt);
+            }
+        }
+    }
+
+    private ChunkResult createChunk(List<UrlMappingRequest> chunk) {
+        Map<String, UrlMapping> existing = findExisting(chunk);
+
+        Map<String, String> codes = new HashMap<>(chunk.size() * 2);
+        List<UrlMapping> expired = new ArrayList<>();
+        List<UrlMappingRequest> missing = new ArrayList<>();
+
+        for (UrlMappingRequest request : chunk) {
+            UrlMapping mapping = existing.get(request.getLongUrl());
+
+            if (mapping != null && !mapping.isExpired()) {
+                codes.put(request.getLongUrl(), mapping.getCode());
+                continue;
+            }
+
+            // Expired mappings are removed and recreated
+            if (mapping != null) {
+                expired.add(mapping);
+            }
+            missing.add(request);
+        }
+
+        List<String> deletedCodes = new ArrayList<>(expired.size());
+        if (!expired.isEmpty()) {
+            urlMappingRepository.deleteAllInBatch(expired);
+            expired.forEach(mapping -> deletedCodes.add(mapping.getCode()));
+        }
+
+        List<String> allocated = missing.isEmpty() ? List.of() : codeAllocator.allocate(missing.size());
+
+        List<UrlMapping> mappings = new ArrayList<>(missing.size());
+        for (int i = 0; i < missing.size(); i++) {
+            UrlMappingRequest request = missing.get(i);
+            String code = allocated.get(i);
+
+            UrlMapping mapping = new UrlMapping(code, request.getLongUrl(), calculateExpiry(request.getExpiryDays()));
+            mapping.setRedirectStatus(request.getRedirectStatus());
+            mappings.add(mapping);
+            codes.put(request.getLongUrl(), code);
+        }
+
+        batchInserter.insert(mappings);
+
+        return new ChunkResult(codes, mappings, deletedCodes);
+    }
+
+    /**
+     * Looks up existing mappings for all URLs of a chunk with one query,
+     * keyed by long URL. Prefers an unexpired mapping when a URL has several.
+     */
+    private Map<String, UrlMapping> findExisting(List<UrlMappingRequest> chunk) {
+        List<String> longUrls = new ArrayList<>(chunk.size());
+        chunk.forEach(request -> longUrls.add(request.getLongUrl()));
+
+        List<UrlMapping> candidates;
+        if (longUrlHashBackfill.isComplete()) {
+            List<String> hashes = new ArrayList<>(longUrls.size());
+            longUrls.forEach(longUrl -> hashes.add(UrlHasher.hash(longUrl)));
+            candidates = urlMappingRepository.findByLongUrlHashIn(hashes);
+        } else {
+            candidates = urlMappingRepository.findByLongUrlIn(longUrls);
+        }
+
+        Map<String, UrlMapping> existing = new HashMap<>(candidates.size() * 2);
+        for (UrlMapping candidate : candidates) {
+            // Hash matches are verified against the full URL
+            existing.merge(candidate.getLongUrl(), candidate,
+                    (current, other) -> current.isExpired() ? other : current);
+        }
+        existing.keySet().retainAll(new HashSet<>(longUrls));
+        return existing;
+    }
+
+    /**
+     * Calculates expiration time based on provided or default expiry days.
+     */
+    private Instant calculateExpiry(Integer expiryDays) {
+        if (expiryDays != null && expiryDays > 0) {
+            return Instant.now().plusSeconds(expiryDays * 24 * 60 * 60L);
+        }
+        return Instant.now().plusSeconds(defaultExpiryDays * 24 * 60 * 60L);
+    }
+
+    // Outcome of one committed chunk
+    private record ChunkResult(Map<String, String> codes, List<UrlMapping> created, List<String> deletedCodes) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.assessment.urlshortner.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assessment.urlshortner.analytics.ClickGranularity;
+import com.assessment.urlshortner.dto.ClickStatsResponse;
+import com.assessment.urlshortner.exception.UrlNotFoundException;
+import com.assessment.urlshortner.model.ClickStat;
+import com.assessment.urlshortner.repository.ClickStatRepository;
+import com.assessment.urlshortner.repository.UrlMappingRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Description: Serves click statistics from the pre-aggregated
+ *              click_stats buckets written by the ClickAggregator,
+ *              and deletes buckets past their retention.
+ *
+ *              Counts lag the redirects by up to
+ *              shortener.analytics.flush-interval-ms.
+ */
+@Service
+public class ClickStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClickStatsService.class);
+
+    private final ClickStatRepository clickStatRepository;
+
+    private final UrlMappingRepository urlMappingRepository;
+
+    // Days each granularity is kept; 0 keeps it forever
+    private final Map<ClickGranularity, Long> retentionDays = new EnumMap<>(ClickGranularity.class);
+
+    public ClickStatsService(
+            ClickStatRepository clickStatRepository,
+            UrlMappingRepository urlMappingRepository,
+            @Value("${shortener.analytics.retention.minute-days:7}") long minuteRetentionDays,
+            @Value("${shortener.analytics.retention.hour-days:90}") long hourRetentionDays,
+            @Value("${shortener.analytics.retention.day-days:0}") long dayRetentionDays) {
+
+        this.clickStatRepository = clickStatRepository;
+        this.urlMappingRepository = urlMappingRepository;
+        this.retentionDays.put(ClickGranularity.MINUTE, minuteRetentionDays);
+        this.retentionDays.put(ClickGranularity.HOUR, hourRetentionDays);
+        this.retentionDays.put(ClickGranularity.DAY, dayRetentionDays);
+    }
+
+    /**
+     * Click counts of a code per bucket.
+     *
+     * @param from start of the range, rounded down to a bucket start
+     * @param to end of the range, exclusive
+     */
+    @Transactional(readOnly = true)
+    public ClickStatsResponse getClickStats(String code, ClickGranularity granularity, Instant from, Instant to) {
+
+        if (!urlMappingRepository.existsByCode(code)) {
+            throw new UrlNotFoundException("Short URL not found");
+        }
+
+        Instant start = Instant.ofEpochMilli(granularity.bucketStart(from.toEpochMilli()));
+
+        List<ClickStatsResponse.Bucket> buckets = new ArrayList<>();
+        long total = 0;
+        for (ClickStat stat : clickStatRepository.findBuckets(code, granularity, start, to)) {
+            buckets.add(new ClickStatsResponse.Bucket(stat.getBucketStart(), stat.getClicks()));
+            total += stat.getClicks();
+        }
+
+        return new ClickStatsResponse(code, granularity.name().toLowerCase(Locale.ROOT),
+                start, to, total, buckets);
+    }
+
+    /**
+     * Deletes buckets older than their granularity's retention.
+     * Runs on every node; repeated deletes are no-ops.
+     */
+    @Scheduled(
+            initialDelayString = "${shortener.analytics.retention.interval-ms:3600000}",
+            fixedDelayString = "${shortener.analytics.retention.interval-ms:3600000}")
+    @Transactional
+    public void deleteExpiredBuckets() {
+        Instant now = Instant.now();
+
+        retentionDays.forEach((granularity, days) -> {
+            if (days <= 0) {
+                return;
+            }
+            int deleted = clickStatRepository.deleteOlderThan(granularity, now.minus(Duration.ofDays(days)));
+            if (deleted > 0) {
+                logger.debug("Deleted {} {} click buckets past retention", deleted, granularity);
+            }
+        });
+    }
+}
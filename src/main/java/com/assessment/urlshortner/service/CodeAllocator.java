@@ -0,0 +1,33 @@
+package com.assessment.urlshortner.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Description: Strategy for allocating short codes for new URL
+ *              mappings. Implementations must never return a code
+ *              that is already in use.
+ *
+ *              Selected with shortener.code-allocator.strategy
+ *              (random | sequence).
+ */
+public interface CodeAllocator {
+
+    /**
+     * Allocates a short code that is not in use.
+     */
+    String allocate();
+
+    /**
+     * Allocates {@code count} distinct short codes that are not in use.
+     * Implementations should override this when they can check or
+     * reserve codes in bulk.
+     */
+    default List<String> allocate(int count) {
+        List<String> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            codes.add(allocate());
+        }
+        return codes;
+    }
+}
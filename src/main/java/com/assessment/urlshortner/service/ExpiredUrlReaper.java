@@ -0,0 +1,314 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assessment.urlshortner.cache.CodeBloomFilter;
+import com.assessment.urlshortner.cache.ExpiryTracker;
+import com.assessment.urlshortner.event.ExpiredUrlsReapedEvent;
+import com.assessment.urlshortner.model.ExpiredUrl;
+import com.assessment.urlshortner.repository.UrlMappingRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Description: Scheduled deletion of expired URL mappings.
+ *
+ *              Each run first deletes the exact codes the ExpiryTracker
+ *              saw expire on this node, by the unique code index, on
+ *              every node. Mappings nobody tracked are caught by a range
+ *              scan at most every shortener.reaper.full-scan-interval-ms:
+ *              rows selected oldest-first through idx_expires_at and
+ *              deleted by primary key. Only the node holding the
+ *              scheduler lock row scans; after a scan that cleared the
+ *              backlog it keeps the lock for the scan interval, so other
+ *              nodes do not repeat the scan.
+ *
+ *              Both passes work in chunks of shortener.reaper.chunk-size
+ *              rows, each in its own short transaction, pause between
+ *              chunks and cap the chunks per run. Rows are locked when
+ *              selected, so a mapping whose expiry is extended meanwhile
+ *              is neither deleted nor reported. After each chunk an
+ *              ExpiredUrlsReapedEvent with the deleted codes is
+ *              published in-process.
+ */
+@Component
+public class ExpiredUrlReaper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredUrlReaper.class);
+
+    static final String LOCK_NAME = "expired-url-reaper";
+
+    private final UrlMappingRepository urlMappingRepository;
+
+    private final LeaderLock leaderLock;
+
+    private final CodeBloomFilter codeBloomFilter;
+
+    private final ExpiryTracker expiryTracker;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    // Rows deleted per transaction
+    private final int chunkSize;
+
+    // Upper bound on chunks per run; the rest is left for the next run
+    private final int maxChunksPerRun;
+
+    // Pause between chunks
+    private final long chunkPauseMs;
+
+    // Lease on the scheduler lock, renewed after every chunk
+    private final Duration lockLease;
+
+    // Minimum time between range scans across the cluster
+    private final Duration fullScanInterval;
+
+    // Earliest time this node scans again
+    private volatile long nextScanMillis;
+
+    private final Counter candidateCounter;
+
+    private final Counter scanCounter;
+
+    private final Timer runTimer;
+
+    // Age of the oldest expired mapping still present, as of the last run
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public ExpiredUrlReaper(
+            UrlMappingRepository urlMappingRepository,
+            LeaderLock leaderLock,
+            CodeBloomFilter codeBloomFilter,
+            ExpiryTracker expiryTracker,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${shortener.reaper.enabled:true}") boolean enabled,
+            @Value("${shortener.reaper.chunk-size:1000}") int chunkSize,
+            @Value("${shortener.reaper.max-chunks-per-run:100}") int maxChunksPerRun,
+            @Value("${shortener.reaper.chunk-pause-ms:50}") long chunkPauseMs,
+            @Value("${shortener.reaper.lock-lease-ms:300000}") long lockLeaseMs,
+            @Value("${shortener.reaper.full-scan-interval-ms:3600000}") long fullScanIntervalMs) {
+
+        this.urlMappingRepository = urlMappingRepository;
+        this.leaderLock = leaderLock;
+        this.codeBloomFilter = codeBloomFilter;
+        this.expiryTracker = expiryTracker;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.chunkPauseMs = chunkPauseMs;
+        this.lockLease = Duration.ofMillis(lockLeaseMs);
+        this.fullScanInterval = Duration.ofMillis(fullScanIntervalMs);
+
+        this.candidateCounter = Counter.builder("shortener.reaper.reaped")
+                .tag("source", "candidates")
+                .description("Expired URL mappings deleted by the reaper")
+                .register(meterRegistry);
+
+        this.scanCounter = Counter.builder("shortener.reaper.reaped")
+                .tag("source", "scan")
+                .description("Expired URL mappings deleted by the reaper")
+                .register(meterRegistry);
+
+        this.runTimer = Timer.builder("shortener.reaper.run")
+                .description("Duration of expiry reaper range scans on the leader node")
+                .register(meterRegistry);
+
+        Gauge.builder("shortener.reaper.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest expired URL mapping not yet deleted")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${shortener.reaper.initial-delay-ms:60000}",
+            fixedDelayString = "${shortener.reaper.interval-ms:60000}")
+    public void scheduledReap() {
+        if (enabled) {
+            reap();
+        }
+    }
+
+    /**
+     * Deletes the expired candidates tracked on this node, then runs
+     * a range scan if one is due and this node can take the lock.
+     *
+     * @return number of mappings deleted
+     */
+    public long reap() {
+        long total = reapCandidates();
+
+        if (System.currentTimeMillis() >= nextScanMillis) {
+            total += reapByScan();
+        }
+        return total;
+    }
+
+    /**
+     * Deletes the codes the expiry tracker saw expire, by code.
+     * Safe on every node: a code is only deleted while still expired.
+     */
+    private long reapCandidates() {
+        Instant now = Instant.now();
+        long total = 0L;
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            List<String> codes = expiryTracker.drainCandidates(chunkSize);
+            if (codes.isEmpty()) {
+                break;
+            }
+
+            List<String> deleted = transactionTemplate.execute(status -> deleteCandidates(codes, now));
+
+            if (deleted != null && !deleted.isEmpty()) {
+                total += deleted.size();
+                candidateCounter.increment(deleted.size());
+                eventPublisher.publishEvent(new ExpiredUrlsReapedEvent(deleted, now));
+            }
+
+            if (codes.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            logger.info("Reaped {} tracked expired URLs", total);
+        }
+        return total;
+    }
+
+    /**
+     * Range-scans for expired mappings, in chunks, if this node
+     * can take the scheduler lock.
+     */
+    private long reapByScan() {
+        if (!leaderLock.tryAcquire(LOCK_NAME, lockLease)) {
+            logger.debug("Expiry reaper scan is running or was run on another node");
+            return 0L;
+        }
+
+        Timer.Sample sample = Timer.start();
+        Instant now = Instant.now();
+        long total = 0L;
+        boolean backlogCleared = false;
+
+        try {
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                List<String> codes = transactionTemplate.execute(status -> reapChunk(now));
+
+                if (codes == null || codes.isEmpty()) {
+                    backlogCleared = true;
+                    break;
+                }
+
+                total += codes.size();
+                scanCounter.increment(codes.size());
+                eventPublisher.publishEvent(new ExpiredUrlsReapedEvent(codes, now));
+
+                if (codes.size() < chunkSize) {
+                    backlogCleared = true;
+                    break;
+                }
+                if (!pause() || !leaderLock.tryAcquire(LOCK_NAME, lockLease)) {
+                    break;
+                }
+            }
+
+            updateLag();
+
+            if (total > 0) {
+                // Deleted codes cannot be removed from the Bloom filter
+                codeBloomFilter.requestRebuild();
+                logger.info("Reaped {} expired URLs", total);
+            }
+
+        } finally {
+            sample.stop(runTimer);
+
+            if (backlogCleared) {
+                // Keep the lock until the next scan is due so no other node repeats it
+                nextScanMillis = System.currentTimeMillis() + fullScanInterval.toMillis();
+                leaderLock.tryAcquire(LOCK_NAME, fullScanInterval);
+            } else {
+                leaderLock.release(LOCK_NAME);
+            }
+        }
+
+        return total;
+    }
+
+    private List<String> reapChunk(Instant now) {
+        return delete(urlMappingRepository.findExpired(now, PageRequest.of(0, chunkSize)));
+    }
+
+    // Candidates that are no longer expired (or gone) are left alone
+    private List<String> deleteCandidates(List<String> codes, Instant now) {
+        return delete(urlMappingRepository.lockExpiredByCodes(codes, now));
+    }
+
+    /**
+     * Deletes mappings locked by the current transaction and returns
+     * their codes.
+     */
+    private List<String> delete(List<ExpiredUrl> expired) {
+        if (expired.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(expired.size());
+        List<String> codes = new ArrayList<>(expired.size());
+        for (ExpiredUrl url : expired) {
+            ids.add(url.getId());
+            codes.add(url.getCode());
+        }
+
+        urlMappingRepository.deleteByIds(ids);
+        return codes;
+    }
+
+    private void updateLag() {
+        try {
+            Instant now = Instant.now();
+            Instant oldest = urlMappingRepository.findOldestExpiry(now);
+            lagSeconds.set(oldest == null ? 0L : Duration.between(oldest, now).getSeconds());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to measure expiry reaper lag: {}", e.getMessage());
+        }
+    }
+
+    // Yields between chunks; returns false if interrupted
+    private boolean pause() {
+        if (chunkPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Description: Accumulates redirect hit counts in memory and
+ *              periodically flushes them to the database in a
+ *              single batched UPDATE, so the redirect path never
+ *              writes to (or locks) the url_mappings row.
+ */
+@Component
+public class HitCountAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(HitCountAggregator.class);
+
+    // One statement per code, executed as a single JDBC batch
+    static final String INCREMENT_SQL =
+            "UPDATE url_mappings SET hit_count = hit_count + ? WHERE code = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Unflushed hits per code; LongAdder keeps hot codes contention-free
+    private final Map<String, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // Total unflushed hits across all codes (exported as a gauge)
+    private final LongAdder pendingTotal = new LongAdder();
+
+    // Idle entries removed by the last flush; a record() that fetched one of these
+    // adders just before the removal may still add to it, so the next flush reads them again
+    private final List<Map.Entry<String, LongAdder>> retired = new ArrayList<>();
+
+    public HitCountAggregator(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("shortener.hits.pending", pendingTotal, LongAdder::sum)
+                .description("Redirect hits recorded in memory but not yet flushed to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a single hit for a code. Lock-free on the hot path.
+     */
+    public void record(String code) {
+        LongAdder adder = pending.get(code);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(code, k -> new LongAdder());
+        }
+        adder.increment();
+        pendingTotal.increment();
+    }
+
+    /**
+     * Returns the number of hits recorded for a code that are not yet
+     * persisted, including those of a flush that has not committed yet.
+     */
+    public long getPending(String code) {
+        LongAdder adder = pending.get(code);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /**
+     * Flushes all pending hits in one batched UPDATE.
+     *
+     * Codes are written in sorted order so concurrent flushes from
+     * several nodes lock rows in the same order. The written counts
+     * stay in the adders, and so in getPending, until the transaction
+     * commits; on failure they are simply retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "${shortener.hits.flush-interval-ms:5000}")
+    public synchronized void flush() {
+
+        // Hits that reached an adder after the previous flush removed it
+        for (Map.Entry<String, LongAdder> entry : retired) {
+            long late = entry.getValue().sumThenReset();
+            if (late > 0) {
+                pending.computeIfAbsent(entry.getKey(), k -> new LongAdder()).add(late);
+            }
+        }
+        retired.clear();
+
+        // Sorted snapshot of the deltas to write; only flush removes entries
+        Map<String, Long> drained = new TreeMap<>();
+
+        for (Map.Entry<String, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sum();
+
+            if (delta > 0) {
+                drained.put(entry.getKey(), delta);
+            } else if (pending.remove(entry.getKey(), entry.getValue())) {
+                // Idle since the last flush: drop the entry, keeping any hit that raced the removal
+                long late = entry.getValue().sumThenReset();
+                if (late > 0) {
+                    pending.computeIfAbsent(entry.getKey(), k -> new LongAdder()).add(late);
+                }
+                retired.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(drained.size());
+        long total = 0;
+        for (Map.Entry<String, Long> entry : drained.entrySet()) {
+            batchArgs.add(new Object[] { entry.getValue(), entry.getKey() });
+            total += entry.getValue();
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> jdbcTemplate.batchUpdate(INCREMENT_SQL, batchArgs));
+
+            // Committed: take the written counts out, keeping hits recorded meanwhile
+            drained.forEach((code, delta) -> pending.get(code).add(-delta));
+            pendingTotal.add(-total);
+            logger.debug("Flushed {} hits for {} codes", total, drained.size());
+        } catch (RuntimeException e) {
+            // The counts are still pending and are retried on the next flush
+            logger.warn("Failed to flush {} pending hits, will retry: {}", total, e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes remaining hits on shutdown.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,105 @@
+package com.assessment.urlshortner.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assessment.urlshortner.model.SchedulerLock;
+import com.assessment.urlshortner.repository.SchedulerLockRepository;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Description: Cluster-wide, lease-based lock backed by a row in
+ *              scheduler_locks, so a scheduled job runs on a single
+ *              node at a time.
+ *
+ *              A lease that is not released (e.g. the node died)
+ *              expires on its own. Lease times compare clocks of
+ *              different nodes, so leases must be much longer than
+ *              the expected clock skew.
+ */
+@Component
+public class LeaderLock {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderLock.class);
+
+    private final SchedulerLockRepository schedulerLockRepository;
+
+    private final TransactionTemplate lockTransaction;
+
+    // Identifies this node as lock holder
+    private final String owner;
+
+    public LeaderLock(
+            SchedulerLockRepository schedulerLockRepository,
+            PlatformTransactionManager transactionManager) {
+
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.lockTransaction = new TransactionTemplate(transactionManager);
+        this.lockTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.owner = hostName() + ":" + UUID.randomUUID();
+    }
+
+    /**
+     * Takes the named lock, or extends it when already held by this node.
+     *
+     * @return true if this node holds the lock for the next {@code lease}
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        Instant now = Instant.now();
+        Instant until = now.plus(lease);
+
+        try {
+            Boolean acquired = lockTransaction.execute(status -> {
+                if (schedulerLockRepository.tryAcquire(name, owner, now, until) > 0) {
+                    return true;
+                }
+                if (schedulerLockRepository.existsById(name)) {
+                    return false;
+                }
+                schedulerLockRepository.saveAndFlush(new SchedulerLock(name, owner, until));
+                return true;
+            });
+            return Boolean.TRUE.equals(acquired);
+
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the lock row concurrently and holds it
+            logger.debug("Lock {} created concurrently by another node", name);
+            return false;
+        }
+    }
+
+    /**
+     * Releases the named lock if this node holds it.
+     */
+    public void release(String name) {
+        try {
+            lockTransaction.executeWithoutResult(status ->
+                    schedulerLockRepository.release(name, owner, Instant.now()));
+        } catch (RuntimeException e) {
+            // The lease runs out on its own
+            logger.warn("Failed to release lock {}: {}", name, e.getMessage());
+        }
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
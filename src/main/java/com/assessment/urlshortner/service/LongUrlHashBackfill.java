@@ -0,0 +1,142 @@
+package com.assessment.urlshortner.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assessment.urlshortner.repository.UrlMappingRepository;
+import com.assessment.urlshortner.utils.UrlHasher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Description: Populates url_mappings.long_url_hash for rows created
+ *              before the column existed.
+ *
+ *              Runs once in the background after startup, walking the
+ *              table by ID in chunks, each committed on its own so the
+ *              migration never holds long locks. Until it finishes,
+ *              idempotent lookups fall back to the legacy long_url
+ *              comparison. Once done, the legacy idx_long_url index
+ *              can optionally be dropped.
+ */
+@Component
+public class LongUrlHashBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(LongUrlHashBackfill.class);
+
+    static final String SELECT_SQL =
+            "SELECT id, long_url FROM url_mappings WHERE long_url_hash IS NULL AND id > ? ORDER BY id LIMIT ?";
+
+    static final String UPDATE_SQL =
+            "UPDATE url_mappings SET long_url_hash = ? WHERE id = ? AND long_url_hash IS NULL";
+
+    static final String DROP_LEGACY_INDEX_SQL = "DROP INDEX IF EXISTS idx_long_url";
+
+    private final UrlMappingRepository urlMappingRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final boolean dropLegacyIndex;
+
+    // True once no row is missing its hash
+    private volatile boolean complete;
+
+    public LongUrlHashBackfill(
+            UrlMappingRepository urlMappingRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${shortener.url-hash.backfill-batch-size:1000}") int batchSize,
+            @Value("${shortener.url-hash.drop-legacy-index:false}") boolean dropLegacyIndex) {
+
+        this.urlMappingRepository = urlMappingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.dropLegacyIndex = dropLegacyIndex;
+    }
+
+    /**
+     * Whether every mapping has a long URL hash, so lookups by hash are complete.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Checks for legacy rows once the application is up and
+     * backfills them in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (!urlMappingRepository.existsByLongUrlHashIsNull()) {
+            onComplete();
+            return;
+        }
+
+        Thread thread = new Thread(this::backfill, "long-url-hash-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void backfill() {
+        try {
+            long lastId = 0L;
+            long updated = 0L;
+            int chunk;
+
+            do {
+                long fromId = lastId;
+                List<Object[]> rows = new ArrayList<>();
+
+                chunk = transactionTemplate.execute(status -> {
+                    jdbcTemplate.query(SELECT_SQL,
+                            (RowCallbackHandler) rs -> rows.add(
+                                    new Object[] { UrlHasher.hash(rs.getString(2)), rs.getLong(1) }),
+                            fromId, batchSize);
+
+                    if (!rows.isEmpty()) {
+                        jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+                    }
+                    return rows.size();
+                });
+
+                if (chunk > 0) {
+                    lastId = (Long) rows.get(chunk - 1)[1];
+                    updated += chunk;
+                }
+            } while (chunk == batchSize);
+
+            logger.info("Backfilled long URL hash for {} mappings", updated);
+            onComplete();
+
+        } catch (RuntimeException e) {
+            logger.warn("Failed to backfill long URL hashes, using legacy lookups: {}", e.getMessage());
+        }
+    }
+
+    private void onComplete() {
+        complete = true;
+
+        if (dropLegacyIndex) {
+            try {
+                jdbcTemplate.execute(DROP_LEGACY_INDEX_SQL);
+                logger.info("Dropped legacy index idx_long_url");
+            } catch (RuntimeException e) {
+                logger.warn("Failed to drop legacy index idx_long_url: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.assessment.urlshortner.cache.CodeBloomFilter;
+import com.assessment.urlshortner.repository.UrlMappingRepository;
+import com.assessment.urlshortner.utils.ShortenerMetrics;
+import com.assessment.urlshortner.utils.UrlCodeGenerator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Description: Allocates random Base62 codes and checks each
+ *              candidate against the database. After maxRetries
+ *              collisions at one length the code is widened by one
+ *              character, and checking continues at the new length.
+ *
+ *              Candidates the Bloom filter reports as definitely
+ *              absent skip the database check; one taken meanwhile by
+ *              another node fails the insert, which callers retry. Bulk allocation checks
+ *              all remaining candidates with a single IN query per round.
+ *
+ *              Collisions per allocation are recorded as a distribution
+ *              (shortener.code.collisions); a rising tail means the code
+ *              space is filling up and shortener.code-length should grow.
+ */
+@Component
+@ConditionalOnProperty(name = "shortener.code-allocator.strategy", havingValue = "random", matchIfMissing = true)
+public class RandomCodeAllocator implements CodeAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(RandomCodeAllocator.class);
+
+    // Longest code accepted by UrlCodeGenerator.isValidCode
+    private static final int MAX_CODE_LENGTH = 10;
+
+    private final UrlMappingRepository urlMappingRepository;
+
+    private final UrlCodeGenerator urlCodeGenerator;
+
+    private final CodeBloomFilter codeBloomFilter;
+
+    // Length of generated short codes
+    private final int codeLength;
+
+    // Maximum retry attempts per length for code collision handling
+    private final int maxRetries;
+
+    // Taken candidates drawn per single-code allocation
+    private final DistributionSummary collisions;
+
+    // Taken candidates drawn per bulk allocation
+    private final DistributionSummary bulkCollisions;
+
+    public RandomCodeAllocator(
+            UrlMappingRepository urlMappingRepository,
+            UrlCodeGenerator urlCodeGenerator,
+            CodeBloomFilter codeBloomFilter,
+            MeterRegistry meterRegistry,
+            @Value("${shortener.code-length:6}") int codeLength,
+            @Value("${shortener.max-retries:3}") int maxRetries) {
+
+        this.urlMappingRepository = urlMappingRepository;
+        this.urlCodeGenerator = urlCodeGenerator;
+        this.codeBloomFilter = codeBloomFilter;
+        this.codeLength = codeLength;
+        this.maxRetries = Math.max(1, maxRetries);
+
+        // Every length up to MAX_CODE_LENGTH may use all its retries
+        long maxCollisions = Math.max(1L, (long) this.maxRetries * (MAX_CODE_LENGTH - codeLength + 1));
+        this.collisions = collisionSummary(meterRegistry, "single", maxCollisions);
+        this.bulkCollisions = collisionSummary(meterRegistry, "bulk", maxCollisions);
+    }
+
+    private static DistributionSummary collisionSummary(MeterRegistry meterRegistry, String mode, long max) {
+        return ShortenerMetrics.countDistribution("shortener.code.collisions",
+                        "Codes found taken before free ones were allocated", max)
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String allocate() {
+        int taken = 0;
+        for (int length = codeLength; length <= MAX_CODE_LENGTH; length++) {
+            for (int attempt = 1; attempt <= maxRetries; attempt++) {
+                String code = urlCodeGenerator.generateCode(length);
+
+                if (!codeBloomFilter.mightExist(code) || !urlMappingRepository.existsByCode(code)) {
+                    collisions.record(taken);
+                    return code;
+                }
+
+                taken++;
+                logger.warn("Code collision detected for code: {}, attempt: {}", code, attempt);
+            }
+        }
+
+        collisions.record(taken);
+        throw new IllegalStateException("Unable to allocate a unique short code");
+    }
+
+    @Override
+    public List<String> allocate(int count) {
+        Set<String> codes = new LinkedHashSet<>(count * 2);
+        int length = codeLength;
+        int attempt = 1;
+        int collided = 0;
+
+        while (codes.size() < count) {
+            // Draw the missing number of candidates, distinct within the batch
+            Set<String> candidates = new LinkedHashSet<>();
+            while (candidates.size() < count - codes.size()) {
+                String code = urlCodeGenerator.generateCode(length);
+                if (!codes.contains(code)) {
+                    candidates.add(code);
+                }
+            }
+
+            List<String> toCheck = new ArrayList<>();
+            for (String code : candidates) {
+                if (codeBloomFilter.mightExist(code)) {
+                    toCheck.add(code);
+                }
+            }
+
+            Set<String> taken = toCheck.isEmpty() ? Set.of() : urlMappingRepository.findExistingCodes(toCheck);
+            for (String code : candidates) {
+                if (!taken.contains(code)) {
+                    codes.add(code);
+                }
+            }
+
+            if (taken.isEmpty()) {
+                continue;
+            }
+
+            collided += taken.size();
+
+            logger.warn("{} code collisions detected in bulk allocation, attempt: {}", taken.size(), attempt);
+
+            if (++attempt > maxRetries) {
+                if (++length > MAX_CODE_LENGTH) {
+                    bulkCollisions.record(collided);
+                    throw new IllegalStateException("Unable to allocate unique short codes");
+                }
+                attempt = 1;
+            }
+        }
+
+        bulkCollisions.record(collided);
+        return new ArrayList<>(codes);
+    }
+}
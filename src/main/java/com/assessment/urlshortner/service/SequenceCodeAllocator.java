@@ -0,0 +1,235 @@
+package com.assessment.urlshortner.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assessment.urlshortner.model.CodeSequence;
+import com.assessment.urlshortner.repository.CodeSequenceRepository;
+import com.assessment.urlshortner.utils.Base62Codec;
+import com.assessment.urlshortner.utils.FeistelPermutation;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Description: Collision-free code allocator.
+ *
+ *              Leases blocks of IDs from the code_sequences table and
+ *              hands them out from memory with a single atomic
+ *              increment, so creating a URL needs no existence check.
+ *              IDs below 62^codeLength are optionally passed through a
+ *              keyed bijection before Base62 encoding so consecutive
+ *              codes are not guessable; larger IDs are encoded as-is
+ *              and are therefore always longer than codeLength.
+ *
+ *              Blocks are leased on a dedicated thread, never on the
+ *              caller's: allocation runs inside the create transaction,
+ *              which already holds a pooled connection, so leasing there
+ *              would need a second one and could deadlock once the pool
+ *              (or the connection limit) is saturated by creates. The
+ *              next block is leased ahead, when the current one is half
+ *              used, so callers normally never wait for it.
+ *
+ *              Codes from this allocator can collide with codes created
+ *              earlier by the random allocator; switch strategies on an
+ *              empty table or start the sequence past existing data.
+ */
+@Component
+@ConditionalOnProperty(name = "shortener.code-allocator.strategy", havingValue = "sequence")
+public class SequenceCodeAllocator implements CodeAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenceCodeAllocator.class);
+
+    static final String SEQUENCE_NAME = "short_code";
+
+    private final CodeSequenceRepository codeSequenceRepository;
+
+    private final TransactionTemplate leaseTransaction;
+
+    // Runs leases, so they never need a second connection on a caller's thread
+    private final ExecutorService leaser;
+
+    // How long an allocation waits for a block when the current one ran out
+    private final long leaseTimeoutMs;
+
+    private final int codeLength;
+
+    private final long blockSize;
+
+    // IDs below this value are permuted and padded to codeLength
+    private final long keyspace;
+
+    // Null when permutation is disabled
+    private final FeistelPermutation permutation;
+
+    // Remaining IDs in the current block at which the next one is leased
+    private final long lowWaterMark;
+
+    // Block currently being handed out
+    private volatile Block current = Block.EXHAUSTED;
+
+    // Lease of the block after the current one, guarded by this; null when none started
+    private Future<Block> next;
+
+    public SequenceCodeAllocator(
+            CodeSequenceRepository codeSequenceRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${shortener.code-length:6}") int codeLength,
+            @Value("${shortener.code-allocator.block-size:10000}") long blockSize,
+            @Value("${shortener.code-allocator.permute:true}") boolean permute,
+            @Value("${shortener.code-allocator.permutation-key:0}") long permutationKey,
+            @Value("${shortener.code-allocator.lease-timeout-ms:5000}") long leaseTimeoutMs) {
+
+        this.codeSequenceRepository = codeSequenceRepository;
+        this.codeLength = codeLength;
+        this.blockSize = blockSize;
+        this.lowWaterMark = blockSize / 2;
+        this.leaseTimeoutMs = leaseTimeoutMs;
+        this.keyspace = Base62Codec.keyspace(codeLength);
+        this.permutation = permute ? new FeistelPermutation(keyspace, permutationKey) : null;
+
+        // Lease in its own short transaction on the lease thread, so the sequence
+        // row lock is not held for the lifetime of a create transaction
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaser = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "code-sequence-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        leaser.shutdownNow();
+    }
+
+    @Override
+    public String allocate() {
+        while (true) {
+            Block block = current;
+            long id = block.next();
+
+            if (id >= 0) {
+                // Exactly one thread hands out the ID at the low-water mark
+                if (block.end - id - 1 == lowWaterMark) {
+                    prefetch();
+                }
+                return encode(id);
+            }
+
+            // Only one thread swaps blocks; the others retry on the new block
+            synchronized (this) {
+                if (current == block) {
+                    current = awaitNext();
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts a sequence ID to its short code.
+     */
+    String encode(long id) {
+        if (id < keyspace) {
+            long value = permutation != null ? permutation.permute(id) : id;
+            return Base62Codec.encode(value, codeLength);
+        }
+        return Base62Codec.encode(id, codeLength);
+    }
+
+    /**
+     * Starts leasing the next block unless already under way.
+     */
+    private synchronized void prefetch() {
+        if (next == null) {
+            next = leaser.submit(this::lease);
+        }
+    }
+
+    /**
+     * Waits for the next block, starting its lease if needed.
+     * Caller holds the lock.
+     */
+    private Block awaitNext() {
+        prefetch();
+        Future<Block> pending = next;
+        next = null;
+
+        try {
+            return pending.get(leaseTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Keep waiting for the same lease on the next call
+            next = pending;
+            throw new IllegalStateException("Timed out leasing short code IDs", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to lease short code IDs", e.getCause());
+        } catch (InterruptedException e) {
+            next = pending;
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while leasing short code IDs", e);
+        }
+    }
+
+    /**
+     * Leases the next block of IDs, creating the sequence on first use.
+     * Runs on the lease thread.
+     */
+    private Block lease() {
+        while (true) {
+            try {
+                Long end = leaseTransaction.execute(status -> {
+                    if (codeSequenceRepository.advance(SEQUENCE_NAME, blockSize) == 0) {
+                        codeSequenceRepository.saveAndFlush(new CodeSequence(SEQUENCE_NAME, blockSize));
+                    }
+                    return codeSequenceRepository.findNextValue(SEQUENCE_NAME).orElseThrow();
+                });
+
+                logger.info("Leased code IDs [{}, {})", end - blockSize, end);
+                return new Block(end - blockSize, end);
+
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the sequence concurrently; advance it instead
+                logger.debug("Sequence {} created concurrently, retrying lease", SEQUENCE_NAME);
+            }
+        }
+    }
+
+    /**
+     * Half-open range of leased IDs handed out lock-free.
+     */
+    private static final class Block {
+
+        static final Block EXHAUSTED = new Block(0, 0);
+
+        private final AtomicLong cursor;
+        final long end;
+
+        Block(long start, long end) {
+            this.cursor = new AtomicLong(start);
+            this.end = end;
+        }
+
+        /**
+         * Returns the next ID, or -1 when the block is used up.
+         */
+        long next() {
+            long id = cursor.getAndIncrement();
+            return id < end ? id : -1;
+        }
+    }
+}
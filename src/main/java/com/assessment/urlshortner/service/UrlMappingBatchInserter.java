@@ -0,0 +1,70 @@
+package com.assessment.urlshortner.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.assessment.urlshortner.model.UrlMapping;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Description: Inserts new URL mappings with JDBC batch statements.
+ *
+ *              Hibernate cannot batch inserts for IDENTITY keys because
+ *              it must read back each generated ID. The id column is
+ *              left out here so the database assigns it and many rows
+ *              go out in one round trip (with reWriteBatchedInserts the
+ *              PostgreSQL driver also folds them into multi-row INSERTs).
+ *              The returned mappings therefore have no ID set.
+ *
+ *              Must run inside a transaction.
+ */
+@Component
+public class UrlMappingBatchInserter {
+
+    static final String INSERT_SQL =
+            "INSERT INTO url_mappings (code, long_url, long_url_hash, created_at, expires_at, hit_count, redirect_status) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Statements per JDBC batch
+    private final int batchSize;
+
+    public UrlMappingBatchInserter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${shortener.batch.jdbc-batch-size:500}") int batchSize) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Inserts all mappings. Fails with a DuplicateKeyException
+     * if any code is already taken.
+     */
+    public void insert(List<UrlMapping> mappings) {
+        if (mappings.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, mappings, batchSize, (ps, mapping) -> {
+            ps.setString(1, mapping.getCode());
+            ps.setString(2, mapping.getLongUrl());
+            ps.setString(3, mapping.getLongUrlHash());
+            ps.setObject(4, toTimestamp(mapping.getCreatedAt()), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setObject(5, toTimestamp(mapping.getExpiresAt()), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setLong(6, mapping.getHitCount());
+            ps.setObject(7, mapping.getRedirectStatus(), Types.INTEGER);
+        });
+    }
+
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return instant == null ? null : instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -2,25 +2,39 @@ package com.assessment.urlshortner.service;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assessment.urlshortner.analytics.ClickAggregator;
+import com.assessment.urlshortner.cache.CodeBloomFilter;
+import com.assessment.urlshortner.cache.ExpiryTracker;
+import com.assessment.urlshortner.cache.RedirectCache;
 import com.assessment.urlshortner.dto.UrlMappingMetadataResponse;
 import com.assessment.urlshortner.dto.UrlMappingRequest;
 import com.assessment.urlshortner.dto.UrlMappingResponse;
 import com.assessment.urlshortner.exception.UrlExpiredException;
 import com.assessment.urlshortner.exception.UrlNotFoundException;
+import com.assessment.urlshortner.model.RedirectTarget;
 import com.assessment.urlshortner.model.UrlMapping;
 import com.assessment.urlshortner.repository.UrlMappingRepository;
-import com.assessment.urlshortner.utils.UrlCodeGenerator;
+import com.assessment.urlshortner.utils.RedirectHeaders;
+import com.assessment.urlshortner.utils.ShortenerMetrics;
+import com.assessment.urlshortner.utils.UrlHasher;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Author: Julius Fasema
@@ -35,56 +49,189 @@ public class UrlMappingService {
     // Logger for service-level events
     private static final Logger logger = LoggerFactory.getLogger(UrlMappingService.class);
 
+    // Attempts per create when the allocated code is taken concurrently (e.g. by another node)
+    private static final int MAX_CREATE_ATTEMPTS = 3;
+
     // Repository for URL mappings
     private final UrlMappingRepository urlMappingRepository;
 
-    // Utility for generating short URL codes
-    private final UrlCodeGenerator urlCodeGenerator;
+    // Strategy for allocating unique short URL codes
+    private final CodeAllocator codeAllocator;
+
+    // In-process cache of resolved redirects
+    private final RedirectCache redirectCache;
+
+    // Bloom filter of existing codes, rejects unknown codes without a query
+    private final CodeBloomFilter codeBloomFilter;
+
+    // In-memory hit counter flushed to the database in batches
+    private final HitCountAggregator hitCountAggregator;
+
+    // Per-code click buckets, aggregated off the redirect path
+    private final ClickAggregator clickAggregator;
+
+    // Tracks whether legacy rows have their long URL hash yet
+    private final LongUrlHashBackfill longUrlHashBackfill;
+
+    // Chunked, leader-only deletion of expired mappings
+    private final ExpiredUrlReaper expiredUrlReaper;
+
+    // In-memory expiry of recently created and resolved mappings
+    private final ExpiryTracker expiryTracker;
+
+    // Read-only transaction for redirect lookups that miss the cache
+    private final TransactionTemplate readOnlyTransaction;
 
-    // Metrics counter for redirects
+    // One transaction per create attempt
+    private final TransactionTemplate transactionTemplate;
+
+    // Successful redirects, counted once whether the fast path filter
+    // or the controller answers
     private final Counter redirectCounter;
 
+    // Redirect resolution latency by result: served from cache, loaded
+    // from the database, not found, expired, failed
+    private final Timer redirectCachedTimer;
+
+    private final Timer redirectLoadedTimer;
+
+    private final Timer redirectNotFoundTimer;
+
+    private final Timer redirectExpiredTimer;
+
+    private final Timer redirectErrorTimer;
+
+    // Create latency: new mapping, existing mapping returned, failed
+    private final Timer createdTimer;
+
+    private final Timer createExistingTimer;
+
+    private final Timer createErrorTimer;
+
+    // Metadata lookup latency: found, not found, failed
+    private final Timer metadataFoundTimer;
+
+    private final Timer metadataNotFoundTimer;
+
+    private final Timer metadataErrorTimer;
+
+    // Time to allocate a unique code, including collision checks
+    private final Timer codeAllocationTimer;
+
     // Base URL for generating short links
     @Value("${shortener.base-url}")
     private String baseUrl;
 
-    // Length of generated short codes
-    @Value("${shortener.code-length:6}")
-    private int codeLength;
-
     // Default expiry duration in days
     @Value("${shortener.default-expiry-days:30}")
     private int defaultExpiryDays;
 
-    // Maximum retry attempts for code collision handling
-    @Value("${shortener.max-retries:3}")
-    private int maxRetries;
-
     /**
      * Constructor-based dependency injection.
      */
     public UrlMappingService(
             UrlMappingRepository urlMappingRepository,
-            UrlCodeGenerator urlCodeGenerator,
+            CodeAllocator codeAllocator,
+            RedirectCache redirectCache,
+            CodeBloomFilter codeBloomFilter,
+            HitCountAggregator hitCountAggregator,
+            ClickAggregator clickAggregator,
+            LongUrlHashBackfill longUrlHashBackfill,
+            ExpiredUrlReaper expiredUrlReaper,
+            ExpiryTracker expiryTracker,
+            PlatformTransactionManager transactionManager,
             MeterRegistry meterRegistry) {
 
         this.urlMappingRepository = urlMappingRepository;
-        this.urlCodeGenerator = urlCodeGenerator;
+        this.codeAllocator = codeAllocator;
+        this.redirectCache = redirectCache;
+        this.codeBloomFilter = codeBloomFilter;
+        this.hitCountAggregator = hitCountAggregator;
+        this.clickAggregator = clickAggregator;
+        this.longUrlHashBackfill = longUrlHashBackfill;
+        this.expiredUrlReaper = expiredUrlReaper;
+        this.expiryTracker = expiryTracker;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
         this.redirectCounter = Counter.builder("shortener.redirect.total")
                 .description("Total number of URL redirects")
                 .register(meterRegistry);
+
+        this.redirectCachedTimer = redirectTimer(meterRegistry, "cached");
+        this.redirectLoadedTimer = redirectTimer(meterRegistry, "loaded");
+        this.redirectNotFoundTimer = redirectTimer(meterRegistry, "not-found");
+        this.redirectExpiredTimer = redirectTimer(meterRegistry, "expired");
+        this.redirectErrorTimer = redirectTimer(meterRegistry, "error");
+
+        this.createdTimer = createTimer(meterRegistry, "created");
+        this.createExistingTimer = createTimer(meterRegistry, "existing");
+        this.createErrorTimer = createTimer(meterRegistry, "error");
+
+        this.metadataFoundTimer = metadataTimer(meterRegistry, "found");
+        this.metadataNotFoundTimer = metadataTimer(meterRegistry, "not-found");
+        this.metadataErrorTimer = metadataTimer(meterRegistry, "error");
+
+        this.codeAllocationTimer = ShortenerMetrics.latencyTimer("shortener.code.allocation",
+                        "Time to allocate a unique short code, including collision checks")
+                .register(meterRegistry);
+    }
+
+    private static Timer redirectTimer(MeterRegistry meterRegistry, String result) {
+        return ShortenerMetrics.latencyTimer("shortener.redirect.resolve", "Short code resolution for redirects")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Timer createTimer(MeterRegistry meterRegistry, String result) {
+        return ShortenerMetrics.latencyTimer("shortener.create", "Short URL creation, including the commit and collision retries")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Timer metadataTimer(MeterRegistry meterRegistry, String result) {
+        return ShortenerMetrics.latencyTimer("shortener.metadata", "Short URL metadata lookup")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
     /**
      * Creates a new shortened URL or returns an existing one
      * if the long URL already exists and is not expired.
+     *
+     * Each attempt runs in its own transaction. Allocation may hand
+     * out a code another node has just taken (its Bloom filter does
+     * not know it yet); the insert then fails on the unique code
+     * and the attempt is repeated with a new code.
      */
-    @Transactional
     public UrlMappingResponse createShortUrl(UrlMappingRequest request) {
+        long start = System.nanoTime();
+        Timer timer = createErrorTimer;
+
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    CreateResult result = transactionTemplate.execute(status -> createOrFind(request));
+
+                    timer = result.created() ? createdTimer : createExistingTimer;
+                    return result.response();
+
+                } catch (DataIntegrityViolationException e) {
+                    if (attempt >= MAX_CREATE_ATTEMPTS) {
+                        throw e;
+                    }
+                    logger.warn("Code collision while creating short URL, attempt: {}", attempt);
+                }
+            }
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private CreateResult createOrFind(UrlMappingRequest request) {
 
         // Check for existing mapping (idempotent behavior)
-        Optional<UrlMapping> existing =
-                urlMappingRepository.findByLongUrl(request.getLongUrl());
+        Optional<UrlMapping> existing = findByLongUrl(request.getLongUrl());
 
         if (existing.isPresent()) {
             UrlMapping mapping = existing.get();
@@ -92,22 +239,37 @@ public class UrlMappingService {
             // Remove expired mapping and recreate
             if (mapping.isExpired()) {
                 urlMappingRepository.delete(mapping);
+                redirectCache.invalidate(mapping.getCode());
             } else {
-                return toResponse(mapping);
+                return new CreateResult(toResponse(mapping), false);
             }
         }
 
-        // Generate a unique short code
-        String code = generateUniqueCode();
+        return new CreateResult(createMapping(request), true);
+    }
+
+    /**
+     * Persists a new mapping under a freshly allocated code.
+     */
+    private UrlMappingResponse createMapping(UrlMappingRequest request) {
+
+        // Allocate a unique short code
+        String code = codeAllocationTimer.record(() -> codeAllocator.allocate());
 
         // Calculate expiration time
         Instant expiresAt = calculateExpiry(request.getExpiryDays());
 
         // Persist new URL mapping
         UrlMapping mapping = new UrlMapping(code, request.getLongUrl(), expiresAt);
+        mapping.setRedirectStatus(request.getRedirectStatus());
         mapping = urlMappingRepository.save(mapping);
 
-        logger.info("Created short URL: {} -> {}", code, request.getLongUrl());
+        // Drop any negative cache entry for the freshly allocated code
+        redirectCache.invalidate(code);
+        registerCreatedCode(code);
+        expiryTracker.track(code, expiresAt);
+
+        logger.debug("Created short URL: {} -> {}", code, request.getLongUrl());
 
         return toResponse(mapping);
     }
@@ -115,29 +277,94 @@ public class UrlMappingService {
     /**
      * Resolves a short code to its original long URL
      * and updates hit count and metrics.
+     *
+     * Resolution is served from the redirect cache when possible,
+     * without a transaction or connection; the database is only
+     * queried on a cache miss, through a read-only projection query
+     * in its own read-only transaction. Cached live entries are never
+     * past their expiry (the cache drops them and the expiry tracker
+     * replaces them with an expired marker), so cache hits need no
+     * clock read. Hits are
+     * aggregated in memory and flushed asynchronously, so this
+     * path never writes to the database.
      */
-    @Transactional
     public String getLongUrl(String code) {
+        return getRedirectTarget(code).getLongUrl();
+    }
 
-        // Fetch mapping or fail if not found
-        UrlMapping mapping = urlMappingRepository.findByCode(code)
-                .orElseThrow(() -> new UrlNotFoundException("Short URL not found"));
+    /**
+     * Resolves a short code like {@link #getLongUrl(String)}, returning
+     * everything needed to write the redirect response (long URL,
+     * redirect status, expiry).
+     */
+    public RedirectTarget getRedirectTarget(String code) {
+        return getRedirectTarget(code, null);
+    }
 
-        // Prevent access to expired URLs
-        if (mapping.isExpired()) {
-            throw new UrlExpiredException("Short URL has expired");
-        }
+    /**
+     * Resolves a short code like {@link #getRedirectTarget(String)},
+     * counting the redirect towards the client's distinct visitors
+     * in the click analytics.
+     *
+     * @param clientIp client address, or null when unknown
+     */
+    public RedirectTarget getRedirectTarget(String code, String clientIp) {
+        long start = System.nanoTime();
+        Timer timer = redirectErrorTimer;
+
+        try {
+            RedirectTarget target = redirectCache.getIfPresent(code);
+
+            if (target == null) {
+                // Definitely unknown code: reject without a query (single-writer deployments only)
+                if (codeBloomFilter.isDefinitelyAbsent(code)) {
+                    timer = redirectNotFoundTimer;
+                    throw new UrlNotFoundException("Short URL not found");
+                }
+
+                // Cache miss: fetch projection (no managed entity) and remember the outcome
+                target = readOnlyTransaction.execute(status ->
+                        urlMappingRepository.findRedirectTargetByCode(code).orElse(null));
+
+                if (target == null) {
+                    redirectCache.putNotFound(code);
+                    timer = redirectNotFoundTimer;
+                    throw new UrlNotFoundException("Short URL not found");
+                }
+
+                // Prevent access to expired URLs
+                if (target.isExpired()) {
+                    redirectCache.putExpired(code);
+                    timer = redirectExpiredTimer;
+                    throw new UrlExpiredException("Short URL has expired");
+                }
+
+                redirectCache.put(code, target);
+                expiryTracker.track(code, target.getExpiresAt());
+                timer = redirectLoadedTimer;
+            } else if (RedirectCache.isNotFound(target)) {
+                timer = redirectNotFoundTimer;
+                throw new UrlNotFoundException("Short URL not found");
+            } else if (RedirectCache.isExpired(target)) {
+                timer = redirectExpiredTimer;
+                throw new UrlExpiredException("Short URL has expired");
+            } else {
+                timer = redirectCachedTimer;
+            }
 
-        // Update access statistics
-        mapping.incrementHitCount();
-        urlMappingRepository.save(mapping);
+            // Update access statistics (flushed in batches)
+            hitCountAggregator.record(code);
+            clickAggregator.record(code, clientIp, System.currentTimeMillis());
 
-        // Increment redirect metrics
-        redirectCounter.increment();
+            // Increment redirect metrics
+            redirectCounter.increment();
 
-        logger.debug("Redirecting: {} -> {}", code, mapping.getLongUrl());
+            logger.debug("Redirecting: {} -> {}", code, target.getLongUrl());
 
-        return mapping.getLongUrl();
+            return target;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     /**
@@ -145,33 +372,57 @@ public class UrlMappingService {
      */
     @Transactional(readOnly = true)
     public UrlMappingMetadataResponse getUrlMetadata(String code) {
+        long start = System.nanoTime();
+        Timer timer = metadataErrorTimer;
 
-        UrlMapping mapping = urlMappingRepository.findByCode(code)
-                .orElseThrow(() -> new UrlNotFoundException("Short URL not found"));
+        try {
+            Optional<UrlMapping> mapping = urlMappingRepository.findByCode(code);
+
+            if (mapping.isEmpty()) {
+                timer = metadataNotFoundTimer;
+                throw new UrlNotFoundException("Short URL not found");
+            }
 
-        return toMetadataResponse(mapping);
+            timer = metadataFoundTimer;
+            return toMetadataResponse(mapping.get());
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     /**
-     * Generates a unique short code with retry-based
-     * collision handling.
+     * Finds the mapping for a long URL through the indexed hash column,
+     * comparing full URLs since distinct URLs may share a hash.
+     * Falls back to comparing long_url directly while legacy rows
+     * are still being backfilled.
      */
-    private String generateUniqueCode() {
-        int attempts = 0;
-
-        while (attempts < maxRetries) {
-            String code = urlCodeGenerator.generateCode(codeLength);
+    private Optional<UrlMapping> findByLongUrl(String longUrl) {
+        if (!longUrlHashBackfill.isComplete()) {
+            return urlMappingRepository.findByLongUrl(longUrl);
+        }
 
-            if (!urlMappingRepository.existsByCode(code)) {
-                return code;
-            }
+        return urlMappingRepository.findByLongUrlHash(UrlHasher.hash(longUrl)).stream()
+                .filter(mapping -> mapping.getLongUrl().equals(longUrl))
+                .findFirst();
+    }
 
-            attempts++;
-            logger.warn("Code collision detected for code: {}, attempt: {}", code, attempts);
+    /**
+     * Adds a created code to the Bloom filter once the creating
+     * transaction has committed, so a concurrent filter rebuild
+     * cannot miss it.
+     */
+    private void registerCreatedCode(String code) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            codeBloomFilter.add(code);
+            return;
         }
 
-        // Fallback: increase code length after max retries
-        return urlCodeGenerator.generateCode(codeLength + 1);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                codeBloomFilter.add(code);
+            }
+        });
     }
 
     /**
@@ -202,22 +453,22 @@ public class UrlMappingService {
         response.setShortUrl(baseUrl + "/r/" + mapping.getCode());
         response.setCreatedAt(mapping.getCreatedAt());
         response.setExpiresAt(mapping.getExpiresAt());
-        response.setHitCount(mapping.getHitCount());
+        // Persisted hits plus hits not yet flushed
+        response.setHitCount(mapping.getHitCount() + hitCountAggregator.getPending(mapping.getCode()));
         response.setExpired(mapping.isExpired());
+        response.setRedirectStatus(RedirectHeaders.statusOrDefault(mapping.getRedirectStatus()));
         return response;
     }
 
     /**
      * Removes expired URLs from the database.
-     * Intended for scheduled cleanup tasks.
+     * Runs one chunked reaper pass now; the reaper also runs on
+     * its own schedule (see ExpiredUrlReaper).
+     *
+     * @return number of expired URLs removed
      */
-    @Transactional
-    public void cleanupExpiredUrls() {
-        long count = urlMappingRepository.countExpiredUrls(Instant.now());
-        if (count > 0) {
-            urlMappingRepository.deleteExpiredUrls(Instant.now());
-            logger.info("Cleaned up {} expired URLs", count);
-        }
+    public long cleanupExpiredUrls() {
+        return expiredUrlReaper.reap();
     }
 
     private void validateUrl(String longUrl) {
@@ -237,4 +488,10 @@ public class UrlMappingService {
         // TODO Auto-generated method stub
         throw new UnsupportedOperationException("Unimplemented method 'resolve'");
     }
+
+    /**
+     * Response of a create attempt and whether it created the mapping.
+     */
+    private record CreateResult(UrlMappingResponse response, boolean created) {
+    }
 }
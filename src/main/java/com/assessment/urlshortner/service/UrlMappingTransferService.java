@@ -0,0 +1,375 @@
+package com.assessment.urlshortner.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.assessment.urlshortner.cache.CodeBloomFilter;
+import com.assessment.urlshortner.cache.ExpiryTracker;
+import com.assessment.urlshortner.cache.RedirectCache;
+import com.assessment.urlshortner.dto.UrlMappingImportResponse;
+import com.assessment.urlshortner.dto.UrlMappingRecord;
+import com.assessment.urlshortner.model.UrlMapping;
+import com.assessment.urlshortner.repository.UrlMappingRepository;
+import com.assessment.urlshortner.utils.CsvLineParser;
+import com.assessment.urlshortner.utils.RedirectHeaders;
+import com.assessment.urlshortner.utils.UrlCodeGenerator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Description: Streams URL mappings out of and into the database
+ *              for migrations between environments.
+ *
+ *              Export walks url_mappings by ID in pages, each read in
+ *              its own short read-only transaction, and writes one
+ *              NDJSON line per mapping. Import reads NDJSON or CSV one
+ *              line at a time and commits every shortener.transfer.chunk-size
+ *              records with JDBC batch inserts, skipping codes that
+ *              already exist; a chunk that races with a concurrent
+ *              insert of one of its codes is retried. Memory use is bounded by the page and
+ *              chunk sizes, not by the number of mappings.
+ */
+@Service
+public class UrlMappingTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UrlMappingTransferService.class);
+
+    // Rejected records reported back in detail; the rest are only counted
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    // Longest long URL accepted, matching the url_mappings column
+    private static final int MAX_URL_LENGTH = 2048;
+
+    // Attempts per chunk when a code is inserted concurrently
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    /**
+     * Supported import formats.
+     */
+    public enum Format {
+        // One JSON object per line, as produced by the export
+        NDJSON,
+        // Header line naming the columns, then one record per line
+        CSV
+    }
+
+    private final UrlMappingRepository urlMappingRepository;
+
+    private final UrlMappingBatchInserter batchInserter;
+
+    private final UrlCodeGenerator urlCodeGenerator;
+
+    private final RedirectCache redirectCache;
+
+    private final CodeBloomFilter codeBloomFilter;
+
+    private final ExpiryTracker expiryTracker;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ObjectReader recordReader;
+
+    private final ObjectWriter recordWriter;
+
+    // Mappings read per export page
+    private final int pageSize;
+
+    // Records committed per import transaction
+    private final int chunkSize;
+
+    public UrlMappingTransferService(
+            UrlMappingRepository urlMappingRepository,
+            UrlMappingBatchInserter batchInserter,
+            UrlCodeGenerator urlCodeGenerator,
+            RedirectCache redirectCache,
+            CodeBloomFilter codeBloomFilter,
+            ExpiryTracker expiryTracker,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${shortener.transfer.page-size:1000}") int pageSize,
+            @Value("${shortener.transfer.chunk-size:1000}") int chunkSize) {
+
+        this.urlMappingRepository = urlMappingRepository;
+        this.batchInserter = batchInserter;
+        this.urlCodeGenerator = urlCodeGenerator;
+        this.redirectCache = redirectCache;
+        this.codeBloomFilter = codeBloomFilter;
+        this.expiryTracker = expiryTracker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.recordReader = objectMapper.readerFor(UrlMappingRecord.class);
+        this.recordWriter = objectMapper.writerFor(UrlMappingRecord.class);
+        this.pageSize = pageSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Writes every mapping as one NDJSON line, in ID order.
+     *
+     * @return number of mappings written
+     */
+    public long exportTo(OutputStream out) throws IOException {
+        long afterId = 0L;
+        long exported = 0L;
+
+        while (true) {
+            long cursor = afterId;
+            List<UrlMapping> page = readOnlyTransaction.execute(status ->
+                    urlMappingRepository.findPageAfterId(cursor, PageRequest.of(0, pageSize)));
+
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+
+            for (UrlMapping mapping : page) {
+                out.write(recordWriter.writeValueAsBytes(toRecord(mapping)));
+                out.write('\n');
+            }
+            out.flush();
+
+            exported += page.size();
+            afterId = page.get(page.size() - 1).getId();
+
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+
+        logger.info("Exported {} URL mappings", exported);
+        return exported;
+    }
+
+    /**
+     * Reads mappings in the given format and inserts those whose code
+     * does not exist yet. Malformed records are counted and skipped.
+     * Chunks commit independently, so an interrupted import can be
+     * resumed by resubmitting the same file.
+     *
+     * @throws IllegalArgumentException if a CSV header is missing required columns
+     */
+    public UrlMappingImportResponse importFrom(Reader reader, Format format) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        ImportProgress progress = new ImportProgress();
+
+        Map<String, Integer> columns = format == Format.CSV ? readCsvHeader(lines.readLine()) : null;
+        long lineNumber = format == Format.CSV ? 1L : 0L;
+
+        Map<String, UrlMapping> chunk = new LinkedHashMap<>();
+        String line;
+
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            UrlMapping mapping;
+            try {
+                UrlMappingRecord record = format == Format.CSV ? parseCsv(line, columns) : parseJson(line);
+                mapping = toMapping(record);
+            } catch (IllegalArgumentException e) {
+                progress.reject(lineNumber, e.getMessage());
+                continue;
+            }
+
+            // Repeated code within the chunk: keep the first occurrence
+            if (chunk.putIfAbsent(mapping.getCode(), mapping) != null) {
+                progress.skipped++;
+                continue;
+            }
+
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, progress);
+        }
+
+        logger.info("Imported {} URL mappings ({} skipped, {} invalid)",
+                progress.imported, progress.skipped, progress.invalid);
+
+        return new UrlMappingImportResponse(progress.imported, progress.skipped, progress.invalid, progress.errors);
+    }
+
+    /**
+     * Inserts the mappings of one chunk whose code is not taken, in one
+     * transaction. A code inserted by someone else after the existence
+     * check fails the transaction; the chunk is then retried, with the
+     * existing codes queried again.
+     */
+    private void importChunk(Map<String, UrlMapping> chunk, ImportProgress progress) {
+        List<UrlMapping> inserted;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                inserted = transactionTemplate.execute(status -> insertChunk(chunk));
+                break;
+            } catch (DuplicateKeyException e) {
+                if (attempt >= MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                logger.warn("Code inserted concurrently while importing chunk, attempt: {}", attempt);
+            }
+        }
+
+        // Committed: drop negative cache entries and publish new codes
+        for (UrlMapping mapping : inserted) {
+            redirectCache.invalidate(mapping.getCode());
+            codeBloomFilter.add(mapping.getCode());
+            expiryTracker.track(mapping.getCode(), mapping.getExpiresAt());
+        }
+
+        progress.imported += inserted.size();
+        progress.skipped += chunk.size() - inserted.size();
+    }
+
+    private List<UrlMapping> insertChunk(Map<String, UrlMapping> chunk) {
+        Set<String> existing = urlMappingRepository.findExistingCodes(chunk.keySet());
+
+        List<UrlMapping> fresh = new ArrayList<>(chunk.size());
+        for (UrlMapping mapping : chunk.values()) {
+            if (!existing.contains(mapping.getCode())) {
+                fresh.add(mapping);
+            }
+        }
+
+        batchInserter.insert(fresh);
+        return fresh;
+    }
+
+    private UrlMappingRecord parseJson(String line) {
+        try {
+            return recordReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Map<String, Integer> readCsvHeader(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV header is missing");
+        }
+
+        Map<String, Integer> columns = new LinkedHashMap<>();
+        List<String> names = CsvLineParser.parse(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+
+        if (!columns.containsKey("code") || !columns.containsKey("longUrl")) {
+            throw new IllegalArgumentException("CSV header must contain code and longUrl columns");
+        }
+        return columns;
+    }
+
+    private UrlMappingRecord parseCsv(String line, Map<String, Integer> columns) {
+        List<String> fields = CsvLineParser.parse(line);
+
+        UrlMappingRecord record = new UrlMappingRecord();
+        record.setCode(field(fields, columns, "code"));
+        record.setLongUrl(field(fields, columns, "longUrl"));
+
+        try {
+            String createdAt = field(fields, columns, "createdAt");
+            String expiresAt = field(fields, columns, "expiresAt");
+            String hitCount = field(fields, columns, "hitCount");
+            String redirectStatus = field(fields, columns, "redirectStatus");
+
+            record.setCreatedAt(createdAt == null ? null : Instant.parse(createdAt));
+            record.setExpiresAt(expiresAt == null ? null : Instant.parse(expiresAt));
+            record.setHitCount(hitCount == null ? 0L : Long.parseLong(hitCount));
+            record.setRedirectStatus(redirectStatus == null ? null : Integer.valueOf(redirectStatus));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed value: " + e.getMessage());
+        }
+        return record;
+    }
+
+    // Returns the named column of a CSV record, or null if absent or empty
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private UrlMapping toMapping(UrlMappingRecord record) {
+        if (!urlCodeGenerator.isValidCode(record.getCode())) {
+            throw new IllegalArgumentException("Invalid code: " + record.getCode());
+        }
+        if (record.getLongUrl() == null || record.getLongUrl().isBlank()
+                || record.getLongUrl().length() > MAX_URL_LENGTH) {
+            throw new IllegalArgumentException("Invalid long URL for code " + record.getCode());
+        }
+        if (record.getHitCount() < 0) {
+            throw new IllegalArgumentException("Negative hit count for code " + record.getCode());
+        }
+        if (record.getRedirectStatus() != null && !RedirectHeaders.isSupportedStatus(record.getRedirectStatus())) {
+            throw new IllegalArgumentException("Unsupported redirect status for code " + record.getCode());
+        }
+
+        UrlMapping mapping = new UrlMapping(record.getCode(), record.getLongUrl(), record.getExpiresAt());
+        if (record.getCreatedAt() != null) {
+            mapping.setCreatedAt(record.getCreatedAt());
+        }
+        mapping.setHitCount(record.getHitCount());
+        mapping.setRedirectStatus(record.getRedirectStatus());
+        return mapping;
+    }
+
+    private static UrlMappingRecord toRecord(UrlMapping mapping) {
+        UrlMappingRecord record = new UrlMappingRecord();
+        record.setCode(mapping.getCode());
+        record.setLongUrl(mapping.getLongUrl());
+        record.setCreatedAt(mapping.getCreatedAt());
+        record.setExpiresAt(mapping.getExpiresAt());
+        record.setHitCount(mapping.getHitCount());
+        record.setRedirectStatus(mapping.getRedirectStatus());
+        return record;
+    }
+
+    // Running totals of one import
+    private static final class ImportProgress {
+
+        private long imported;
+
+        private long skipped;
+
+        private long invalid;
+
+        private final List<String> errors = new ArrayList<>();
+
+        private void reject(long lineNumber, String reason) {
+            invalid++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("line " + lineNumber + ": " + reason);
+            }
+        }
+    }
+}
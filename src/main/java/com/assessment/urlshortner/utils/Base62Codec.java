@@ -0,0 +1,78 @@
+package com.assessment.urlshortner.utils;
+
+/**
+ * Description: Encodes non-negative numbers as Base62 strings using
+ *              the same alphabet as generated short codes.
+ */
+public final class Base62Codec {
+
+    // Characters allowed in short URL codes (Base62)
+    public static final String ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+
+    public static final int RADIX = 62;
+
+    private static final char[] DIGITS = ALPHABET.toCharArray();
+
+    // ASCII lookup table: true for characters of the alphabet
+    private static final boolean[] VALID = new boolean[128];
+
+    static {
+        for (char c : DIGITS) {
+            VALID[c] = true;
+        }
+    }
+
+    // Longest encoding of a non-negative long
+    private static final int MAX_DIGITS = 11;
+
+    private Base62Codec() {
+    }
+
+    /**
+     * Encodes {@code value} left-padded with the zero digit to at least
+     * {@code minLength} characters. Values needing more digits are
+     * encoded at their natural length.
+     */
+    public static String encode(long value, int minLength) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        }
+
+        char[] buffer = new char[Math.max(MAX_DIGITS, minLength)];
+        int pos = buffer.length;
+
+        do {
+            buffer[--pos] = DIGITS[(int) (value % RADIX)];
+            value /= RADIX;
+        } while (value > 0);
+
+        while (buffer.length - pos < minLength) {
+            buffer[--pos] = DIGITS[0];
+        }
+
+        return new String(buffer, pos, buffer.length - pos);
+    }
+
+    /**
+     * Whether {@code c} is a Base62 digit. Table lookup, no scanning.
+     */
+    public static boolean isDigit(char c) {
+        return c < VALID.length && VALID[c];
+    }
+
+    /**
+     * Returns 62^length, the number of distinct codes of that length.
+     */
+    public static long keyspace(int length) {
+        if (length < 1 || length > 10) {
+            throw new IllegalArgumentException("Length must be between 1 and 10: " + length);
+        }
+
+        long size = 1;
+        for (int i = 0; i < length; i++) {
+            size *= RADIX;
+        }
+        return size;
+    }
+}
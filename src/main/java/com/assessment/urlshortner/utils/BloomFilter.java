@@ -0,0 +1,124 @@
+package com.assessment.urlshortner.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Description: Thread-safe Bloom filter over strings.
+ *
+ *              Never returns a false negative for a value that was
+ *              put; returns false positives with roughly the
+ *              configured probability until the expected number of
+ *              insertions is exceeded. Values cannot be removed.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+
+    private final long bitCount;
+
+    private final int hashFunctions;
+
+    // Number of bits set so far, used to estimate the current false positive rate
+    private final LongAdder bitsSet = new LongAdder();
+
+    private BloomFilter(long bitCount, int hashFunctions) {
+        this.words = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        this.bitCount = words.length() * 64L;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Creates a filter sized for {@code expectedInsertions} values at a
+     * false positive probability of {@code fpp}.
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("False positive probability must be in (0, 1): " + fpp);
+        }
+
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+
+        if (bits > Integer.MAX_VALUE * 64L) {
+            throw new IllegalArgumentException("Filter too large for " + expectedInsertions + " insertions");
+        }
+
+        return new BloomFilter(bits, hashes);
+    }
+
+    /**
+     * Adds a value to the filter.
+     */
+    public void put(CharSequence value) {
+        long hash = hash(value);
+        long h1 = hash;
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            setBit(Math.floorMod(h1 + i * h2, bitCount));
+        }
+    }
+
+    /**
+     * Returns false if the value was definitely never put.
+     */
+    public boolean mightContain(CharSequence value) {
+        long hash = hash(value);
+        long h1 = hash;
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimated probability that {@link #mightContain} returns true
+     * for a value that was never put, given the bits set so far.
+     */
+    public double expectedFpp() {
+        return Math.pow((double) bitsSet.sum() / bitCount, hashFunctions);
+    }
+
+    public long bitSize() {
+        return bitCount;
+    }
+
+    private void setBit(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+
+        long word = words.get(index);
+        while ((word & mask) == 0) {
+            if (words.compareAndSet(index, word, word | mask)) {
+                bitsSet.increment();
+                return;
+            }
+            word = words.get(index);
+        }
+    }
+
+    // FNV-1a over UTF-16 code units, finished with a SplitMix64 mix
+    private static long hash(CharSequence value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,68 @@
+package com.assessment.urlshortner.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Description: Splits a single CSV line into fields (RFC 4180).
+ *
+ *              Fields may be quoted with double quotes, in which case
+ *              they can contain commas and escaped quotes (""). Quoted
+ *              line breaks are not supported, since records are read
+ *              one line at a time.
+ */
+public final class CsvLineParser {
+
+    private CsvLineParser() {
+    }
+
+    /**
+     * Returns the fields of a CSV line.
+     *
+     * @throws IllegalArgumentException if a quoted field is not terminated
+     */
+    public static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+
+        while (true) {
+            if (i < line.length() && line.charAt(i) == '"') {
+                // Quoted field
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < line.length() && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Unexpected character after quoted field");
+                }
+            } else {
+                int end = line.indexOf(',', i);
+                if (end < 0) {
+                    end = line.length();
+                }
+                field.append(line, i, end);
+                i = end;
+            }
+
+            fields.add(field.toString());
+            field.setLength(0);
+
+            if (i >= line.length()) {
+                return fields;
+            }
+            i++; // skip the comma
+        }
+    }
+}
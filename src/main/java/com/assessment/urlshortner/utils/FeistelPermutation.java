@@ -0,0 +1,116 @@
+package com.assessment.urlshortner.utils;
+
+/**
+ * Description: Keyed, reversible bijection over [0, domain).
+ *
+ *              A balanced Feistel network permutes the smallest
+ *              even-width bit range covering the domain; values that
+ *              land outside the domain are re-encrypted until they
+ *              fall back inside (cycle walking), which keeps the
+ *              mapping a bijection on the domain itself.
+ *
+ *              Used to turn sequential IDs into non-sequential codes.
+ *              It hides ordering from casual observers; it is not a
+ *              substitute for a cryptographic cipher.
+ */
+public final class FeistelPermutation {
+
+    private static final int ROUNDS = 4;
+
+    private final long domain;
+
+    private final int halfBits;
+
+    private final long halfMask;
+
+    private final long[] roundKeys = new long[ROUNDS];
+
+    public FeistelPermutation(long domain, long key) {
+        if (domain < 2) {
+            throw new IllegalArgumentException("Domain must contain at least two values: " + domain);
+        }
+
+        int bits = 64 - Long.numberOfLeadingZeros(domain - 1);
+        if (bits % 2 != 0) {
+            bits++;
+        }
+        if (bits > 62) {
+            throw new IllegalArgumentException("Domain too large: " + domain);
+        }
+
+        this.domain = domain;
+        this.halfBits = bits / 2;
+        this.halfMask = (1L << halfBits) - 1;
+
+        long state = key;
+        for (int i = 0; i < ROUNDS; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            roundKeys[i] = mix(state);
+        }
+    }
+
+    /**
+     * Maps {@code value} to its permuted counterpart.
+     */
+    public long permute(long value) {
+        checkInDomain(value);
+        do {
+            value = encrypt(value);
+        } while (value >= domain);
+        return value;
+    }
+
+    /**
+     * Inverse of {@link #permute(long)}.
+     */
+    public long inverse(long value) {
+        checkInDomain(value);
+        do {
+            value = decrypt(value);
+        } while (value >= domain);
+        return value;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+
+        for (int i = 0; i < ROUNDS; i++) {
+            long next = left ^ round(right, i);
+            left = right;
+            right = next;
+        }
+
+        return (left << halfBits) | right;
+    }
+
+    private long decrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+
+        for (int i = ROUNDS - 1; i >= 0; i--) {
+            long previous = right ^ round(left, i);
+            right = left;
+            left = previous;
+        }
+
+        return (left << halfBits) | right;
+    }
+
+    private long round(long half, int round) {
+        return mix(half ^ roundKeys[round]) & halfMask;
+    }
+
+    private void checkInDomain(long value) {
+        if (value < 0 || value >= domain) {
+            throw new IllegalArgumentException("Value outside domain: " + value);
+        }
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
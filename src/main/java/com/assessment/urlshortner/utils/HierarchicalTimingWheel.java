@@ -0,0 +1,148 @@
+package com.assessment.urlshortner.utils;
+
+import java.util.ArrayDeque;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Description: Hierarchical timing wheel for many deadlines at a
+ *              fixed tick resolution.
+ *
+ *              Level 0 has one bucket per tick; each higher level
+ *              covers a whole revolution of the level below per bucket.
+ *              Scheduling is O(1); when a lower level wraps, the due
+ *              bucket of the next level is cascaded down. Deadlines
+ *              beyond the top level are parked in its last bucket and
+ *              re-placed when they cascade. Items fire on the first
+ *              advance at or after their deadline, never before it.
+ *
+ *              Not thread-safe; callers synchronise.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    // Buckets per level = 2^BITS
+    private static final int BITS = 6;
+
+    private static final int WHEEL_SIZE = 1 << BITS;
+
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private final long tickMillis;
+
+    private final ArrayDeque<Entry<T>>[][] buckets;
+
+    // Ticks covered by all levels together
+    private final long span;
+
+    // Next tick to be processed
+    private long currentTick;
+
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int levels, long startMillis) {
+        if (tickMillis < 1 || levels < 1 || levels * BITS > 62) {
+            throw new IllegalArgumentException("Invalid timing wheel: tick " + tickMillis + "ms, " + levels + " levels");
+        }
+
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayDeque[levels][WHEEL_SIZE];
+        for (int level = 0; level < levels; level++) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                buckets[level][i] = new ArrayDeque<>();
+            }
+        }
+        this.span = 1L << (BITS * levels);
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules an item to fire at {@code deadlineMillis}.
+     *
+     * @return false, without scheduling, if the deadline has already passed
+     */
+    public boolean schedule(T item, long deadlineMillis) {
+        // Round up so an item never fires before its deadline
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        if (deadlineTick < currentTick) {
+            return false;
+        }
+
+        place(new Entry<>(item, deadlineMillis, deadlineTick));
+        size++;
+        return true;
+    }
+
+    /**
+     * Processes every tick up to {@code nowMillis}, passing each due
+     * item and its deadline to {@code expired}.
+     */
+    public void advance(long nowMillis, ObjLongConsumer<T> expired) {
+        long targetTick = nowMillis / tickMillis;
+
+        while (currentTick <= targetTick) {
+            int index = (int) (currentTick & MASK);
+
+            // Level 0 wrapped: pull down the next bucket of each higher level that wrapped too
+            if (index == 0) {
+                for (int level = 1; level < buckets.length; level++) {
+                    int levelIndex = (int) ((currentTick >>> (BITS * level)) & MASK);
+                    cascade(buckets[level][levelIndex]);
+                    if (levelIndex != 0) {
+                        break;
+                    }
+                }
+            }
+
+            ArrayDeque<Entry<T>> due = buckets[0][index];
+            Entry<T> entry;
+            while ((entry = due.poll()) != null) {
+                size--;
+                expired.accept(entry.item, entry.deadlineMillis);
+            }
+
+            currentTick++;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade(ArrayDeque<Entry<T>> bucket) {
+        int count = bucket.size();
+        for (int i = 0; i < count; i++) {
+            place(bucket.poll());
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.deadlineTick - currentTick;
+        long tick = entry.deadlineTick;
+
+        // Beyond the wheel: park at its far end and re-place on cascade
+        if (delta >= span) {
+            delta = span - 1;
+            tick = currentTick + delta;
+        }
+
+        int level = 0;
+        while (delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+
+        buckets[level][(int) ((tick >>> (BITS * level)) & MASK)].add(entry);
+    }
+
+    private static final class Entry<T> {
+
+        private final T item;
+        private final long deadlineMillis;
+        private final long deadlineTick;
+
+        Entry(T item, long deadlineMillis, long deadlineTick) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.assessment.urlshortner.utils;
+
+import java.util.Arrays;
+
+/**
+ * Description: HyperLogLog estimate of the number of distinct
+ *              strings offered, in 2^precision bytes regardless of
+ *              how many there are. The standard error is about
+ *              1.04 / sqrt(2^precision), e.g. 3.25% at precision 10;
+ *              small counts use linear counting and are near exact.
+ *
+ *              Not thread-safe.
+ */
+public final class HyperLogLog {
+
+    private final int precision;
+
+    // Per register: highest rank (leading zeros + 1) seen
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("Precision must be between 4 and 16: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public void offer(CharSequence value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (64 - precision));
+        // Guard bit bounds the rank at 64 - precision + 1
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Estimated number of distinct values offered since creation
+     * or the last {@link #clear()}.
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // Linear counting is more accurate for small cardinalities
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public void clear() {
+        Arrays.fill(registers, (byte) 0);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    // FNV-1a over UTF-16 code units, finished with a SplitMix64 mix
+    private static long hash(CharSequence value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,124 @@
+package com.assessment.urlshortner.utils;
+
+import java.util.Arrays;
+
+/**
+ * Description: Mergeable histogram of non-negative values (e.g.
+ *              latencies in milliseconds) with bounded relative error.
+ *
+ *              Values below 256 are counted exactly; above, each power
+ *              of two is split into 128 buckets, so a reported
+ *              percentile is at most 0.8% above the true value. Memory
+ *              grows with the largest value only (about 1 KB per
+ *              power of two), not with the number of values.
+ *
+ *              Not thread-safe; merge per-thread histograms instead.
+ */
+public final class LatencyHistogram {
+
+    // 2^SUB_BITS values counted exactly; half as many buckets per power of two above
+    private static final int SUB_BITS = 8;
+
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private static final int HALF_COUNT = SUB_COUNT >> 1;
+
+    private long[] counts = new long[SUB_COUNT];
+
+    private long count;
+
+    private long sum;
+
+    private long min = Long.MAX_VALUE;
+
+    private long max;
+
+    /**
+     * Counts one value; negative values count as 0.
+     */
+    public void record(long value) {
+        long v = Math.max(0L, value);
+        int index = index(v);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, index + HALF_COUNT);
+        }
+
+        counts[index]++;
+        count++;
+        sum += v;
+        min = Math.min(min, v);
+        max = Math.max(max, v);
+    }
+
+    /**
+     * Adds all values of another histogram.
+     */
+    public void merge(LatencyHistogram other) {
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Smallest recorded value (within the bucket precision) that at
+     * least {@code percentile} percent of the values do not exceed.
+     *
+     * @param percentile between 0 and 100
+     */
+    public long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(getMin(), Math.min(max, highestValue(i)));
+            }
+        }
+        return max;
+    }
+
+    // Exact below SUB_COUNT; above, exponent * HALF_COUNT + top SUB_BITS - 1 bits
+    private static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS + 1;
+        return exponent * HALF_COUNT + (int) (value >>> exponent);
+    }
+
+    private static long highestValue(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int exponent = index / HALF_COUNT - 1;
+        long sub = index - (long) exponent * HALF_COUNT;
+        return ((sub + 1) << exponent) - 1;
+    }
+}
@@ -0,0 +1,132 @@
+package com.assessment.urlshortner.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Description: Bounded, lock-free multi-producer / single-consumer
+ *              ring of pre-allocated, reusable entries.
+ *
+ *              A producer claims a slot, fills the entry in place and
+ *              publishes it; nothing is allocated per element. When
+ *              the ring is full, claim fails immediately instead of
+ *              waiting, so producers never block. Each slot carries a
+ *              sequence number telling whether it is free for the
+ *              producer lap or published for the consumer lap, so a
+ *              slow producer only holds back its own slot.
+ */
+public final class MpscRingBuffer<T> {
+
+    private final T[] entries;
+
+    // Per slot: position + 1 once published, position + capacity once consumed
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    // Next position to claim
+    private final AtomicLong tail = new AtomicLong();
+
+    // Next position to consume; written by the consumer thread only
+    private volatile long head;
+
+    /**
+     * @param capacity number of entries, rounded up to a power of two
+     * @param factory creates the entries, once each
+     */
+    @SuppressWarnings("unchecked")
+    public MpscRingBuffer(int capacity, Supplier<T> factory) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+
+        this.entries = (T[]) new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            entries[i] = factory.get();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Claims the next slot.
+     *
+     * @return the claimed position, or -1 if the ring is full
+     */
+    public long claim() {
+        long position = tail.get();
+        while (true) {
+            long available = sequences.get((int) (position & mask)) - position;
+
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                // The consumer has not freed this slot from the previous lap
+                return -1L;
+            } else {
+                // Another producer took this position
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * The entry of a claimed position, to be filled before {@link #publish}.
+     */
+    public T get(long position) {
+        return entries[(int) (position & mask)];
+    }
+
+    /**
+     * Hands a claimed, filled entry to the consumer.
+     */
+    public void publish(long position) {
+        sequences.lazySet((int) (position & mask), position + 1);
+    }
+
+    /**
+     * Passes up to {@code limit} published entries, in claim order, to
+     * the handler and frees their slots. Stops at the first claimed
+     * but unpublished slot. Single consumer thread only; entries must
+     * not be kept after the handler returns.
+     *
+     * @return number of entries consumed
+     */
+    public int drain(Consumer<T> handler, int limit) {
+        long position = head;
+        int count = 0;
+
+        while (count < limit) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+
+            try {
+                handler.accept(entries[index]);
+            } finally {
+                sequences.lazySet(index, position + entries.length);
+                position++;
+                count++;
+                head = position;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Approximate number of claimed entries not yet consumed.
+     */
+    public int size() {
+        return (int) Math.max(0L, Math.min(entries.length, tail.get() - head));
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+}
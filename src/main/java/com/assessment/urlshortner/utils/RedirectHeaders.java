@@ -0,0 +1,79 @@
+package com.assessment.urlshortner.utils;
+
+import java.time.Instant;
+
+/**
+ * Description: Status codes and caching headers of redirect responses.
+ *
+ *              A mapping redirects with 302 unless it was created with
+ *              301 or 308 (permanent links). Responses carry
+ *              Cache-Control max-age so browsers and CDNs can answer
+ *              repeat clicks; max-age is capped per status type and
+ *              never runs past the mapping's expiry.
+ */
+public final class RedirectHeaders {
+
+    public static final int FOUND = 302;
+
+    public static final int MOVED_PERMANENTLY = 301;
+
+    public static final int PERMANENT_REDIRECT = 308;
+
+    private RedirectHeaders() {
+    }
+
+    /**
+     * Whether a mapping may be created with this redirect status.
+     */
+    public static boolean isSupportedStatus(int status) {
+        return status == FOUND || status == MOVED_PERMANENTLY || status == PERMANENT_REDIRECT;
+    }
+
+    /**
+     * The redirect status of a mapping; null means the default 302.
+     */
+    public static int statusOrDefault(Integer status) {
+        return status == null ? FOUND : status;
+    }
+
+    public static boolean isPermanent(int status) {
+        return status == MOVED_PERMANENTLY || status == PERMANENT_REDIRECT;
+    }
+
+    /**
+     * Seconds a redirect may be cached: the cap, or less when the
+     * mapping expires sooner. Rounded down, so a response cached for
+     * that long never outlives the mapping.
+     *
+     * @param expiresAt mapping expiry, null for never
+     */
+    public static long maxAgeSeconds(Instant expiresAt, long capSeconds, long nowMillis) {
+        long maxAge = Math.max(0L, capSeconds);
+        if (expiresAt == null) {
+            return maxAge;
+        }
+        long remainingMillis = expiresAt.toEpochMilli() - nowMillis;
+        return Math.max(0L, Math.min(maxAge, remainingMillis / 1000));
+    }
+
+    /**
+     * Last time at which {@link #maxAgeSeconds} still returns
+     * {@code maxAge} for this expiry, i.e. how long a computed
+     * header stays valid.
+     */
+    public static long maxAgeValidUntil(Instant expiresAt, long maxAgeSeconds) {
+        if (expiresAt == null) {
+            return Long.MAX_VALUE;
+        }
+        return expiresAt.toEpochMilli() - maxAgeSeconds * 1000;
+    }
+
+    /**
+     * Cache-Control header value for the given max-age; a redirect
+     * that may not be cached at all is marked no-store, so permanent
+     * redirects are not cached heuristically either.
+     */
+    public static String cacheControl(long maxAgeSeconds) {
+        return maxAgeSeconds > 0 ? "public, max-age=" + maxAgeSeconds : "no-store";
+    }
+}
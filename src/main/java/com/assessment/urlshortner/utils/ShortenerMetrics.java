@@ -0,0 +1,52 @@
+package com.assessment.urlshortner.utils;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+
+/**
+ * Description: Builders for the latency timers and distributions of
+ *              the request paths (redirect, create, metadata, code
+ *              allocation, rate limiting).
+ *
+ *              They publish percentile histograms, so the Prometheus
+ *              endpoint exposes _bucket series and p50 / p99 / p99.9
+ *              can be computed with histogram_quantile across nodes.
+ *              Bucket ranges are bounded to keep the series count
+ *              small; management.metrics.distribution.* properties
+ *              still override them per meter.
+ */
+public final class ShortenerMetrics {
+
+    // Histogram range of request path timers: cache hits to slow queries
+    private static final Duration MIN_LATENCY = Duration.ofNanos(50_000);
+
+    private static final Duration MAX_LATENCY = Duration.ofSeconds(10);
+
+    private ShortenerMetrics() {
+    }
+
+    /**
+     * Timer with a percentile histogram from 50 us to 10 s.
+     */
+    public static Timer.Builder latencyTimer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_LATENCY)
+                .maximumExpectedValue(MAX_LATENCY);
+    }
+
+    /**
+     * Distribution of small counts (retries, collisions) with a
+     * histogram up to {@code max}.
+     */
+    public static DistributionSummary.Builder countDistribution(String name, String description, long max) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue((double) max);
+    }
+}
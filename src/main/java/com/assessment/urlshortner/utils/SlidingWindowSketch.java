@@ -0,0 +1,143 @@
+package com.assessment.urlshortner.utils;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Description: Thread-safe, fixed-size approximate event counter per
+ *              key over a sliding time window.
+ *
+ *              Counts are kept in count-min sketches, one per fixed
+ *              window; the sliding count is the current window plus
+ *              the previous one weighted by how much of it still
+ *              overlaps the sliding window. Estimates never undercount
+ *              within a window, and overcount by at most about
+ *              e / width of all events in that window (with
+ *              probability 1 - e^-depth). Memory does not depend on
+ *              the number of keys.
+ *
+ *              Three sketches rotate: current, previous, and one
+ *              cleared ahead of use by the first caller to reach a
+ *              new window.
+ */
+public final class SlidingWindowSketch {
+
+    private static final int GENERATIONS = 3;
+
+    private final AtomicIntegerArray[] generations = new AtomicIntegerArray[GENERATIONS];
+
+    private final long windowMillis;
+
+    private final int width;
+
+    private final int depth;
+
+    // Index of the latest window seen
+    private final AtomicLong currentWindow = new AtomicLong(-1L);
+
+    /**
+     * @param windowMillis length of the sliding window
+     * @param width counters per row, rounded up to a power of two
+     * @param depth rows (hash functions)
+     */
+    public SlidingWindowSketch(long windowMillis, int width, int depth) {
+        if (windowMillis < 1 || width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Window, width and depth must be positive");
+        }
+
+        this.windowMillis = windowMillis;
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.depth = depth;
+
+        for (int i = 0; i < GENERATIONS; i++) {
+            generations[i] = new AtomicIntegerArray(this.width * depth);
+        }
+    }
+
+    /**
+     * Counts one event for the key and returns the estimated number of
+     * events for it in the sliding window ending at nowMillis, this one
+     * included.
+     */
+    public long incrementAndEstimate(CharSequence key, long nowMillis) {
+        return count(key, nowMillis, true);
+    }
+
+    /**
+     * Returns the estimated number of events for the key in the sliding
+     * window ending at nowMillis, without counting one.
+     */
+    public long estimate(CharSequence key, long nowMillis) {
+        return count(key, nowMillis, false);
+    }
+
+    private long count(CharSequence key, long nowMillis, boolean increment) {
+        long window = rotate(nowMillis);
+        AtomicIntegerArray current = generations[(int) (window % GENERATIONS)];
+        AtomicIntegerArray previous = generations[(int) ((window + GENERATIONS - 1) % GENERATIONS)];
+
+        long hash = hash(key);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+
+        // Count-min: the smallest counter over all rows is the estimate
+        int currentCount = Integer.MAX_VALUE;
+        int previousCount = Integer.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            int index = i * width + (int) ((hash + i * h2) & (width - 1));
+            currentCount = Math.min(currentCount, increment ? current.incrementAndGet(index) : current.get(index));
+            previousCount = Math.min(previousCount, previous.get(index));
+        }
+
+        return currentCount + weightPrevious(previousCount, nowMillis);
+    }
+
+    // Share of the previous window still inside the sliding window
+    private long weightPrevious(int previousCount, long nowMillis) {
+        long remaining = windowMillis - Math.floorMod(nowMillis, windowMillis);
+        return previousCount * remaining / windowMillis;
+    }
+
+    /**
+     * Moves to the window containing nowMillis, clearing the sketches
+     * that will be used next. Returns the window index.
+     */
+    private long rotate(long nowMillis) {
+        long window = Math.floorDiv(nowMillis, windowMillis);
+        long seen = currentWindow.get();
+
+        while (window > seen) {
+            if (currentWindow.compareAndSet(seen, window)) {
+                // Window seen + 1 was cleared when seen began; clear up to window + 1
+                long from = seen < 0 ? window - 1 : Math.max(seen + 2, window - 1);
+                for (long w = from; w <= window + 1; w++) {
+                    clear(generations[(int) Math.floorMod(w, GENERATIONS)]);
+                }
+                break;
+            }
+            seen = currentWindow.get();
+        }
+        return window;
+    }
+
+    private static void clear(AtomicIntegerArray counts) {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    // FNV-1a over UTF-16 code units, finished with a SplitMix64 mix
+    private static long hash(CharSequence value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,9 +1,13 @@
 package com.assessment.urlshortner.utils;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Author: Julius Fasema
@@ -14,15 +18,43 @@ import java.util.Set;
 @Component
 public class UrlCodeGenerator {
 
+    /**
+     * Source of randomness for generated codes.
+     */
+    public enum Mode {
+        // Per-thread CSPRNG: codes are unguessable
+        SECURE,
+        // ThreadLocalRandom: faster, use only when codes need not be unguessable
+        FAST
+    }
+
     // Characters allowed in short URL codes (Base62)
-    private static final String BASE62 =
-            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final char[] BASE62 = Base62Codec.ALPHABET.toCharArray();
 
     // Default length of generated short codes
     private static final int DEFAULT_LENGTH = 6;
 
-    // Secure random generator for better randomness
-    private static final SecureRandom RANDOM = new SecureRandom();
+    // Base62 digits extracted from a single 64-bit draw (62^10 < 2^63)
+    private static final int DIGITS_PER_DRAW = 10;
+
+    // Largest multiple of 62^10 not above Long.MAX_VALUE; larger draws
+    // are rejected so every extracted digit is uniformly distributed
+    private static final long DRAW_LIMIT = (Long.MAX_VALUE / 839299365868340224L) * 839299365868340224L;
+
+    // One CSPRNG per thread so concurrent creates do not contend on a lock
+    private static final ThreadLocal<SecureRandom> SECURE_RANDOM =
+            ThreadLocal.withInitial(UrlCodeGenerator::newSecureRandom);
+
+    private final Mode mode;
+
+    public UrlCodeGenerator() {
+        this(Mode.SECURE);
+    }
+
+    @Autowired
+    public UrlCodeGenerator(@Value("${shortener.code-generator.mode:SECURE}") Mode mode) {
+        this.mode = mode;
+    }
 
     /**
      * Generates a random short code using the default length.
@@ -33,15 +65,23 @@ public class UrlCodeGenerator {
 
     /**
      * Generates a random short code of a specified length.
+     * Up to ten characters are taken from each 64-bit random draw.
      */
     public String generateCode(int length) {
-        StringBuilder code = new StringBuilder(length);
+        char[] code = new char[length];
+        int filled = 0;
+
+        while (filled < length) {
+            long draw = nextDraw();
+            int digits = Math.min(DIGITS_PER_DRAW, length - filled);
 
-        for (int i = 0; i < length; i++) {
-            code.append(BASE62.charAt(RANDOM.nextInt(BASE62.length())));
+            for (int i = 0; i < digits; i++) {
+                code[filled++] = BASE62[(int) (draw % Base62Codec.RADIX)];
+                draw /= Base62Codec.RADIX;
+            }
         }
 
-        return code.toString();
+        return new String(code);
     }
 
     /**
@@ -84,12 +124,42 @@ public class UrlCodeGenerator {
             return false;
         }
 
-        for (char c : code.toCharArray()) {
-            if (BASE62.indexOf(c) == -1) {
+        for (int i = 0; i < code.length(); i++) {
+            if (!Base62Codec.isDigit(code.charAt(i))) {
                 return false;
             }
         }
 
         return true;
     }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Returns a non-negative random value below DRAW_LIMIT.
+     */
+    private long nextDraw() {
+        long draw;
+        do {
+            long bits = mode == Mode.SECURE
+                    ? SECURE_RANDOM.get().nextLong()
+                    : ThreadLocalRandom.current().nextLong();
+            draw = bits >>> 1;
+        } while (draw >= DRAW_LIMIT);
+        return draw;
+    }
+
+    /**
+     * DRBG instances only synchronise on themselves, unlike the default
+     * NativePRNG which serialises all instances on a shared lock.
+     */
+    private static SecureRandom newSecureRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
 }
@@ -0,0 +1,50 @@
+package com.assessment.urlshortner.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Description: Computes the fixed-width digest used to look up
+ *              mappings by long URL.
+ *
+ *              The digest is the first 128 bits of SHA-256 over the
+ *              URL exactly as given, hex encoded (32 characters), so
+ *              it matches the exact comparison lookups by digest must
+ *              still make against the full URL. URLs differing only in
+ *              case of scheme or host get separate codes, as they did
+ *              before the digest was introduced.
+ */
+public final class UrlHasher {
+
+    // Length of the hex-encoded digest stored in url_mappings.long_url_hash
+    public static final int HASH_LENGTH = 32;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private UrlHasher() {
+    }
+
+    /**
+     * Returns the hex-encoded 128-bit digest of the URL.
+     */
+    public static String hash(String longUrl) {
+        MessageDigest digest = SHA_256.get();
+        byte[] bytes = digest.digest(longUrl.getBytes(StandardCharsets.UTF_8));
+
+        char[] hex = new char[HASH_LENGTH];
+        for (int i = 0; i < HASH_LENGTH / 2; i++) {
+            hex[i * 2] = HEX[(bytes[i] >> 4) & 0x0F];
+            hex[i * 2 + 1] = HEX[bytes[i] & 0x0F];
+        }
+        return new String(hex);
+    }
+}
@@ -0,0 +1,112 @@
+package com.assessment.urlshortner.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.assessment.urlshortner.cache.PreparedRedirects;
+import com.assessment.urlshortner.config.ClientIpResolver;
+import com.assessment.urlshortner.config.RedirectFastPathFilter;
+import com.assessment.urlshortner.exception.UrlNotFoundException;
+import com.assessment.urlshortner.model.RedirectTarget;
+import com.assessment.urlshortner.service.UrlMappingService;
+import com.assessment.urlshortner.utils.UrlCodeGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedirectFastPathFilterTest {
+
+    @Mock
+    private UrlMappingService urlService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private MeterRegistry meterRegistry;
+
+    private RedirectFastPathFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        PreparedRedirects preparedRedirects = new PreparedRedirects(meterRegistry, true, 16, 8, 60, 300, 86400);
+        filter = new RedirectFastPathFilter(urlService, new UrlCodeGenerator(), preparedRedirects,
+                new ClientIpResolver("X-Forwarded-For"));
+    }
+
+    @Test
+    void testRedirect_WrittenWithoutDispatcher() throws Exception {
+        // Arrange
+        when(urlService.getRedirectTarget("samju1234", "127.0.0.1"))
+                .thenReturn(new RedirectTarget("samju1234", "https://example.com/page", null));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/r/samju1234"), response, filterChain);
+
+        // Assert
+        assertEquals(302, response.getStatus());
+        assertEquals("https://example.com/page", response.getHeader("Location"));
+        // Counted once, by the service
+        assertNull(meterRegistry.find("shortener_redirect_total").counter());
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    void testUnknownCode_FallsBackToController() throws Exception {
+        // Arrange
+        when(urlService.getRedirectTarget("samju1234", "127.0.0.1")).thenThrow(new UrlNotFoundException("Short URL not found"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/r/samju1234");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+        // The controller rethrows this rather than looking the code up again
+        assertInstanceOf(UrlNotFoundException.class,
+                request.getAttribute(RedirectFastPathFilter.LOOKUP_FAILURE_ATTRIBUTE));
+        verify(urlService, times(1)).getRedirectTarget(anyString(), any());
+    }
+
+    @Test
+    void testRedirect_ClientIpFromForwardedHeader() throws Exception {
+        // Arrange: the balancer appended the last entry; the first came from the client
+        when(urlService.getRedirectTarget("samju1234", "203.0.113.7"))
+                .thenReturn(new RedirectTarget("samju1234", "https://example.com/page", null));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/r/samju1234");
+        request.addHeader("X-Forwarded-For", "10.9.9.9, 203.0.113.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertEquals(302, response.getStatus());
+        verify(urlService).getRedirectTarget("samju1234", "203.0.113.7");
+    }
+
+    @Test
+    void testMalformedCode_SkipsLookup() throws Exception {
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/r/not-a-code!"), new MockHttpServletResponse(), filterChain);
+        filter.doFilter(new MockHttpServletRequest("GET", "/r/samju1234/extra"), new MockHttpServletResponse(), filterChain);
+        filter.doFilter(new MockHttpServletRequest("POST", "/r/samju1234"), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        verify(urlService, never()).getRedirectTarget(anyString(), any());
+        verify(filterChain, times(3)).doFilter(any(), any());
+    }
+}
@@ -1,28 +1,61 @@
 package com.assessment.urlshortner.controller;
 
+import com.assessment.urlshortner.accesslog.AccessLogWriter;
+import com.assessment.urlshortner.analytics.ClickGranularity;
+import com.assessment.urlshortner.cache.PreparedRedirects;
+import com.assessment.urlshortner.config.ClientIpResolver;
+import com.assessment.urlshortner.dto.BatchUrlMappingRequest;
+import com.assessment.urlshortner.dto.BatchUrlMappingResponse;
+import com.assessment.urlshortner.dto.ClickStatsResponse;
+import com.assessment.urlshortner.dto.UrlMappingMetadataResponse;
 import com.assessment.urlshortner.dto.UrlMappingRequest;
 import com.assessment.urlshortner.dto.UrlMappingResponse;
+import com.assessment.urlshortner.ratelimit.RateLimiter;
+import com.assessment.urlshortner.ratelimit.RedirectRateLimiter;
+import com.assessment.urlshortner.service.BatchUrlMappingService;
+import com.assessment.urlshortner.service.ClickStatsService;
 import com.assessment.urlshortner.service.UrlMappingService;
+import com.assessment.urlshortner.utils.UrlCodeGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 
-import org.apache.catalina.filters.RateLimitFilter;
+import java.time.Instant;
+import java.util.List;
 
 @WebMvcTest(UrlMappingController.class)
 class UrlControllerTest {
 
+    // The rate limit filters register their decision timers
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -32,12 +65,33 @@ class UrlControllerTest {
     @MockBean
     private UrlMappingService urlService;
 
-    // Disable the real filter
     @MockBean
-    private RateLimitFilter rateLimitFilter;
+    private BatchUrlMappingService batchUrlService;
+
+    @MockBean
+    private ClickStatsService clickStatsService;
+
+    // RateLimitingFilter is still in the slice; let every request through
+    @MockBean
+    private RateLimiter rateLimiter;
+
+    @MockBean
+    private RedirectRateLimiter redirectRateLimiter;
+
+    // Needed by RedirectFastPathFilter, also in the slice
+    @MockBean
+    private UrlCodeGenerator urlCodeGenerator;
+
+    @MockBean
+    private PreparedRedirects preparedRedirects;
+
+    // Used by both redirect filters
+    @MockBean
+    private ClientIpResolver clientIpResolver;
 
+    // AccessLogFilter is in the slice too; the mock reports it disabled
     @MockBean
-    private FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration;
+    private AccessLogWriter accessLogWriter;
 
     private UrlMappingRequest[] validRequests;
     private UrlMappingRequest[] invalidRequests;
@@ -45,6 +99,8 @@ class UrlControllerTest {
 
     @BeforeEach
     void setupTestData() {
+        when(rateLimiter.tryAcquire(anyString())).thenReturn(true);
+
         // Valid URL requests
         validRequests = new UrlMappingRequest[4];
 
@@ -74,9 +130,159 @@ class UrlControllerTest {
             mockMvc.perform(post("/api/urls")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(request)))
-                    .andExpect(status().isOk());
+                    .andExpect(status().isBadRequest());
         }
     }
 
+    @Test
+    void testCreateShortUrls_Batch() throws Exception {
+        BatchUrlMappingRequest request = new BatchUrlMappingRequest();
+        request.setUrls(List.of(validRequests[0], validRequests[0]));
+
+        when(batchUrlService.createShortUrls(any()))
+                .thenReturn(new BatchUrlMappingResponse(List.of(responses[0], responses[0]), 1, 0));
+
+        mockMvc.perform(post("/api/urls/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.results[1].code").value("samju1234"))
+                .andExpect(jsonPath("$.created").value(1));
+    }
+
+    @Test
+    void testCreateShortUrls_BatchWithInvalidUrl() throws Exception {
+        BatchUrlMappingRequest request = new BatchUrlMappingRequest();
+        request.setUrls(List.of(validRequests[0], invalidRequests[0]));
 
+        mockMvc.perform(post("/api/urls/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(batchUrlService);
+    }
+
+    @Test
+    void testCreateShortUrl_UnsupportedRedirectStatus() throws Exception {
+        UrlMappingRequest request = new UrlMappingRequest();
+        request.setLongUrl("https://example.com/page");
+        request.setRedirectStatus(307);
+
+        mockMvc.perform(post("/api/urls")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(urlService);
+    }
+
+    @Test
+    void testCreateShortUrl_PermanentRedirectStatus() throws Exception {
+        UrlMappingRequest request = new UrlMappingRequest();
+        request.setLongUrl("https://example.com/page");
+        request.setRedirectStatus(308);
+        when(urlService.createShortUrl(any(UrlMappingRequest.class))).thenReturn(responses[0]);
+
+        mockMvc.perform(post("/api/urls")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.code").value("samju1234"));
+
+        verify(urlService).createShortUrl(argThat(created -> Integer.valueOf(308).equals(created.getRedirectStatus())));
+    }
+
+    @Test
+    void testGetUrlMetadata_NotModifiedForMatchingETag() throws Exception {
+        UrlMappingMetadataResponse metadata = new UrlMappingMetadataResponse();
+        metadata.setCode("samju1234");
+        metadata.setLongUrl("https://example.com/page");
+        metadata.setHitCount(3L);
+        metadata.setRedirectStatus(302);
+        when(urlService.getUrlMetadata("samju1234")).thenReturn(metadata);
+
+        String eTag = mockMvc.perform(get("/api/urls/samju1234"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.redirectStatus").value(302))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertNotNull(eTag);
+        mockMvc.perform(get("/api/urls/samju1234").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+        // A new hit changes the tag
+        metadata.setHitCount(4L);
+        mockMvc.perform(get("/api/urls/samju1234").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testGetClickStats() throws Exception {
+        Instant from = Instant.parse("2026-01-29T08:00:00Z");
+        Instant to = Instant.parse("2026-01-29T10:00:00Z");
+
+        when(clickStatsService.getClickStats("samju1234", ClickGranularity.HOUR, from, to))
+                .thenReturn(new ClickStatsResponse("samju1234", "hour", from, to, 7,
+                        List.of(new ClickStatsResponse.Bucket(from, 7))));
+
+        mockMvc.perform(get("/api/urls/samju1234/stats")
+                        .param("from", "2026-01-29T08:00:00Z")
+                        .param("to", "2026-01-29T10:00:00Z")
+                        .param("granularity", "HOUR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(7))
+                .andExpect(jsonPath("$.buckets[0].clicks").value(7));
+    }
+
+    @Test
+    void testGetClickStats_InvalidRequests() throws Exception {
+        mockMvc.perform(get("/api/urls/samju1234/stats").param("granularity", "week"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/urls/samju1234/stats").param("from", "yesterday"))
+                .andExpect(status().isBadRequest());
+
+        // Empty range
+        mockMvc.perform(get("/api/urls/samju1234/stats")
+                        .param("from", "2026-01-29T10:00:00Z")
+                        .param("to", "2026-01-29T10:00:00Z"))
+                .andExpect(status().isBadRequest());
+
+        // More than shortener.analytics.max-buckets minutes
+        mockMvc.perform(get("/api/urls/samju1234/stats")
+                        .param("from", "2025-01-01T00:00:00Z")
+                        .param("to", "2026-01-01T00:00:00Z")
+                        .param("granularity", "minute"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(clickStatsService);
+    }
+
+    @Test
+    void testGetClickStats_MaxBucketsBoundary() throws Exception {
+        // 10000 minute buckets (shortener.analytics.max-buckets) is allowed, one more is not
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        Instant to = Instant.parse("2026-01-07T22:40:00Z");
+        when(clickStatsService.getClickStats("samju1234", ClickGranularity.MINUTE, from, to))
+                .thenReturn(new ClickStatsResponse("samju1234", "minute", from, to, 0, List.of()));
+
+        mockMvc.perform(get("/api/urls/samju1234/stats")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .param("granularity", "minute"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(0));
+
+        mockMvc.perform(get("/api/urls/samju1234/stats")
+                        .param("from", from.toString())
+                        .param("to", "2026-01-07T22:40:00.001Z")
+                        .param("granularity", "minute"))
+                .andExpect(status().isBadRequest());
+
+        verify(clickStatsService).getClickStats("samju1234", ClickGranularity.MINUTE, from, to);
+    }
 }
@@ -0,0 +1,144 @@
+package com.assessment.urlshortner.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.assessment.urlshortner.accesslog.AccessLogAnalyzer;
+import com.assessment.urlshortner.accesslog.AccessLogStats;
+import com.assessment.urlshortner.utils.LatencyHistogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogAnalyzerTest {
+
+    private static final String LOG = String.join("\n",
+            "timestamp,ip,method,endpoint,status,response_time_ms",
+            "2026-01-29T08:00:00Z,10.94.179.99,GET,/api/urls,200,150",
+            "2026-01-29T08:01:02Z,10.94.179.99,POST,/api/urls,201,300",
+            "2026-01-29T08:01:10Z,10.94.179.99,GET,/r/gfg123,302,50",
+            "2026-01-29T08:02:15Z,10.94.179.99,GET,/api/urls/kZJk9l,200,100",
+            "2026-01-29T08:03:45Z,10.94.179.99,GET,/r/QwbAsS?utm=mail,302,60",
+            "not a log line",
+            "2026-01-29T08:04:00Z,10.94.179.99,GET,/api/urls/QwbAsS/stats,200,120",
+            "2026-01-29T08:05:30Z,10.94.179.99,POST,/api/urls/batch,201,250\r",
+            "2026-01-29T08:06:00Z,10.94.179.99,GET,\"/api/urls?q=a,b\",404,7",
+            "2026-01-29T08:08:25Z,10.94.179.99,GET,/r/QwbAsS,302,45.9",
+            "2026-01-29T08:09:00Z,10.94.179.99,GET,/api/urls/pvgBtb,abc,90") + "\n";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testAnalyze_ParsesEndpointsStatusesAndCodes() throws Exception {
+        Path file = write(LOG);
+
+        AccessLogStats stats = AccessLogAnalyzer.analyze(file, 1, 1L << 20);
+
+        assertEquals(9, stats.getLines());
+        assertEquals(2, stats.getMalformed());
+        assertEquals(Map.of(200, 3L, 201, 2L, 302, 3L, 404, 1L), stats.getStatuses());
+
+        Map<String, LatencyHistogram> endpoints = stats.getEndpoints();
+        assertEquals(2, endpoints.get("GET /api/urls").getCount());
+        assertEquals(List.of(
+                "GET /api/urls",
+                "GET /api/urls/{code}",
+                "GET /api/urls/{code}/stats",
+                "GET /r/{code}",
+                "POST /api/urls",
+                "POST /api/urls/batch"), List.copyOf(endpoints.keySet()));
+
+        LatencyHistogram redirects = endpoints.get("GET /r/{code}");
+        assertEquals(3, redirects.getCount());
+        assertEquals(45, redirects.getMin());
+        assertEquals(60, redirects.getMax());
+
+        assertEquals(List.of(Map.entry("QwbAsS", 2L), Map.entry("gfg123", 1L)), stats.getTopCodes(10));
+        assertEquals(List.of(Map.entry("QwbAsS", 2L)), stats.getTopCodes(1));
+    }
+
+    @Test
+    void testAnalyze_SmallSegmentsGiveSameResult() throws Exception {
+        StringBuilder log = new StringBuilder(LOG);
+        for (int i = 0; i < 500; i++) {
+            log.append("2026-01-29T09:00:00Z,10.0.0.").append(i % 256)
+                    .append(",GET,/r/code").append(i % 7)
+                    .append(',').append(i % 10 == 0 ? 404 : 302)
+                    .append(',').append(i * 13 % 1000)
+                    .append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Path file = write(log.toString());
+
+        AccessLogStats whole = AccessLogAnalyzer.analyze(file, 1, 1L << 20);
+        // Segments shorter than a line: most lines cross a boundary
+        AccessLogStats split = AccessLogAnalyzer.analyze(file, 3, 37);
+
+        assertEquals(509, whole.getLines());
+        assertEquals(whole.getLines(), split.getLines());
+        assertEquals(whole.getMalformed(), split.getMalformed());
+        assertEquals(whole.getStatuses(), split.getStatuses());
+        assertEquals(whole.getEndpoints().keySet(), split.getEndpoints().keySet());
+        assertEquals(whole.getTopCodes(5), split.getTopCodes(5));
+        assertEquals(whole.getOverall().getMean(), split.getOverall().getMean(), 1e-9);
+        assertEquals(whole.getOverall().percentile(99), split.getOverall().percentile(99));
+    }
+
+    @Test
+    void testAnalyze_LastLineWithoutNewline() throws Exception {
+        Path file = write("2026-01-29T08:00:00Z,10.94.179.99,GET,/r/gfg123,302,50");
+
+        AccessLogStats stats = AccessLogAnalyzer.analyze(file, 2, 16);
+
+        assertEquals(1, stats.getLines());
+        assertEquals(0, stats.getMalformed());
+        assertEquals(List.of(Map.entry("gfg123", 1L)), stats.getTopCodes(10));
+    }
+
+    @Test
+    void testRun_PrintsReport() throws Exception {
+        Path file = write(LOG);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int exitCode = AccessLogAnalyzer.run(new String[] { file.toString(), "--threads", "2", "--top", "1" },
+                new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        String report = out.toString(StandardCharsets.UTF_8);
+        assertEquals(0, exitCode);
+        assertTrue(report.contains("9 requests, 2 malformed lines"));
+        assertTrue(report.contains("GET /r/{code}"));
+        assertTrue(report.contains("QwbAsS"));
+        assertFalse(report.contains("gfg123"));
+        assertEquals("", err.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testRun_InvalidArguments() {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8);
+        PrintStream errors = new PrintStream(err, true, StandardCharsets.UTF_8);
+
+        assertEquals(2, AccessLogAnalyzer.run(new String[0], out, errors));
+        assertTrue(err.toString(StandardCharsets.UTF_8).startsWith("Usage: analyze-access-log"));
+
+        assertEquals(2, AccessLogAnalyzer.run(new String[] { "a.csv", "--threads" }, out, errors));
+        assertEquals(2, AccessLogAnalyzer.run(new String[] { "a.csv", "--threads", "0" }, out, errors));
+        assertEquals(2, AccessLogAnalyzer.run(new String[] { "a.csv", "--unknown" }, out, errors));
+        assertEquals(1, AccessLogAnalyzer.run(new String[] { directory.resolve("missing.csv").toString() },
+                out, errors));
+    }
+
+    private Path write(String content) throws Exception {
+        Path file = directory.resolve("access.csv");
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,70 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.assessment.urlshortner.accesslog.AccessLogWriter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testLog_WritesCsvLinesInBackground() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Path file = directory.resolve("logs/access.csv");
+        AccessLogWriter writer = new AccessLogWriter(meterRegistry, true, file.toString(), 64, 16, 10, 100, 2);
+
+        writer.start();
+        writer.log(1769673600000L, "10.94.179.99", "GET", "/r/gfg123", 302, 50);
+        writer.log(1769673662123L, "10.94.179.99", "POST", "/api/urls", 201, 300);
+        writer.stop();
+
+        assertEquals(List.of(
+                "timestamp,ip,method,endpoint,status,response_time_ms",
+                "2026-01-29T08:00:00.000Z,10.94.179.99,GET,/r/gfg123,302,50",
+                "2026-01-29T08:01:02.123Z,10.94.179.99,POST,/api/urls,201,300"),
+                Files.readAllLines(file));
+        assertEquals(2.0, meterRegistry.get("shortener.access-log.written").counter().count());
+    }
+
+    @Test
+    void testLog_AppendsWithoutRepeatingHeader() throws Exception {
+        Path file = directory.resolve("access.csv");
+
+        for (int run = 0; run < 2; run++) {
+            AccessLogWriter writer = new AccessLogWriter(new SimpleMeterRegistry(), true, file.toString(), 64, 16, 10, 100, 2);
+            writer.start();
+            writer.log(1769673600000L, "10.0.0.1", "GET", "/r/a,b", 404, 1);
+            writer.stop();
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertEquals("2026-01-29T08:00:00.000Z,10.0.0.1,GET,\"/r/a,b\",404,1", lines.get(2));
+    }
+
+    @Test
+    void testLog_DropsWhenBufferIsFull() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // Not started: nothing drains the buffer
+        AccessLogWriter writer = new AccessLogWriter(meterRegistry, true,
+                directory.resolve("access.csv").toString(), 4, 16, 10, 100, 2);
+
+        for (int i = 0; i < 10; i++) {
+            writer.log(System.currentTimeMillis(), "10.0.0.1", "GET", "/r/abc123", 302, 1);
+        }
+
+        assertEquals(6.0, meterRegistry.get("shortener.access-log.dropped").tag("cause", "buffer-full").counter().count());
+        assertEquals(4.0, meterRegistry.get("shortener.access-log.pending").gauge().value());
+    }
+}
@@ -0,0 +1,116 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.assessment.urlshortner.cache.CodeBloomFilter;
+import com.assessment.urlshortner.cache.ExpiryTracker;
+import com.assessment.urlshortner.cache.RedirectCache;
+import com.assessment.urlshortner.dto.BatchUrlMappingResponse;
+import com.assessment.urlshortner.dto.UrlMappingRequest;
+import com.assessment.urlshortner.model.UrlMapping;
+import com.assessment.urlshortner.repository.UrlMappingRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchUrlServiceTest {
+
+    @Mock
+    private UrlMappingRepository repository;
+
+    @Mock
+    private CodeAllocator codeAllocator;
+
+    @Mock
+    private UrlMappingBatchInserter batchInserter;
+
+    @Mock
+    private CodeBloomFilter codeBloomFilter;
+
+    @Mock
+    private LongUrlHashBackfill longUrlHashBackfill;
+
+    @Mock
+    private ExpiryTracker expiryTracker;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BatchUrlMappingService batchService;
+
+    @BeforeEach
+    void setUp() {
+        RedirectCache redirectCache = new RedirectCache(true, 1000, 300, 30, new SimpleMeterRegistry());
+        batchService = new BatchUrlMappingService(repository, codeAllocator, batchInserter, redirectCache,
+                codeBloomFilter, longUrlHashBackfill, expiryTracker, transactionManager, 2);
+        ReflectionTestUtils.setField(batchService, "baseUrl", "http://localhost:8080");
+
+        lenient().when(longUrlHashBackfill.isComplete()).thenReturn(true);
+    }
+
+    @Test
+    void testCreateShortUrls_DeduplicatesAndReusesExisting() {
+        // Arrange: one URL already mapped, one new, the first repeated
+        UrlMapping existing = new UrlMapping("samju1234", "https://example.com/a", null);
+
+        when(repository.findByLongUrlHashIn(any())).thenReturn(List.of(existing));
+        when(codeAllocator.allocate(1)).thenReturn(List.of("samju5678"));
+
+        // Act
+        BatchUrlMappingResponse response = batchService.createShortUrls(List.of(
+                request("https://example.com/a"),
+                request("https://example.com/b"),
+                request("https://example.com/a")));
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getExisting());
+        assertEquals(List.of("samju1234", "samju5678", "samju1234"),
+                response.getResults().stream().map(result -> result.getCode()).toList());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UrlMapping>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(batchInserter).insert(inserted.capture());
+        assertEquals(1, inserted.getValue().size());
+        assertEquals("https://example.com/b", inserted.getValue().get(0).getLongUrl());
+        verify(codeBloomFilter).add("samju5678");
+    }
+
+    @Test
+    void testCreateShortUrls_ProcessesInChunks() {
+        // Arrange: chunk size is 2
+        when(repository.findByLongUrlHashIn(any())).thenReturn(List.of());
+        when(codeAllocator.allocate(2)).thenReturn(List.of("code01", "code02"));
+        when(codeAllocator.allocate(1)).thenReturn(List.of("code03"));
+
+        // Act
+        BatchUrlMappingResponse response = batchService.createShortUrls(List.of(
+                request("https://example.com/1"),
+                request("https://example.com/2"),
+                request("https://example.com/3")));
+
+        // Assert
+        assertEquals(3, response.getCreated());
+        verify(repository, times(2)).findByLongUrlHashIn(any());
+        verify(batchInserter, times(2)).insert(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    private static UrlMappingRequest request(String longUrl) {
+        UrlMappingRequest request = new UrlMappingRequest();
+        request.setLongUrl(longUrl);
+        return request;
+    }
+}
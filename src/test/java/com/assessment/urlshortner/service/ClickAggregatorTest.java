@@ -0,0 +1,138 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.assessment.urlshortner.analytics.ClickAggregator;
+import com.assessment.urlshortner.analytics.ClickGranularity;
+import com.assessment.urlshortner.analytics.HotCodeTracker;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClickAggregatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+
+    private HotCodeTracker hotCodes;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hotCodes = new HotCodeTracker(meterRegistry, 16, 10, 60, 10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStop_FlushesMinuteHourAndDayBuckets() throws Exception {
+        // Arrange
+        ClickAggregator aggregator = new ClickAggregator(jdbcTemplate, transactionManager, hotCodes, meterRegistry, true, 64, 60_000, 1000);
+
+        long t = Instant.parse("2026-01-29T08:00:10Z").toEpochMilli();
+
+        // Act
+        aggregator.start();
+        aggregator.record("samju1234", "10.0.0.1", t);
+        aggregator.record("samju1234", "10.0.0.2", t + 20_000);
+        aggregator.record("samju1234", "10.0.0.1", t + 60_000);
+        aggregator.stop();
+
+        // Assert
+        // One batch of upserts, no separate UPDATE / INSERT
+        ArgumentCaptor<List<Object[]>> upserts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("MERGE INTO click_stats"), upserts.capture());
+
+        List<Object[]> rows = upserts.getValue();
+        assertEquals(4, rows.size());
+        assertArrayEquals(new Object[] { "samju1234", "MINUTE", utc("2026-01-29T08:00:00Z"), 2L }, rows.get(0));
+        assertArrayEquals(new Object[] { "samju1234", "MINUTE", utc("2026-01-29T08:01:00Z"), 1L }, rows.get(1));
+        assertArrayEquals(new Object[] { "samju1234", "HOUR", utc("2026-01-29T08:00:00Z"), 3L }, rows.get(2));
+        assertArrayEquals(new Object[] { "samju1234", "DAY", utc("2026-01-29T00:00:00Z"), 3L }, rows.get(3));
+        assertEquals(4.0, meterRegistry.get("shortener.analytics.buckets.written").counter().count());
+    }
+
+    @Test
+    void testRecord_DropsWhenBufferIsFull() {
+        // Not started: nothing drains the buffer
+        ClickAggregator aggregator = new ClickAggregator(jdbcTemplate, transactionManager, hotCodes, meterRegistry, true, 4, 60_000, 1000);
+
+        for (int i = 0; i < 10; i++) {
+            aggregator.record("samju1234", "10.0.0.1", System.currentTimeMillis());
+        }
+
+        assertEquals(6.0, meterRegistry.get("shortener.analytics.clicks.dropped").counter().count());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testStop_FailedFlushWritesNothingAndCountsNothing() throws Exception {
+        when(jdbcTemplate.batchUpdate(startsWith("MERGE INTO click_stats"), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        ClickAggregator aggregator = new ClickAggregator(jdbcTemplate, transactionManager, hotCodes, meterRegistry, true, 64, 60_000, 1000);
+
+        aggregator.start();
+        aggregator.record("samju1234", "10.0.0.1", System.currentTimeMillis());
+        aggregator.stop();
+
+        assertEquals(0.0, meterRegistry.get("shortener.analytics.buckets.written").counter().count());
+    }
+
+    @Test
+    void testRecord_DiscardsClicksBeyondPendingBucketLimit() throws Exception {
+        // Arrange: room for two (code, minute) buckets
+        when(jdbcTemplate.batchUpdate(startsWith("MERGE INTO click_stats"), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        ClickAggregator aggregator = new ClickAggregator(jdbcTemplate, transactionManager, hotCodes, meterRegistry, true, 64, 60_000, 2);
+        long t = Instant.parse("2026-01-29T08:00:10Z").toEpochMilli();
+
+        // Act
+        aggregator.start();
+        aggregator.record("samju1234", "10.0.0.1", t);
+        aggregator.record("samju5678", "10.0.0.1", t);
+        aggregator.record("samju1234", "10.0.0.1", t + 1_000);
+        aggregator.record("samju9999", "10.0.0.1", t);
+        aggregator.stop();
+
+        // Assert: only the click needing a third bucket is discarded
+        assertEquals(1.0, meterRegistry.get("shortener.analytics.clicks.discarded").counter().count());
+        assertEquals(0.0, meterRegistry.get("shortener.analytics.clicks.dropped").counter().count());
+    }
+
+    @Test
+    void testBucketStart_AlignedToUtc() {
+        long t = Instant.parse("2026-01-29T08:59:59.999Z").toEpochMilli();
+
+        assertEquals(Instant.parse("2026-01-29T08:59:00Z").toEpochMilli(), ClickGranularity.MINUTE.bucketStart(t));
+        assertEquals(Instant.parse("2026-01-29T08:00:00Z").toEpochMilli(), ClickGranularity.HOUR.bucketStart(t));
+        assertEquals(Instant.parse("2026-01-29T00:00:00Z").toEpochMilli(), ClickGranularity.DAY.bucketStart(t));
+        assertEquals(ClickGranularity.DAY, ClickGranularity.parse(" day "));
+        assertNull(ClickGranularity.parse("week"));
+    }
+
+    private static OffsetDateTime utc(String instant) {
+        return Instant.parse(instant).atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,160 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.assessment.urlshortner.cache.CodeBloomFilter;
+import com.assessment.urlshortner.repository.CodeSequenceRepository;
+import com.assessment.urlshortner.repository.UrlMappingRepository;
+import com.assessment.urlshortner.utils.Base62Codec;
+import com.assessment.urlshortner.utils.FeistelPermutation;
+import com.assessment.urlshortner.utils.UrlCodeGenerator;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CodeAllocatorTest {
+
+    @Mock
+    private UrlMappingRepository urlMappingRepository;
+
+    @Mock
+    private UrlCodeGenerator urlCodeGenerator;
+
+    @Mock
+    private CodeBloomFilter codeBloomFilter;
+
+    @Mock
+    private CodeSequenceRepository codeSequenceRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testRandomAllocator_WidensCodeAfterRetries() {
+        // Arrange
+        RandomCodeAllocator allocator = new RandomCodeAllocator(urlMappingRepository, urlCodeGenerator, codeBloomFilter, meterRegistry, 6, 3);
+        when(codeBloomFilter.mightExist(anyString())).thenReturn(true);
+        when(urlCodeGenerator.generateCode(6)).thenReturn("samju1");
+        when(urlCodeGenerator.generateCode(7)).thenReturn("samju12");
+        when(urlMappingRepository.existsByCode("samju1")).thenReturn(true);
+        when(urlMappingRepository.existsByCode("samju12")).thenReturn(false);
+
+        // Act
+        String code = allocator.allocate();
+
+        // Assert: the widened code is checked too
+        assertEquals("samju12", code);
+        verify(urlMappingRepository, times(3)).existsByCode("samju1");
+        verify(urlMappingRepository, times(1)).existsByCode("samju12");
+
+        DistributionSummary collisions = meterRegistry.get("shortener.code.collisions").tag("mode", "single").summary();
+        assertEquals(1, collisions.count());
+        assertEquals(3.0, collisions.totalAmount());
+    }
+
+    @Test
+    void testRandomAllocator_SkipsQueryWhenBloomFilterSaysAbsent() {
+        // Arrange
+        RandomCodeAllocator allocator = new RandomCodeAllocator(urlMappingRepository, urlCodeGenerator, codeBloomFilter, meterRegistry, 6, 3);
+        when(urlCodeGenerator.generateCode(6)).thenReturn("samju1");
+        when(codeBloomFilter.mightExist("samju1")).thenReturn(false);
+
+        // Act
+        String code = allocator.allocate();
+
+        // Assert
+        assertEquals("samju1", code);
+        verifyNoInteractions(urlMappingRepository);
+    }
+
+    @Test
+    void testRandomAllocator_BulkReplacesTakenCodes() {
+        // Arrange
+        RandomCodeAllocator allocator = new RandomCodeAllocator(urlMappingRepository, urlCodeGenerator, codeBloomFilter, meterRegistry, 6, 3);
+        when(codeBloomFilter.mightExist(anyString())).thenReturn(true);
+        when(urlCodeGenerator.generateCode(6)).thenReturn("samju1", "samju2", "samju3");
+        when(urlMappingRepository.findExistingCodes(anyCollection())).thenReturn(Set.of("samju2"), Set.of());
+
+        // Act
+        List<String> codes = allocator.allocate(2);
+
+        // Assert: one IN query per round
+        assertEquals(List.of("samju1", "samju3"), codes);
+        verify(urlMappingRepository, times(2)).findExistingCodes(anyCollection());
+        verify(urlMappingRepository, never()).existsByCode(anyString());
+        assertEquals(1.0, meterRegistry.get("shortener.code.collisions").tag("mode", "bulk").summary().totalAmount());
+    }
+
+    @Test
+    void testSequenceAllocator_HandsOutLeasedBlocks() {
+        // Arrange: blocks of 3 IDs
+        SequenceCodeAllocator allocator =
+                new SequenceCodeAllocator(codeSequenceRepository, transactionManager, 6, 3, true, 42L, 5000);
+        Set<String> leaseThreads = ConcurrentHashMap.newKeySet();
+        when(codeSequenceRepository.advance(anyString(), anyLong())).thenAnswer(invocation -> {
+            leaseThreads.add(Thread.currentThread().getName());
+            return 1;
+        });
+        when(codeSequenceRepository.findNextValue(SequenceCodeAllocator.SEQUENCE_NAME))
+                .thenReturn(Optional.of(3L), Optional.of(6L), Optional.of(9L));
+
+        // Act
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            codes.add(allocator.allocate());
+        }
+
+        // Assert
+        assertEquals(6, codes.size());
+        codes.forEach(code -> assertEquals(6, code.length()));
+        // The third block is leased ahead, when the second is half used
+        verify(codeSequenceRepository, timeout(1000).times(3)).advance(SequenceCodeAllocator.SEQUENCE_NAME, 3L);
+        verifyNoInteractions(urlMappingRepository);
+
+        // Never on the caller's thread, which holds the create transaction's connection
+        assertEquals(Set.of("code-sequence-lease"), leaseThreads);
+        allocator.stop();
+    }
+
+    @Test
+    void testSequenceAllocator_IdsBeyondKeyspaceAreLonger() {
+        SequenceCodeAllocator allocator =
+                new SequenceCodeAllocator(codeSequenceRepository, transactionManager, 6, 3, true, 42L, 5000);
+
+        assertEquals(7, allocator.encode(Base62Codec.keyspace(6)).length());
+    }
+
+    @Test
+    void testFeistelPermutation_IsBijective() {
+        FeistelPermutation permutation = new FeistelPermutation(10_000, 7L);
+        Set<Long> seen = new HashSet<>();
+
+        for (long i = 0; i < 10_000; i++) {
+            long permuted = permutation.permute(i);
+            assertTrue(permuted >= 0 && permuted < 10_000);
+            assertEquals(i, permutation.inverse(permuted));
+            seen.add(permuted);
+        }
+
+        assertEquals(10_000, seen.size());
+    }
+}
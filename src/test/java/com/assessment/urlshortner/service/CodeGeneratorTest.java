@@ -44,6 +44,22 @@ class CodeGeneratorTest {
         assertEquals(8, code.length());
     }
     
+    @Test
+    void testGenerateCode_FastMode() {
+        UrlCodeGenerator fastGenerator = new UrlCodeGenerator(UrlCodeGenerator.Mode.FAST);
+        String code = fastGenerator.generateCode(8);
+        assertEquals(8, code.length());
+        assertTrue(code.matches("^[A-Za-z0-9]+$"));
+    }
+    
+    @Test
+    void testGenerateCode_LongerThanOneDraw() {
+        // More than ten characters needs a second 64-bit draw
+        String code = codeGenerator.generateCode(25);
+        assertEquals(25, code.length());
+        assertTrue(code.matches("^[A-Za-z0-9]+$"));
+    }
+    
     @Test
     void testIsValidCode_Valid() {
         assertTrue(codeGenerator.isValidCode("samju1234"));
@@ -56,6 +72,7 @@ class CodeGeneratorTest {
         assertFalse(codeGenerator.isValidCode("ab")); // Too short
         assertFalse(codeGenerator.isValidCode("abc-123")); // Invalid character
         assertFalse(codeGenerator.isValidCode(null));
+        assertFalse(codeGenerator.isValidCode("abc\u00e9123")); // Non-ASCII character
     }
     
     @Test
@@ -0,0 +1,72 @@
+package com.assessment.urlshortner.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.assessment.urlshortner.config.ConnectionLimitingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    void testGetConnection_WaitsBeyondLimitAndTimesOut() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenReturn(connection);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 2, 10L);
+
+        // Act
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        // Assert
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(2, dataSource.getActiveConnections());
+
+        first.close();
+        assertNotNull(dataSource.getConnection());
+        verify(target, times(3)).getConnection();
+    }
+
+    @Test
+    void testClose_ReleasesPermitOnce() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenReturn(connection);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 2, 10L);
+
+        // Act
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+
+        // Assert
+        assertEquals(0, dataSource.getActiveConnections());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void testGetConnection_ReleasesPermitWhenPoolFails() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, 10L);
+
+        // Act & Assert
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(0, dataSource.getActiveConnections());
+    }
+}
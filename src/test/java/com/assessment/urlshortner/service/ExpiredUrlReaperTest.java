@@ -0,0 +1,149 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.assessment.urlshortner.cache.CodeBloomFilter;
+import com.assessment.urlshortner.cache.ExpiryTracker;
+import com.assessment.urlshortner.event.ExpiredUrlsReapedEvent;
+import com.assessment.urlshortner.model.ExpiredUrl;
+import com.assessment.urlshortner.repository.UrlMappingRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpiredUrlReaperTest {
+
+    @Mock
+    private UrlMappingRepository repository;
+
+    @Mock
+    private LeaderLock leaderLock;
+
+    @Mock
+    private CodeBloomFilter codeBloomFilter;
+
+    @Mock
+    private ExpiryTracker expiryTracker;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+
+    private ExpiredUrlReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Chunks of 2, at most 10 per run, no pause, scan at most hourly
+        reaper = new ExpiredUrlReaper(repository, leaderLock, codeBloomFilter, expiryTracker, eventPublisher,
+                transactionManager, meterRegistry, true, 2, 10, 0L, 60_000L, 3_600_000L);
+    }
+
+    @Test
+    void testReap_DeletesInChunksAndPublishesCodes() {
+        // Arrange: a full chunk, then a short one
+        when(leaderLock.tryAcquire(eq(ExpiredUrlReaper.LOCK_NAME), any())).thenReturn(true);
+        when(repository.findExpired(any(Instant.class), any(Pageable.class))).thenReturn(
+                List.of(new ExpiredUrl(1L, "samju1"), new ExpiredUrl(2L, "samju2")),
+                List.of(new ExpiredUrl(3L, "samju3")));
+
+        // Act
+        long reaped = reaper.reap();
+
+        // Assert
+        assertEquals(3, reaped);
+        verify(repository).deleteByIds(List.of(1L, 2L));
+        verify(repository).deleteByIds(List.of(3L));
+        verify(transactionManager, times(2)).commit(any());
+
+        ArgumentCaptor<ExpiredUrlsReapedEvent> events = ArgumentCaptor.forClass(ExpiredUrlsReapedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of("samju1", "samju2"), events.getAllValues().get(0).getCodes());
+        assertEquals(List.of("samju3"), events.getAllValues().get(1).getCodes());
+
+        assertEquals(3.0, meterRegistry.get("shortener.reaper.reaped").tag("source", "scan").counter().count());
+        verify(codeBloomFilter).requestRebuild();
+
+        // Backlog cleared: the lock is held until the next scan is due
+        verify(leaderLock, never()).release(any());
+        verify(leaderLock).tryAcquire(ExpiredUrlReaper.LOCK_NAME, Duration.ofMillis(3_600_000L));
+    }
+
+    @Test
+    void testReap_DeletesTrackedCandidatesWithoutScanningAgain() {
+        // Arrange: first run scans an empty backlog
+        when(leaderLock.tryAcquire(eq(ExpiredUrlReaper.LOCK_NAME), any())).thenReturn(true);
+        when(repository.findExpired(any(Instant.class), any(Pageable.class))).thenReturn(List.of());
+        reaper.reap();
+
+        // samju2's expiry was extended after it was tracked, so it is no longer selected
+        when(expiryTracker.drainCandidates(2)).thenReturn(List.of("samju1", "samju2"), List.of());
+        when(repository.lockExpiredByCodes(eq(List.of("samju1", "samju2")), any(Instant.class)))
+                .thenReturn(List.of(new ExpiredUrl(1L, "samju1")));
+
+        // Act
+        long reaped = reaper.reap();
+
+        // Assert: only the still-expired candidate is deleted and reported, no second range scan
+        assertEquals(1, reaped);
+        verify(repository).deleteByIds(List.of(1L));
+        verify(repository, times(1)).findExpired(any(Instant.class), any(Pageable.class));
+
+        ArgumentCaptor<ExpiredUrlsReapedEvent> event = ArgumentCaptor.forClass(ExpiredUrlsReapedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of("samju1"), event.getValue().getCodes());
+        assertEquals(1.0, meterRegistry.get("shortener.reaper.reaped").tag("source", "candidates").counter().count());
+        verify(codeBloomFilter, never()).requestRebuild();
+    }
+
+    @Test
+    void testReap_SkipsWhenAnotherNodeHoldsTheLock() {
+        // Arrange
+        when(leaderLock.tryAcquire(eq(ExpiredUrlReaper.LOCK_NAME), any())).thenReturn(false);
+
+        // Act
+        long reaped = reaper.reap();
+
+        // Assert
+        assertEquals(0, reaped);
+        verifyNoInteractions(repository, eventPublisher);
+        verify(leaderLock, never()).release(any());
+    }
+
+    @Test
+    void testReap_NothingExpired() {
+        // Arrange
+        when(leaderLock.tryAcquire(eq(ExpiredUrlReaper.LOCK_NAME), any())).thenReturn(true);
+        when(repository.findExpired(any(Instant.class), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        long reaped = reaper.reap();
+
+        // Assert
+        assertEquals(0, reaped);
+        verify(repository, never()).deleteByIds(anyList());
+        verifyNoInteractions(eventPublisher, codeBloomFilter);
+    }
+}
@@ -0,0 +1,99 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.assessment.urlshortner.cache.ExpiryTracker;
+import com.assessment.urlshortner.cache.RedirectCache;
+import com.assessment.urlshortner.event.ExpiredUrlsReapedEvent;
+import com.assessment.urlshortner.model.RedirectTarget;
+import com.assessment.urlshortner.utils.HierarchicalTimingWheel;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiryTrackerTest {
+
+    private RedirectCache redirectCache;
+
+    private ExpiryTracker expiryTracker;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        redirectCache = new RedirectCache(true, 1000, 300, 30, meterRegistry);
+        expiryTracker = new ExpiryTracker(redirectCache, meterRegistry, true, 10, 4, 1000, 1000);
+    }
+
+    @Test
+    void testTimingWheel_FiresAtOrJustAfterDeadline() {
+        long start = 1_000_000L;
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(10, 2, start);
+        Random random = new Random(42);
+
+        // Deadlines up to ~30x the wheel span (4096 ticks) exercise cascading and parking
+        long[] deadlines = new long[5_000];
+        long[] fired = new long[deadlines.length];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = start + 1 + random.nextInt(1_200_000);
+            assertTrue(wheel.schedule(i, deadlines[i]));
+        }
+
+        long now = start;
+        while (wheel.size() > 0) {
+            now += 1 + random.nextInt(40);
+            long firedAt = now;
+            wheel.advance(now, (item, deadline) -> fired[item] = firedAt);
+        }
+
+        for (int i = 0; i < deadlines.length; i++) {
+            assertTrue(fired[i] >= deadlines[i], "fired early");
+            assertTrue(fired[i] - deadlines[i] < 10 + 40, "fired late");
+        }
+    }
+
+    @Test
+    void testTimingWheel_RejectsPastDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 2, 1_000L);
+
+        assertFalse(wheel.schedule("samju1", 500L));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testTrack_ExpiredMappingIsMarkedAndQueued() {
+        redirectCache.put("samju1", new RedirectTarget("samju1", "https://example.com", Instant.now().plusSeconds(60)));
+
+        expiryTracker.track("samju1", Instant.now().minusSeconds(1));
+
+        assertTrue(RedirectCache.isExpired(redirectCache.getIfPresent("samju1")));
+        assertEquals(List.of("samju1"), expiryTracker.drainCandidates(10));
+        assertFalse(expiryTracker.isTracked("samju1"));
+    }
+
+    @Test
+    void testAdvance_FiresDueMappings() throws InterruptedException {
+        expiryTracker.track("samju1", Instant.now().plusMillis(30));
+        expiryTracker.track("samju2", Instant.now().plusSeconds(3600));
+
+        Thread.sleep(60);
+        expiryTracker.advance();
+
+        assertEquals(List.of("samju1"), expiryTracker.drainCandidates(10));
+        assertTrue(expiryTracker.isTracked("samju2"));
+    }
+
+    @Test
+    void testReapedCodesAreNoLongerTracked() {
+        expiryTracker.track("samju1", Instant.now().plusSeconds(3600));
+
+        expiryTracker.onExpiredUrlsReaped(new ExpiredUrlsReapedEvent(new ArrayList<>(List.of("samju1")), Instant.now()));
+
+        assertFalse(expiryTracker.isTracked("samju1"));
+    }
+}
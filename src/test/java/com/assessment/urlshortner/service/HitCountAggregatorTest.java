@@ -0,0 +1,129 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HitCountAggregatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private HitCountAggregator aggregator;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aggregator = new HitCountAggregator(jdbcTemplate, transactionManager, meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_BatchesDeltasPerCode() {
+        // Arrange
+        aggregator.record("samju1234");
+        aggregator.record("samju1234");
+        aggregator.record("samju1234");
+        aggregator.record("abc123");
+
+        // Act
+        aggregator.flush();
+
+        // Assert
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(HitCountAggregator.INCREMENT_SQL), captor.capture());
+
+        List<Object[]> batch = captor.getValue();
+        assertEquals(2, batch.size());
+        assertArrayEquals(new Object[] { 1L, "abc123" }, batch.get(0));
+        assertArrayEquals(new Object[] { 3L, "samju1234" }, batch.get(1));
+        assertEquals(0L, aggregator.getPending("samju1234"));
+        assertEquals(0.0, meterRegistry.get("shortener.hits.pending").gauge().value());
+    }
+
+    @Test
+    void testFlush_NothingPending() {
+        aggregator.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testFlush_HitsStayPendingUntilCommit() {
+        // Arrange: check what getPending reports while the UPDATE runs
+        aggregator.record("samju1234");
+        aggregator.record("samju1234");
+        long[] pendingDuringWrite = new long[1];
+        when(jdbcTemplate.batchUpdate(eq(HitCountAggregator.INCREMENT_SQL), anyList())).thenAnswer(invocation -> {
+            aggregator.record("samju1234");
+            pendingDuringWrite[0] = aggregator.getPending("samju1234");
+            return new int[] { 1 };
+        });
+
+        // Act
+        aggregator.flush();
+
+        // Assert: in-flight hits are still visible, and the one recorded meanwhile survives the commit
+        assertEquals(3L, pendingDuringWrite[0]);
+        assertEquals(1L, aggregator.getPending("samju1234"));
+        assertEquals(1.0, meterRegistry.get("shortener.hits.pending").gauge().value());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_KeepsHitRacingIdleEntryRemoval() {
+        // Arrange: flushed once, so the entry is idle and removed by the next flush
+        aggregator.record("samju1234");
+        aggregator.flush();
+        LongAdder stale = ((Map<String, LongAdder>) ReflectionTestUtils.getField(aggregator, "pending")).get("samju1234");
+        aggregator.flush();
+
+        // Act: a record() that fetched the adder before the removal increments it afterwards
+        stale.increment();
+        aggregator.flush();
+
+        // Assert: the late hit is written by the following flush
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(HitCountAggregator.INCREMENT_SQL), captor.capture());
+        assertArrayEquals(new Object[] { 1L, "samju1234" }, captor.getAllValues().get(1).get(0));
+    }
+
+    @Test
+    void testFlush_FailureKeepsPendingHits() {
+        // Arrange
+        aggregator.record("samju1234");
+        aggregator.record("samju1234");
+        when(jdbcTemplate.batchUpdate(eq(HitCountAggregator.INCREMENT_SQL), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        // Act
+        aggregator.flush();
+
+        // Assert
+        assertEquals(2L, aggregator.getPending("samju1234"));
+        assertEquals(2.0, meterRegistry.get("shortener.hits.pending").gauge().value());
+    }
+}
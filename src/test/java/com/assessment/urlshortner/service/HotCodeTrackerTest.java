@@ -0,0 +1,102 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.assessment.urlshortner.analytics.HotCodeTracker;
+import com.assessment.urlshortner.dto.HotCodesResponse;
+import com.assessment.urlshortner.utils.HyperLogLog;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotCodeTrackerTest {
+
+    private static final long WINDOW_START = Instant.parse("2026-01-29T08:00:00Z").toEpochMilli();
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testHeavyHittersSurviveManyColdCodes() {
+        HotCodeTracker tracker = new HotCodeTracker(meterRegistry, 64, 3, 60, 10);
+
+        for (int i = 0; i < 20_000; i++) {
+            long t = WINDOW_START + i;
+            tracker.offer("cold" + i, "10.0.0.1", t);
+            if (i % 4 == 0) {
+                tracker.offer("hot1", "10.1." + (i / 4 % 200) + ".1", t);
+            }
+            if (i % 10 == 0) {
+                tracker.offer("hot2", "10.2.0.1", t);
+            }
+        }
+        tracker.advance(WINDOW_START + 30_000);
+
+        List<HotCodesResponse.HotCode> codes = tracker.snapshot().getCurrent().getCodes();
+        assertEquals("hot1", codes.get(0).getCode());
+        assertEquals("hot2", codes.get(1).getCode());
+
+        // Never undercounted; lower bound within the error
+        HotCodesResponse.HotCode hot1 = codes.get(0);
+        assertTrue(hot1.getClicks() >= 5_000);
+        assertTrue(hot1.getClicks() - hot1.getMaxOvercount() <= 5_000);
+        assertTrue(Math.abs(hot1.getDistinctIps() - 200) <= 20, "distinct IPs: " + hot1.getDistinctIps());
+        assertEquals(1, codes.get(1).getDistinctIps());
+        assertEquals(20_000 + 5_000 + 2_000, tracker.snapshot().getCurrent().getClicks());
+    }
+
+    @Test
+    void testWindowRotation_ExportsCompletedWindowAsGauges() {
+        HotCodeTracker tracker = new HotCodeTracker(meterRegistry, 16, 10, 60, 10);
+
+        tracker.offer("samju1234", "10.0.0.1", WINDOW_START + 1_000);
+        tracker.offer("samju1234", "10.0.0.2", WINDOW_START + 2_000);
+        tracker.offer("abc123", "10.0.0.1", WINDOW_START + 3_000);
+        assertNull(tracker.snapshot().getPrevious());
+
+        // Next window, no clicks yet
+        tracker.advance(WINDOW_START + 61_000);
+
+        HotCodesResponse snapshot = tracker.snapshot();
+        assertEquals(3, snapshot.getPrevious().getClicks());
+        assertEquals(Instant.ofEpochMilli(WINDOW_START + 60_000), snapshot.getPrevious().getEnd());
+        assertEquals(0, snapshot.getCurrent().getClicks());
+        assertEquals(2.0, meterRegistry.get("shortener.hot-codes.clicks").tag("code", "samju1234").gauge().value());
+        assertEquals(2.0, meterRegistry.get("shortener.hot-codes.distinct-ips").tag("code", "samju1234").gauge().value());
+
+        // Codes that leave the top are removed from the gauges
+        tracker.offer("other1", "10.0.0.1", WINDOW_START + 62_000);
+        tracker.advance(WINDOW_START + 121_000);
+        assertNull(meterRegistry.find("shortener.hot-codes.clicks").tag("code", "samju1234").gauge());
+        assertNotNull(meterRegistry.find("shortener.hot-codes.clicks").tag("code", "other1").gauge());
+    }
+
+    @Test
+    void testHyperLogLog_EstimatesWithinError() {
+        HyperLogLog hll = new HyperLogLog(12);
+
+        for (int i = 0; i < 100_000; i++) {
+            hll.offer("192.168." + (i >> 8 & 0xFF) + "." + (i & 0xFF) + "/" + i);
+            // Repeats do not count
+            hll.offer("192.168.0.1/0");
+        }
+
+        // 1.6% standard error at precision 12; allow four of them
+        assertEquals(100_000, hll.estimate(), 100_000 * 0.065);
+
+        hll.clear();
+        assertEquals(0, hll.estimate());
+        hll.offer("10.0.0.1");
+        hll.offer("10.0.0.1");
+        assertEquals(1, hll.estimate());
+    }
+}
@@ -0,0 +1,109 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.assessment.urlshortner.model.RateLimitBucket;
+import com.assessment.urlshortner.ratelimit.JdbcRateLimiter;
+import com.assessment.urlshortner.repository.RateLimitBucketRepository;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcRateLimiterTest {
+
+    @Mock
+    private RateLimitBucketRepository bucketRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+
+    private JdbcRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 5 tokens per minute, batches of up to 10, leases outlive the test
+        limiter = new JdbcRateLimiter(bucketRepository, transactionManager, meterRegistry, 5, 1, 1024, 10, 60_000L);
+    }
+
+    @Test
+    void testTryAcquire_NewBucketServesBatchLocally() {
+        // Arrange
+        when(bucketRepository.findById("10.0.0.1")).thenReturn(Optional.empty());
+        when(bucketRepository.saveAndFlush(any(RateLimitBucket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act: a full bucket of 5 grants half, i.e. 2 tokens
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+
+        // Assert: one round trip, arrival time moved by two 12s intervals
+        ArgumentCaptor<RateLimitBucket> captor = ArgumentCaptor.forClass(RateLimitBucket.class);
+        verify(bucketRepository, times(1)).findById("10.0.0.1");
+        verify(bucketRepository).saveAndFlush(captor.capture());
+
+        long nowMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        long ahead = captor.getValue().getArrivalTime() - nowMicros;
+        assertTrue(ahead > 23_000_000L && ahead <= 24_000_000L);
+    }
+
+    @Test
+    void testTryAcquire_ExhaustedBucketIsRejectedLocally() {
+        // Arrange: next token due in ten minutes
+        long nowMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        RateLimitBucket bucket = new RateLimitBucket("10.0.0.1", nowMicros + TimeUnit.MINUTES.toMicros(10));
+        when(bucketRepository.findById("10.0.0.1")).thenReturn(Optional.of(bucket));
+
+        // Act & Assert
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+
+        verify(bucketRepository, times(1)).findById("10.0.0.1");
+        verify(bucketRepository, never()).compareAndSet(anyString(), anyLong(), anyLong());
+        assertEquals(2.0, meterRegistry.get("rate.limit.rejections").counter().count());
+    }
+
+    @Test
+    void testTryAcquire_RetriesWhenAnotherNodeUpdatedTheBucket() {
+        // Arrange: full bucket, first compare-and-set loses the race
+        RateLimitBucket bucket = new RateLimitBucket("10.0.0.1", 0L);
+        bucket.setVersion(3L);
+        when(bucketRepository.findById("10.0.0.1")).thenReturn(Optional.of(bucket));
+        when(bucketRepository.compareAndSet(eq("10.0.0.1"), eq(3L), anyLong())).thenReturn(0, 1);
+
+        // Act
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+
+        // Assert
+        verify(bucketRepository, times(2)).findById("10.0.0.1");
+        verify(bucketRepository, times(2)).compareAndSet(eq("10.0.0.1"), eq(3L), anyLong());
+    }
+
+    @Test
+    void testTryAcquire_AllowsWhenStoreIsDown() {
+        // Arrange
+        when(bucketRepository.findById("10.0.0.1")).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertEquals(1.0, meterRegistry.get("rate.limit.store.errors").counter().count());
+    }
+}
@@ -0,0 +1,76 @@
+package com.assessment.urlshortner.service;
+
+import org.junit.jupiter.api.Test;
+
+import com.assessment.urlshortner.utils.LatencyHistogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testPercentile_SmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+        assertEquals(50, histogram.percentile(50));
+        assertEquals(99, histogram.percentile(99));
+        assertEquals(100, histogram.percentile(100));
+    }
+
+    @Test
+    void testPercentile_LargeValuesWithinOnePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1_000_000; i++) {
+            histogram.record(i);
+        }
+
+        assertWithinOnePercent(500_000, histogram.percentile(50));
+        assertWithinOnePercent(990_000, histogram.percentile(99));
+        assertWithinOnePercent(999_000, histogram.percentile(99.9));
+        assertEquals(1_000_000, histogram.percentile(100));
+    }
+
+    @Test
+    void testMerge_EqualsRecordingAllValues() {
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram small = new LatencyHistogram();
+        LatencyHistogram large = new LatencyHistogram();
+        for (int i = 0; i < 10_000; i++) {
+            long value = i * 37L % 5000;
+            all.record(value);
+            all.record(value * 1000);
+            small.record(value);
+            large.record(value * 1000);
+        }
+
+        small.merge(large);
+
+        assertEquals(all.getCount(), small.getCount());
+        assertEquals(all.getMin(), small.getMin());
+        assertEquals(all.getMax(), small.getMax());
+        assertEquals(all.getMean(), small.getMean(), 1e-9);
+        for (double percentile : new double[] { 1, 25, 50, 75, 90, 99, 99.9 }) {
+            assertEquals(all.percentile(percentile), small.percentile(percentile));
+        }
+    }
+
+    @Test
+    void testPercentile_Empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.percentile(99));
+    }
+
+    private static void assertWithinOnePercent(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 100,
+                () -> "expected about " + expected + " but was " + actual);
+    }
+}
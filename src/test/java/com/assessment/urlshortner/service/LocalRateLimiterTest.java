@@ -0,0 +1,110 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.assessment.urlshortner.ratelimit.LocalRateLimiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testTryAcquire_AllowsBurstThenRejects() {
+        LocalRateLimiter limiter = new LocalRateLimiter(meterRegistry, 5, 1, 1024);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0.1"));
+        }
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+
+        // Other clients have their own bucket
+        assertTrue(limiter.tryAcquire("10.0.0.2"));
+        assertEquals(1.0, meterRegistry.get("rate.limit.rejections").counter().count());
+        assertEquals(2L, limiter.trackedKeys());
+    }
+
+    @Test
+    void testTryAcquire_NeverTracksMoreThanCapacity() {
+        // 8 keys = a single probe window
+        LocalRateLimiter limiter = new LocalRateLimiter(meterRegistry, 5, 1, 8);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0." + i));
+        }
+
+        assertEquals(8L, limiter.trackedKeys());
+        assertEquals(92.0, meterRegistry.get("rate.limit.evictions").tag("cause", "capacity").counter().count());
+    }
+
+    @Test
+    void testEvictIdle_DropsRefilledKeys() throws InterruptedException {
+        // One token per microsecond: buckets refill almost immediately
+        LocalRateLimiter limiter = new LocalRateLimiter(meterRegistry, Integer.MAX_VALUE, 1, 1024);
+        limiter.tryAcquire("10.0.0.1");
+        limiter.tryAcquire("10.0.0.2");
+
+        Thread.sleep(5);
+        limiter.evictIdle();
+
+        assertEquals(0L, limiter.trackedKeys());
+        assertEquals(2.0, meterRegistry.get("rate.limit.evictions").tag("cause", "idle").counter().count());
+    }
+
+    @Test
+    void testEvictIdle_KeepsThrottledKeys() {
+        LocalRateLimiter limiter = new LocalRateLimiter(meterRegistry, 1, 1, 1024);
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+
+        limiter.evictIdle();
+
+        assertEquals(1L, limiter.trackedKeys());
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+    }
+
+    @Test
+    void testTryAcquire_ConcurrentCallersShareOneBucket() throws Exception {
+        LocalRateLimiter limiter = new LocalRateLimiter(meterRegistry, 1000, 60, 1024);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    int allowed = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (limiter.tryAcquire("10.0.0.1")) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+
+            int allowed = 0;
+            for (Future<Integer> result : results) {
+                allowed += result.get(10, TimeUnit.SECONDS);
+            }
+
+            // 1000 tokens per hour: nothing noticeable refills during the test
+            assertEquals(1000, allowed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.assessment.urlshortner.service;
+
+import org.junit.jupiter.api.Test;
+
+import com.assessment.urlshortner.utils.MpscRingBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscRingBufferTest {
+
+    @Test
+    void testClaim_FailsWhenFullUntilDrained() {
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(4, () -> new long[1]);
+
+        for (int i = 0; i < 4; i++) {
+            long position = buffer.claim();
+            assertEquals(i, position);
+            buffer.get(position)[0] = i * 10;
+            buffer.publish(position);
+        }
+        assertEquals(-1, buffer.claim());
+
+        List<Long> values = new ArrayList<>();
+        assertEquals(2, buffer.drain(entry -> values.add(entry[0]), 2));
+        assertEquals(List.of(0L, 10L), values);
+
+        // Drained slots are reused
+        assertEquals(4, buffer.claim());
+        assertEquals(3, buffer.size());
+    }
+
+    @Test
+    void testDrain_StopsAtUnpublishedSlot() {
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(8, () -> new long[1]);
+        long first = buffer.claim();
+        long second = buffer.claim();
+        buffer.publish(second);
+
+        assertEquals(0, buffer.drain(entry -> { }, 8));
+
+        buffer.publish(first);
+        assertEquals(2, buffer.drain(entry -> { }, 8));
+    }
+
+    @Test
+    void testConcurrentProducers_EveryElementConsumedInProducerOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(256, () -> new long[2]);
+        CountDownLatch done = new CountDownLatch(producers);
+        AtomicLong rejected = new AtomicLong();
+
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    long position;
+                    while ((position = buffer.claim()) < 0) {
+                        rejected.incrementAndGet();
+                        Thread.onSpinWait();
+                    }
+                    long[] entry = buffer.get(position);
+                    entry[0] = producer;
+                    entry[1] = i;
+                    buffer.publish(position);
+                }
+                done.countDown();
+            });
+            thread.start();
+        }
+
+        long[] next = new long[producers];
+        boolean[] outOfOrder = new boolean[1];
+        long consumed = 0;
+        while (consumed < (long) producers * perProducer) {
+            consumed += buffer.drain(entry -> {
+                int producer = (int) entry[0];
+                if (entry[1] != next[producer]++) {
+                    outOfOrder[0] = true;
+                }
+            }, 64);
+        }
+        done.await();
+
+        assertFalse(outOfOrder[0]);
+        for (long count : next) {
+            assertEquals(perProducer, count);
+        }
+        assertEquals(0, buffer.size());
+    }
+}
@@ -0,0 +1,129 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.assessment.urlshortner.cache.PreparedRedirects;
+import com.assessment.urlshortner.event.ExpiredUrlsReapedEvent;
+import com.assessment.urlshortner.model.RedirectTarget;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreparedRedirectsTest {
+
+    @Test
+    void testWrite_AdmitsCodeAfterMinHits() {
+        PreparedRedirects prepared = preparedRedirects(true, 16, 3);
+        RedirectTarget target = target("abc123", "https://example.com/a");
+
+        for (int i = 0; i < 2; i++) {
+            assertRedirect(write(prepared, target), 302, "https://example.com/a");
+        }
+        assertFalse(prepared.contains("abc123"));
+
+        assertRedirect(write(prepared, target), 302, "https://example.com/a");
+        assertTrue(prepared.contains("abc123"));
+        assertRedirect(write(prepared, target), 302, "https://example.com/a");
+    }
+
+    @Test
+    void testWrite_ChangedTargetReplacesEntry() {
+        PreparedRedirects prepared = preparedRedirects(true, 16, 1);
+        write(prepared, target("abc123", "https://example.com/old"));
+
+        assertRedirect(write(prepared, target("abc123", "https://example.com/new")), 302, "https://example.com/new");
+        assertRedirect(write(prepared, new RedirectTarget("abc123", "https://example.com/new", null, 308)),
+                308, "https://example.com/new");
+        assertEquals(1, prepared.size());
+    }
+
+    @Test
+    void testClock_EvictsUnreferencedEntry() {
+        PreparedRedirects prepared = preparedRedirects(true, 2, 1);
+        write(prepared, target("aaaaaa", "https://example.com/a"));
+        write(prepared, target("bbbbbb", "https://example.com/b"));
+
+        // Second use marks "aaaaaa", so the hand passes over it
+        write(prepared, target("aaaaaa", "https://example.com/a"));
+        write(prepared, target("cccccc", "https://example.com/c"));
+
+        assertTrue(prepared.contains("aaaaaa"));
+        assertFalse(prepared.contains("bbbbbb"));
+        assertTrue(prepared.contains("cccccc"));
+        assertEquals(2, prepared.size());
+    }
+
+    @Test
+    void testReapedCodes_AreDropped() {
+        PreparedRedirects prepared = preparedRedirects(true, 16, 1);
+        write(prepared, target("aaaaaa", "https://example.com/a"));
+
+        prepared.onExpiredUrlsReaped(new ExpiredUrlsReapedEvent(List.of("aaaaaa"), Instant.now()));
+
+        assertFalse(prepared.contains("aaaaaa"));
+        assertEquals(0, prepared.size());
+    }
+
+    @Test
+    void testLocation_NonAsciiIsPercentEncoded() {
+        PreparedRedirects prepared = preparedRedirects(true, 16, 1);
+
+        assertRedirect(write(prepared, target("aaaaaa", "https://example.com/caf\u00e9?q=a b")),
+                302, "https://example.com/caf%C3%A9?q=a%20b");
+    }
+
+    @Test
+    void testCacheControl_CappedByStatusAndExpiry() {
+        PreparedRedirects prepared = preparedRedirects(false, 16, 1);
+        Instant inTenDays = Instant.now().plusSeconds(864_000);
+
+        MockHttpServletResponse temporary = write(prepared, new RedirectTarget("aaaaaa", "https://example.com/a", inTenDays));
+        assertEquals("public, max-age=300", temporary.getHeader("Cache-Control"));
+
+        MockHttpServletResponse permanent = write(prepared,
+                new RedirectTarget("bbbbbb", "https://example.com/b", inTenDays, 301));
+        assertRedirect(permanent, 301, "https://example.com/b");
+        assertEquals("public, max-age=86400", permanent.getHeader("Cache-Control"));
+
+        // Never cached past the mapping's expiry
+        MockHttpServletResponse expiring = write(prepared,
+                new RedirectTarget("cccccc", "https://example.com/c", Instant.now().plusSeconds(100), 308));
+        long maxAge = Long.parseLong(expiring.getHeader("Cache-Control").substring("public, max-age=".length()));
+        assertTrue(maxAge <= 100 && maxAge >= 98, "max-age " + maxAge);
+
+        MockHttpServletResponse expired = write(prepared,
+                new RedirectTarget("dddddd", "https://example.com/d", Instant.now().minusSeconds(1), 301));
+        assertEquals("no-store", expired.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void testDisabled_WritesWithoutPreparing() {
+        PreparedRedirects prepared = preparedRedirects(false, 16, 1);
+
+        assertRedirect(write(prepared, target("aaaaaa", "https://example.com/a")), 302, "https://example.com/a");
+        assertFalse(prepared.contains("aaaaaa"));
+    }
+
+    private static PreparedRedirects preparedRedirects(boolean enabled, int maxSize, long minHits) {
+        return new PreparedRedirects(new SimpleMeterRegistry(), enabled, maxSize, minHits, 60, 300, 86400);
+    }
+
+    private static RedirectTarget target(String code, String longUrl) {
+        return new RedirectTarget(code, longUrl, null);
+    }
+
+    private static MockHttpServletResponse write(PreparedRedirects prepared, RedirectTarget target) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        prepared.write(target.getCode(), target, response);
+        return response;
+    }
+
+    private static void assertRedirect(MockHttpServletResponse response, int status, String location) {
+        assertEquals(status, response.getStatus());
+        assertEquals(location, response.getHeader("Location"));
+    }
+}
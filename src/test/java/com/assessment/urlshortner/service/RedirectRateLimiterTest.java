@@ -0,0 +1,96 @@
+package com.assessment.urlshortner.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import com.assessment.urlshortner.ratelimit.RedirectRateLimiter;
+import com.assessment.urlshortner.utils.SlidingWindowSketch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedirectRateLimiterTest {
+
+    @Test
+    void testSketch_CountsWithinWindow() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(1000, 1024, 4);
+
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(i, sketch.incrementAndEstimate("10.0.0.1", 5_000 + i));
+        }
+        assertEquals(0, sketch.estimate("10.0.0.2", 5_100));
+    }
+
+    @Test
+    void testSketch_PreviousWindowFadesOut() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(1000, 1024, 4);
+        for (int i = 0; i < 100; i++) {
+            sketch.incrementAndEstimate("10.0.0.1", 5_500);
+        }
+
+        // A quarter into the next window, three quarters of the previous one still count
+        assertEquals(75, sketch.estimate("10.0.0.1", 6_250));
+        assertEquals(0, sketch.estimate("10.0.0.1", 7_000));
+    }
+
+    @Test
+    void testSketch_ReusedGenerationsStartEmpty() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(1000, 1024, 4);
+        sketch.incrementAndEstimate("10.0.0.1", 5_000);
+        sketch.incrementAndEstimate("10.0.0.1", 6_000);
+        sketch.incrementAndEstimate("10.0.0.1", 7_000);
+
+        // Windows 8 and 11 share a generation with 5
+        assertEquals(1, sketch.incrementAndEstimate("10.0.0.1", 8_999));
+        assertEquals(1, sketch.incrementAndEstimate("10.0.0.1", 11_999));
+    }
+
+    @Test
+    void testSketch_NeverUndercounts() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(1000, 256, 4);
+
+        // Far more keys than counters per row
+        for (int key = 0; key < 5_000; key++) {
+            for (int i = 0; i <= key % 3; i++) {
+                sketch.incrementAndEstimate("key" + key, 5_000);
+            }
+        }
+        for (int key = 0; key < 5_000; key++) {
+            assertTrue(sketch.estimate("key" + key, 5_000) >= key % 3 + 1);
+        }
+    }
+
+    @Test
+    void testTryAcquire_LimitsPerIp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RedirectRateLimiter limiter = new RedirectRateLimiter(meterRegistry, true, 60, 3, 100, 1024);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0.1", "samju" + i));
+        }
+        assertFalse(limiter.tryAcquire("10.0.0.1", "samju9"));
+        assertTrue(limiter.tryAcquire("10.0.0.2", "samju9"));
+        assertEquals(1.0, meterRegistry.get("rate.limit.redirect.rejections").tag("limit", "ip").counter().count());
+    }
+
+    @Test
+    void testTryAcquire_LimitsPerCode() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RedirectRateLimiter limiter = new RedirectRateLimiter(meterRegistry, true, 60, 100, 3, 1024);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0." + i, "samju1"));
+        }
+        assertFalse(limiter.tryAcquire("10.0.0.9", "samju1"));
+        assertTrue(limiter.tryAcquire("10.0.0.9", "samju2"));
+        assertEquals(1.0, meterRegistry.get("rate.limit.redirect.rejections").tag("limit", "code").counter().count());
+    }
+
+    @Test
+    void testTryAcquire_DisabledAllowsEverything() {
+        RedirectRateLimiter limiter = new RedirectRateLimiter(new SimpleMeterRegistry(), false, 60, 1, 1, 1024);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0.1", "samju1"));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.assessment.urlshortner.service;
+
+import org.junit.jupiter.api.Test;
+
+import com.assessment.urlshortner.utils.UrlHasher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlHasherTest {
+
+    @Test
+    void testHash_IsFixedWidthHex() {
+        String hash = UrlHasher.hash("https://example.com/" + "a".repeat(2000));
+
+        assertEquals(UrlHasher.HASH_LENGTH, hash.length());
+        assertTrue(hash.matches("[0-9a-f]+"));
+    }
+
+    @Test
+    void testHash_IsOverTheExactUrl() {
+        // Lookups compare the full URL exactly, so the digest must not equate more
+        assertEquals(UrlHasher.hash("https://example.com/path"), UrlHasher.hash("https://example.com/path"));
+        assertNotEquals(UrlHasher.hash("https://example.com/path"), UrlHasher.hash("HTTPS://Example.COM/path"));
+        assertNotEquals(UrlHasher.hash("https://example.com/Path"), UrlHasher.hash("https://example.com/path"));
+    }
+}
@@ -0,0 +1,173 @@
+package com.assessment.urlshortner.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.assessment.urlshortner.cache.CodeBloomFilter;
+import com.assessment.urlshortner.cache.ExpiryTracker;
+import com.assessment.urlshortner.cache.RedirectCache;
+import com.assessment.urlshortner.dto.UrlMappingImportResponse;
+import com.assessment.urlshortner.model.UrlMapping;
+import com.assessment.urlshortner.repository.UrlMappingRepository;
+import com.assessment.urlshortner.utils.UrlCodeGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UrlMappingTransferServiceTest {
+
+    @Mock
+    private UrlMappingRepository repository;
+
+    @Mock
+    private UrlMappingBatchInserter batchInserter;
+
+    @Mock
+    private CodeBloomFilter codeBloomFilter;
+
+    @Mock
+    private ExpiryTracker expiryTracker;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UrlMappingTransferService transferService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        RedirectCache redirectCache = new RedirectCache(true, 1000, 300, 30, new SimpleMeterRegistry());
+
+        transferService = new UrlMappingTransferService(repository, batchInserter, new UrlCodeGenerator(),
+                redirectCache, codeBloomFilter, expiryTracker, transactionManager, objectMapper, 2, 2);
+    }
+
+    @Test
+    void testExport_PagesByIdAndWritesNdjson() throws Exception {
+        // Arrange: page size is 2
+        when(repository.findPageAfterId(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(mapping(1L, "samju1"), mapping(2L, "samju2")));
+        when(repository.findPageAfterId(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(mapping(3L, "samju3")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long exported = transferService.exportTo(out);
+
+        // Assert
+        assertEquals(3, exported);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[2].contains("\"code\":\"samju3\""));
+        verify(repository, times(2)).findPageAfterId(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void testImport_CsvSkipsExistingDuplicateAndInvalid() throws Exception {
+        // Arrange
+        String csv = "code,longUrl,expiresAt,hitCount\n"
+                + "samju1,\"https://example.com/?a=1,2\",2030-01-01T00:00:00Z,5\n"
+                + "samju2,https://example.com/b,,\n"
+                + "samju1,https://example.com/again,,\n"
+                + "bad-code,https://example.com/c,,\n"
+                + "samju3,https://example.com/d,,\n";
+
+        when(repository.findExistingCodes(anyCollection())).thenReturn(Set.of("samju2"), Set.of("samju1"));
+
+        // Act
+        UrlMappingImportResponse response =
+                transferService.importFrom(new StringReader(csv), UrlMappingTransferService.Format.CSV);
+
+        // Assert
+        assertEquals(2, response.getImported());
+        assertEquals(2, response.getSkipped());
+        assertEquals(1, response.getInvalid());
+        assertTrue(response.getErrors().get(0).startsWith("line 5:"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UrlMapping>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(batchInserter, times(2)).insert(inserted.capture());
+
+        UrlMapping first = inserted.getAllValues().get(0).get(0);
+        assertEquals("https://example.com/?a=1,2", first.getLongUrl());
+        assertEquals(Instant.parse("2030-01-01T00:00:00Z"), first.getExpiresAt());
+        assertEquals(5L, first.getHitCount());
+        verify(codeBloomFilter).add("samju3");
+        verify(expiryTracker).track("samju1", Instant.parse("2030-01-01T00:00:00Z"));
+    }
+
+    @Test
+    void testImport_RetriesChunkWhenCodeInsertedConcurrently() throws Exception {
+        // Arrange: samju2 is inserted by someone else after the first existence check
+        String ndjson = "{\"code\":\"samju1\",\"longUrl\":\"https://example.com/a\"}\n"
+                + "{\"code\":\"samju2\",\"longUrl\":\"https://example.com/b\"}\n";
+
+        when(repository.findExistingCodes(anyCollection())).thenReturn(Set.of(), Set.of("samju2"));
+        doThrow(new DuplicateKeyException("duplicate code")).doNothing().when(batchInserter).insert(anyList());
+
+        // Act
+        UrlMappingImportResponse response =
+                transferService.importFrom(new StringReader(ndjson), UrlMappingTransferService.Format.NDJSON);
+
+        // Assert
+        assertEquals(1, response.getImported());
+        assertEquals(1, response.getSkipped());
+        verify(batchInserter, times(2)).insert(anyList());
+        verify(codeBloomFilter).add("samju1");
+        verify(codeBloomFilter, never()).add("samju2");
+    }
+
+    @Test
+    void testImport_NdjsonRoundTrip() throws Exception {
+        // Arrange
+        String ndjson = "{\"code\":\"samju1\",\"longUrl\":\"https://example.com/a\",\"hitCount\":3}\n"
+                + "not json\n";
+
+        when(repository.findExistingCodes(anyCollection())).thenReturn(Set.of());
+
+        // Act
+        UrlMappingImportResponse response =
+                transferService.importFrom(new StringReader(ndjson), UrlMappingTransferService.Format.NDJSON);
+
+        // Assert
+        assertEquals(1, response.getImported());
+        assertEquals(1, response.getInvalid());
+    }
+
+    @Test
+    void testImport_CsvWithoutRequiredColumnsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> transferService.importFrom(
+                new StringReader("code,url\n"), UrlMappingTransferService.Format.CSV));
+    }
+
+    private static UrlMapping mapping(long id, String code) {
+        UrlMapping mapping = new UrlMapping(code, "https://example.com/" + code, null);
+        mapping.setId(id);
+        return mapping;
+    }
+}
@@ -7,15 +7,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.assessment.urlshortner.analytics.ClickAggregator;
+import com.assessment.urlshortner.cache.CodeBloomFilter;
+import com.assessment.urlshortner.cache.ExpiryTracker;
+import com.assessment.urlshortner.cache.RedirectCache;
 import com.assessment.urlshortner.dto.UrlMappingRequest;
 import com.assessment.urlshortner.dto.UrlMappingResponse;
+import com.assessment.urlshortner.exception.UrlExpiredException;
 import com.assessment.urlshortner.exception.UrlNotFoundException;
+import com.assessment.urlshortner.model.RedirectTarget;
 import com.assessment.urlshortner.model.UrlMapping;
 import com.assessment.urlshortner.repository.UrlMappingRepository;
 import com.assessment.urlshortner.utils.UrlCodeGenerator;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,13 +40,43 @@ class UrlServiceTest {
     @Mock
     private UrlCodeGenerator codeGenerator;
     
+    @Mock
+    private HitCountAggregator hitCountAggregator;
+    
+    @Mock
+    private ClickAggregator clickAggregator;
+    
+    @Mock
+    private CodeBloomFilter codeBloomFilter;
+    
+    @Mock
+    private LongUrlHashBackfill longUrlHashBackfill;
+    
+    @Mock
+    private ExpiredUrlReaper expiredUrlReaper;
+    
+    @Mock
+    private ExpiryTracker expiryTracker;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
     private UrlMappingService urlService;
     private MeterRegistry meterRegistry;
     
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
-        urlService = new UrlMappingService(repository, codeGenerator, meterRegistry);
+        RedirectCache redirectCache = new RedirectCache(true, 1000, 300, 30, meterRegistry);
+        RandomCodeAllocator codeAllocator = new RandomCodeAllocator(repository, codeGenerator, codeBloomFilter, meterRegistry, 6, 3);
+        urlService = new UrlMappingService(repository, codeAllocator, redirectCache, codeBloomFilter, hitCountAggregator,
+                clickAggregator, longUrlHashBackfill, expiredUrlReaper, expiryTracker, transactionManager, meterRegistry);
+        
+        // Bloom filter not built yet: every code might exist
+        lenient().when(codeBloomFilter.mightExist(anyString())).thenReturn(true);
+        
+        // All rows have a long URL hash
+        lenient().when(longUrlHashBackfill.isComplete()).thenReturn(true);
         
         // Use reflection to set private fields
         try {
@@ -55,7 +94,7 @@ class UrlServiceTest {
         UrlMappingRequest request = new UrlMappingRequest();
         request.setLongUrl("https://www.geeksforgeeks.org/advance-java/rate-limiting-a-spring-api-using-bucket4j");
         
-        when(repository.findByLongUrl(any())).thenReturn(Optional.empty());
+        when(repository.findByLongUrlHash(any())).thenReturn(List.of());
         when(codeGenerator.generateCode(anyInt())).thenReturn("samju1234");
         when(repository.save(any(UrlMapping.class))).thenAnswer(invocation -> {
             UrlMapping mapping = invocation.getArgument(0);
@@ -73,6 +112,8 @@ class UrlServiceTest {
         assertEquals("http://localhost:8080/r/samju1234", response.getShortUrl());
         
         verify(repository, times(1)).save(any(UrlMapping.class));
+        assertEquals(1, meterRegistry.get("shortener.create").tag("result", "created").timer().count());
+        assertEquals(1, meterRegistry.get("shortener.code.allocation").timer().count());
     }
     
     @Test
@@ -84,7 +125,7 @@ class UrlServiceTest {
         UrlMapping existing = new UrlMapping("samju1234", "https://www.geeksforgeeks.org/advance-java/rate-limiting-a-spring-api-using-bucket4j", null);
         existing.setId(1L);
         
-        when(repository.findByLongUrl(any())).thenReturn(Optional.of(existing));
+        when(repository.findByLongUrlHash(existing.getLongUrlHash())).thenReturn(List.of(existing));
         
         // Act
         UrlMappingResponse response = urlService.createShortUrl(request);
@@ -95,31 +136,184 @@ class UrlServiceTest {
         verify(repository, times(0)).save(any(UrlMapping.class));
     }
     
+    @Test
+    void testCreateShortUrl_HashMatchWithDifferentUrlIsNotReused() {
+        // Arrange: a mapping sharing the digest but not the URL
+        UrlMappingRequest request = new UrlMappingRequest();
+        request.setLongUrl("https://example.com/Page");
+        
+        UrlMapping other = new UrlMapping("samju1234", "https://example.com/page", null);
+        
+        when(repository.findByLongUrlHash(any())).thenReturn(List.of(other));
+        when(codeGenerator.generateCode(anyInt())).thenReturn("samju5678");
+        when(repository.save(any(UrlMapping.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // Act
+        UrlMappingResponse response = urlService.createShortUrl(request);
+        
+        // Assert
+        assertEquals("samju5678", response.getCode());
+        verify(repository, times(1)).save(any(UrlMapping.class));
+    }
+    
+    @Test
+    void testCreateShortUrl_UsesLegacyLookupDuringBackfill() {
+        // Arrange
+        UrlMappingRequest request = new UrlMappingRequest();
+        request.setLongUrl("https://example.com/page");
+        
+        UrlMapping existing = new UrlMapping("samju1234", "https://example.com/page", null);
+        existing.setLongUrlHash(null);
+        
+        when(longUrlHashBackfill.isComplete()).thenReturn(false);
+        when(repository.findByLongUrl("https://example.com/page")).thenReturn(Optional.of(existing));
+        
+        // Act
+        UrlMappingResponse response = urlService.createShortUrl(request);
+        
+        // Assert
+        assertEquals("samju1234", response.getCode());
+        verify(repository, never()).findByLongUrlHash(any());
+    }
+    
     @Test
     void testGetLongUrl_Success() {
         // Arrange
-        UrlMapping mapping = new UrlMapping("samju1234", "https://www.geeksforgeeks.org/advance-java/rate-limiting-a-spring-api-using-bucket4j", null);
-        mapping.setId(1L);
+        RedirectTarget target = new RedirectTarget("samju1234", "https://www.geeksforgeeks.org/advance-java/rate-limiting-a-spring-api-using-bucket4j", null);
         
-        when(repository.findByCode("samju1234")).thenReturn(Optional.of(mapping));
-        when(repository.save(any(UrlMapping.class))).thenReturn(mapping);
+        when(repository.findRedirectTargetByCode("samju1234")).thenReturn(Optional.of(target));
         
         // Act
         String longUrl = urlService.getLongUrl("samju1234");
         
         // Assert
         assertEquals("https://www.geeksforgeeks.org/advance-java/rate-limiting-a-spring-api-using-bucket4j", longUrl);
-        verify(repository, times(1)).save(mapping);
+        verify(hitCountAggregator, times(1)).record("samju1234");
+        verify(clickAggregator, times(1)).record(eq("samju1234"), isNull(), anyLong());
+        verify(repository, never()).save(any(UrlMapping.class));
+    }
+    
+    @Test
+    void testGetLongUrl_ServedFromCache() {
+        // Arrange
+        RedirectTarget target = new RedirectTarget("samju1234", "https://www.geeksforgeeks.org/advance-java/rate-limiting-a-spring-api-using-bucket4j", null);
+        
+        when(repository.findRedirectTargetByCode("samju1234")).thenReturn(Optional.of(target));
+        
+        // Act
+        urlService.getLongUrl("samju1234");
+        String longUrl = urlService.getLongUrl("samju1234");
+        
+        // Assert
+        assertEquals("https://www.geeksforgeeks.org/advance-java/rate-limiting-a-spring-api-using-bucket4j", longUrl);
+        verify(repository, times(1)).findRedirectTargetByCode("samju1234");
+        verify(hitCountAggregator, times(2)).record("samju1234");
+
+        // Only the cache miss opened a transaction
+        verify(transactionManager, times(1)).getTransaction(any());
+
+        // Counted once per redirect, timed by where the target came from
+        assertEquals(2.0, meterRegistry.get("shortener.redirect.total").counter().count());
+        assertEquals(1, meterRegistry.get("shortener.redirect.resolve").tag("result", "loaded").timer().count());
+        assertEquals(1, meterRegistry.get("shortener.redirect.resolve").tag("result", "cached").timer().count());
+    }
+    
+    @Test
+    void testGetLongUrl_NotFoundIsCached() {
+        // Arrange
+        when(repository.findRedirectTargetByCode("invalid")).thenReturn(Optional.empty());
+        
+        // Act & Assert
+        assertThrows(UrlNotFoundException.class, () -> urlService.getLongUrl("invalid"));
+        assertThrows(UrlNotFoundException.class, () -> urlService.getLongUrl("invalid"));
+        verify(repository, times(1)).findRedirectTargetByCode("invalid");
     }
     
     @Test
     void testGetLongUrl_NotFound() {
         // Arrange
-        when(repository.findByCode("invalid")).thenReturn(Optional.empty());
+        when(repository.findRedirectTargetByCode("invalid")).thenReturn(Optional.empty());
         
         // Act & Assert
         assertThrows(UrlNotFoundException.class, () -> {
             urlService.getLongUrl("invalid");
         });
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testGetLongUrl_ExpiredIsCached() {
+        // Arrange
+        RedirectTarget target = new RedirectTarget("samju1234", "https://example.com/page", Instant.now().minusSeconds(60));
+        
+        when(repository.findRedirectTargetByCode("samju1234")).thenReturn(Optional.of(target));
+        
+        // Act & Assert
+        assertThrows(UrlExpiredException.class, () -> urlService.getLongUrl("samju1234"));
+        assertThrows(UrlExpiredException.class, () -> urlService.getLongUrl("samju1234"));
+        verify(repository, times(1)).findRedirectTargetByCode("samju1234");
+        verifyNoInteractions(hitCountAggregator);
+        assertEquals(0.0, meterRegistry.get("shortener.redirect.total").counter().count());
+        assertEquals(2, meterRegistry.get("shortener.redirect.resolve").tag("result", "expired").timer().count());
+    }
+    
+    @Test
+    void testGetLongUrl_TracksExpiryOnCacheFill() {
+        // Arrange
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        RedirectTarget target = new RedirectTarget("samju1234", "https://example.com/page", expiresAt);
+        
+        when(repository.findRedirectTargetByCode("samju1234")).thenReturn(Optional.of(target));
+        
+        // Act
+        urlService.getLongUrl("samju1234");
+        
+        // Assert
+        verify(expiryTracker).track("samju1234", expiresAt);
+    }
+    
+    @Test
+    void testGetLongUrl_RejectedByBloomFilter() {
+        // Arrange: authoritative filter (single writer)
+        when(codeBloomFilter.isDefinitelyAbsent("bogus1")).thenReturn(true);
+        
+        // Act & Assert
+        assertThrows(UrlNotFoundException.class, () -> urlService.getLongUrl("bogus1"));
+        verify(repository, never()).findRedirectTargetByCode(anyString());
+    }
+    
+    @Test
+    void testGetLongUrl_BloomMissStillQueriesDatabase() {
+        // Arrange: code created on another node, not yet pulled into this node's filter
+        RedirectTarget target = new RedirectTarget("samju1234", "https://example.com/page", null);
+        lenient().when(codeBloomFilter.mightExist("samju1234")).thenReturn(false);
+        when(repository.findRedirectTargetByCode("samju1234")).thenReturn(Optional.of(target));
+        
+        // Act
+        String longUrl = urlService.getLongUrl("samju1234");
+        
+        // Assert
+        assertEquals("https://example.com/page", longUrl);
+    }
+    
+    @Test
+    void testCreateShortUrl_RetriesWhenCodeTakenConcurrently() {
+        // Arrange: the first code was inserted by another node after the allocator checked it
+        UrlMappingRequest request = new UrlMappingRequest();
+        request.setLongUrl("https://example.com/page");
+        
+        when(repository.findByLongUrlHash(any())).thenReturn(List.of());
+        when(codeGenerator.generateCode(anyInt())).thenReturn("samju1", "samju2");
+        when(repository.save(any(UrlMapping.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate code"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // Act
+        UrlMappingResponse response = urlService.createShortUrl(request);
+        
+        // Assert
+        assertEquals("samju2", response.getCode());
+        verify(repository, times(2)).save(any(UrlMapping.class));
+        verify(transactionManager, times(1)).rollback(any());
+        assertEquals(1, meterRegistry.get("shortener.create").tag("result", "created").timer().count());
+    }
+}